@@ -2,9 +2,11 @@ package com.kh.totalproject;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
+@EnableScheduling
 public class TotalprojectApplication {
 
 	public static void main(String[] args) {
@@ -10,9 +10,17 @@ public class JwtConfig {
     // application properties 에 있는 jwt.secret-key 가져오기
     @Value("${jwt.secret-key}")
     private String secretKey;
+
+    // true 면 매 요청마다 DB 조회 없이 토큰 claim 만으로 인증 객체 생성
+    @Value("${jwt.stateless-authentication:false}")
+    private boolean statelessAuthentication;
     
     // JwtUtil 에서 secret-key 부르기
     public String getSecretKey(){
         return secretKey;
     }
+
+    public boolean isStatelessAuthentication(){
+        return statelessAuthentication;
+    }
 }
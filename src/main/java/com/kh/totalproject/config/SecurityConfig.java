@@ -1,10 +1,12 @@
 package com.kh.totalproject.config;
 
+import com.kh.totalproject.constant.Role;
 import com.kh.totalproject.util.JwtAccessDeniedHandler;
 import com.kh.totalproject.util.JwtAuthenticationEntryPoint;
 import com.kh.totalproject.util.JwtFilter;
 import com.kh.totalproject.util.JwtUtil;
 import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,6 +48,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // 무상태 세션 정책
                 .authorizeHttpRequests(auth -> auth
+                        // CompletableFuture 응답의 비동기 디스패치는 최초 요청에서 이미 인가를 거쳤으므로 허용
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
@@ -56,6 +60,7 @@ public class SecurityConfig {
                                 "/auth/forgotid/**",
                                 "/auth/google",
                                 "/community/list/all",
+                                "/community/list/all/slice",
                                 "/community/list/others/post",
                                 "/community/list/others/profile",
                                 "/community/list/one",
@@ -70,6 +75,7 @@ public class SecurityConfig {
                                 "/api/code-challenge/challenges/{difficulty}",
                                 "/callback/**"
                         ).permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority(Role.ADMIN.name())
                         .anyRequest().authenticated() // 나머지 요청은 인증 필요
                 )
                 .exceptionHandling(exceptionHandling -> exceptionHandling
@@ -107,7 +113,7 @@ public class SecurityConfig {
 
         configuration.addAllowedOrigin("http://localhost:3000");
         configuration.addAllowedOrigin("http://localhost:5000");
-        configuration.addAllowedOrigin("https://coditor.site")
+        configuration.addAllowedOrigin("https://coditor.site");
         configuration.addAllowedOrigin(Dotenv.load().get("FLASK_URL"));
         configuration.addAllowedMethod("*");
         configuration.addAllowedHeader("*");
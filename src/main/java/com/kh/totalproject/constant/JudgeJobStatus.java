@@ -0,0 +1,10 @@
+package com.kh.totalproject.constant;
+
+// 채점 작업(judge_job) 진행 상태, COMPLETED / FAILED / CANCELLED 는 종료 상태
+public enum JudgeJobStatus {
+    CREATED, EXECUTING, COMPLETED, FAILED, CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -132,6 +132,16 @@ public class AdminController {
         }
         return ResponseEntity.ok(adminService.deletePost(boardId));
     }
+
+    // 코딩 테스트 채점 결과 캐시 삭제 (Flask 의 테스트 케이스 변경 후 호출, questionId 가 없으면 전체)
+    @DeleteMapping("/delete/verdict-cache")
+    public ResponseEntity<?> deleteVerdictCache(@RequestParam(required = false) Long questionId) {
+        if (!SecurityUtil.isAdminUser()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("관리자 권한이 필요 합니다.");
+        }
+        adminService.invalidateVerdictCache(questionId);
+        return ResponseEntity.ok(true);
+    }
 //    // 공지사항 글 작성
 //    @GetMapping("/list/announcement")
 //    public ResponseEntity<Page<?>> listAnnouncement() {
@@ -1,23 +1,38 @@
 package com.kh.totalproject.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kh.totalproject.constant.SendTestcaseResultStatus;
 import com.kh.totalproject.dto.flask.callback.TestcaseResult;
-import com.kh.totalproject.service.CodeChallengeService;
+import com.kh.totalproject.dto.response.TestcaseCallbackResponse;
+import com.kh.totalproject.service.CallbackDeduplicator;
+import com.kh.totalproject.service.TestcaseEventRelay;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/callback")
 @RequiredArgsConstructor
 public class CallbackController {
-    private final CodeChallengeService codeChallengeService;
+    // 구독이 등록된 인스턴스로 결과를 전달 (다른 인스턴스가 /submit 을 처리했을 수 있음)
+    private final TestcaseEventRelay testcaseEventRelay;
+    private final ObjectMapper objectMapper;
+    // Celery 가 다시 보낸 콜백은 전달하지 않고 이전 처리 결과로 응답
+    private final CallbackDeduplicator callbackDeduplicator;
 
     @PostMapping("/notify-testcase-result")
     public ResponseEntity<Void> receiveResult(@RequestBody TestcaseResult dto) {
-        SendTestcaseResultStatus status = codeChallengeService.sendTestcaseResult(dto.getJobId(), dto);
+        SendTestcaseResultStatus status = deliver(dto);
 
         switch(status) {
             case SUCCESS:
@@ -30,4 +45,57 @@ public class CallbackController {
                 return ResponseEntity.internalServerError().build();
         }
     }
+
+    // 여러 테스트 케이스 결과를 한번에 전달 (하나 이상의 작업 결과를 섞어 보낼 수 있음)
+    // JSON 배열 또는 NDJSON(한 줄에 결과 하나) 본문을 스트림으로 읽으며 도착 순서대로 전송하고,
+    // 레코드별 처리 결과를 같은 순서로 반환
+    @PostMapping(
+        value = "/notify-testcase-results",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public ResponseEntity<List<TestcaseCallbackResponse>> receiveResults(HttpServletRequest request) throws IOException {
+        List<TestcaseCallbackResponse> response = new ArrayList<>();
+
+        try (MappingIterator<TestcaseResult> results = objectMapper.readerFor(TestcaseResult.class)
+                .readValues(request.getInputStream())) {
+            while (results.hasNextValue()) {
+                TestcaseResult dto = results.nextValue();
+                SendTestcaseResultStatus status;
+                try {
+                    status = deliver(dto);
+                } catch (RuntimeException e) {
+                    // 한 레코드의 전달 실패(DB 오류 등)로 나머지 레코드까지 버려지지 않도록 ERROR 로 기록하고 계속 진행
+                    log.warn("Failed to deliver testcase result {} #{}: {}", dto.getJobId(), dto.getTestcaseIndex(), e.getMessage());
+                    status = SendTestcaseResultStatus.ERROR;
+                }
+                response.add(
+                    TestcaseCallbackResponse.builder()
+                        .jobId(dto.getJobId())
+                        .testcaseIndex(dto.getTestcaseIndex())
+                        .status(status)
+                        .build()
+                );
+            }
+        } catch (JsonProcessingException e) {
+            // 잘못된 레코드 이전까지 처리된 결과를 함께 반환하여 이후 레코드만 다시 보낼 수 있도록 함
+            log.warn("Invalid testcase result record at index {}: {}", response.size(), e.getOriginalMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        return ResponseEntity.ok(response);
+    }
+
+    private SendTestcaseResultStatus deliver(TestcaseResult dto) {
+        SendTestcaseResultStatus duplicate = callbackDeduplicator.register(dto);
+        if (duplicate != null) {
+            return duplicate;
+        }
+        SendTestcaseResultStatus status = SendTestcaseResultStatus.ERROR;
+        try {
+            status = testcaseEventRelay.deliver(dto);
+            return status;
+        } finally {
+            callbackDeduplicator.complete(dto, status);
+        }
+    }
 }
@@ -4,12 +4,16 @@ import com.kh.totalproject.constant.ChallengeDifficulty;
 import com.kh.totalproject.dto.request.SubmitCodeRequest;
 import com.kh.totalproject.dto.response.*;
 import com.kh.totalproject.entity.CodeChallengeInfo;
-import com.kh.totalproject.entity.CodeChallengeSubmission;
 import com.kh.totalproject.service.CodeChallengeService;
+import com.kh.totalproject.service.JudgeJobScheduler;
+import com.kh.totalproject.service.SseSubscriptionRegistry;
+import com.kh.totalproject.service.SubmissionRateLimiter;
+import com.kh.totalproject.service.TestcaseEventRelay;
 import com.kh.totalproject.util.Base64Util;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,8 +24,11 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static com.kh.totalproject.util.SecurityUtil.getCurrentUserIdOrThrow;
+import static com.kh.totalproject.util.SecurityUtil.hasAdminRole;
 
 @RestController
 @RequestMapping("/api/code-challenge")
@@ -29,29 +36,62 @@ import static com.kh.totalproject.util.SecurityUtil.getCurrentUserIdOrThrow;
 @RequiredArgsConstructor
 public class CodeChallengeController {
     private final CodeChallengeService codeChallengeService;
+    private final TestcaseEventRelay testcaseEventRelay;
+    private final SubmissionRateLimiter submissionRateLimiter;
+    private final JudgeJobScheduler judgeJobScheduler;
 
+    // Flask 응답을 기다리는 동안 요청 스레드를 반환하도록 CompletableFuture 로 응답 (Servlet 비동기 처리)
     @PostMapping("/submit")
-    public ResponseEntity<Object> submit(
+    public CompletableFuture<ResponseEntity<Object>> submit(
             @RequestBody SubmitCodeRequest dto
     ) {
         dto.setUserId(getCurrentUserIdOrThrow());
 
         if (!Base64Util.isBase64Encoded(dto.getCode())) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 Map.of("error", "제출된 코드는 조작되었거나 유효하지 않습니다.")
-            );
+            ));
+        }
+
+        CodeChallengeInfo challengeInfo = codeChallengeService.getChallengeInfo(dto.getQuestionId());
+        if (challengeInfo == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                Map.of("error", "해당 문제를 찾을 수 없습니다.")
+            ));
         }
 
-        String jobId = codeChallengeService.createJob(dto);
+        // 유저별 분당 제출 수, 동시 채점 작업 수 제한 (문제 난이도별 설정)
+        SubmissionRateLimiter.Admission admission = submissionRateLimiter.tryAcquire(dto.getUserId(), challengeInfo.getDifficulty());
+        if (!admission.admitted()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                    .body(SubmitCodeResponse.builder()
+                            .jobId(null)
+                            .error("제출 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.")
+                            .build()));
+        }
 
-        // 2분 30초 수명 설정
-        codeChallengeService.addSubscription(jobId, new SseEmitter(150_000L));
-        return ResponseEntity.ok().body(
-                SubmitCodeResponse.builder()
-                        .jobId(jobId)
-                        .error(null)
-                        .build()
-        );
+        return codeChallengeService.createJob(dto).whenComplete((jobId, e) -> {
+            if (e != null) {
+                submissionRateLimiter.cancel(dto.getUserId());
+            }
+        }).thenApply(jobId -> {
+            // 구독이 제거될 때 동시 작업 수 반환
+            submissionRateLimiter.bind(jobId, dto.getUserId());
+            // execute 시 대기열 우선순위 계산에 사용
+            judgeJobScheduler.describe(jobId, challengeInfo.getDifficulty());
+            // 재시작 후 구독 복구를 위해 작업 상태 기록 시작
+            codeChallengeService.trackCreatedJob(jobId, dto.getUserId(), dto.getQuestionId());
+            // 2분 30초 수명 설정
+            codeChallengeService.addSubscription(jobId, dto.getUserId(), new SseEmitter(SseSubscriptionRegistry.EMITTER_TIMEOUT_MS));
+            testcaseEventRelay.claim(jobId, dto.getUserId());
+            return ResponseEntity.ok().body(
+                    SubmitCodeResponse.builder()
+                            .jobId(jobId)
+                            .error(null)
+                            .build()
+            );
+        });
     }
 
     @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -65,25 +105,48 @@ public class CodeChallengeController {
 
         SseEmitter emitter = codeChallengeService.getEmitter(jobId);
         if (emitter == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            // /submit 을 다른 인스턴스가 처리한 경우 구독을 이 인스턴스로 옮김
+            Optional<Long> submitter = testcaseEventRelay.takeOver(jobId);
+            if (submitter.isPresent()) {
+                codeChallengeService.addSubscription(jobId, submitter.get(), new SseEmitter(SseSubscriptionRegistry.EMITTER_TIMEOUT_MS));
+                testcaseEventRelay.claim(jobId, submitter.get());
+            } else {
+                // 재시작 전 진행 중이던 작업이면 judge_job 기록에서 구독을 복구 (재연결로 처리되어 최근 결과 재전송)
+                codeChallengeService.restoreSubscription(jobId);
+            }
+            emitter = codeChallengeService.getEmitter(jobId);
+            if (emitter == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            }
         }
 
         // Last-Event-ID 헤더 처리 (재연결 시 사용)
-        // 구현 X
-//        Integer lastEventId = null;
-//        String lastEventHeader = request.getHeader("Last-Event-ID");
-//        if (lastEventHeader != null && !lastEventHeader.isEmpty()) {
-//            try {
-//                lastEventId = Integer.parseInt(lastEventHeader);
-//            } catch (NumberFormatException e) {
-//                // 잘못된 형식의 값은 무시
-//                log.warn("Invalid Last-Event-ID: {}", lastEventHeader);
-//            }
-//        }
+        Integer lastEventId = null;
+        String lastEventHeader = request.getHeader("Last-Event-ID");
+        if (lastEventHeader != null && !lastEventHeader.isEmpty()) {
+            try {
+                lastEventId = Integer.parseInt(lastEventHeader);
+            } catch (NumberFormatException e) {
+                // 잘못된 형식의 값은 무시
+                log.warn("Invalid Last-Event-ID: {}", lastEventHeader);
+            }
+        }
+
+        // 재연결인 경우 연결이 끊긴 동안 보내지 못한 이벤트를 새 emitter 의 전송 대기열에 넣은 뒤 교체
+        // 연결 메시지와 재전송 이벤트도 실시간 이벤트와 같은 대기열로 보내 전송 순서 유지
+        if (codeChallengeService.markSubscribed(jobId)) {
+            codeChallengeService.sendConnectedMessage(jobId, emitter);
+        } else {
+            emitter = new SseEmitter(SseSubscriptionRegistry.EMITTER_TIMEOUT_MS);
+            if (!codeChallengeService.reattachSubscription(jobId, emitter, lastEventId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            }
+        }
 
+        SseEmitter currentEmitter = emitter;
         emitter.onCompletion(() -> {
             log.info("SSE Stream completed for job id: {}", jobId);
-            codeChallengeService.removeSubscriptionAndSetEmitterComplete(jobId);
+            codeChallengeService.removeSubscriptionIfCurrent(jobId, currentEmitter);
         });
 
         emitter.onTimeout(() -> {
@@ -98,71 +161,68 @@ public class CodeChallengeController {
                 log.warn("SSE error for job id: {}, error message: {}", jobId, e.getMessage());
             }
 
-            codeChallengeService.removeSubscriptionAndSetEmitterComplete(jobId);
+            // 바로 제거하지 않고 재연결 대기 (대기 시간이 지나면 reaper 가 제거)
+            codeChallengeService.detachSubscription(jobId, currentEmitter);
         });
 
-        codeChallengeService.sendSseMessage(
-            jobId,
-            emitter,
-            "Connection Established",
-            null
-        );
-
         return emitter;
     }
 
     @PostMapping("/execute")
-    public ResponseEntity<ExecuteJobResponse> executeJob(
+    public CompletableFuture<ResponseEntity<ExecuteJobResponse>> executeJob(
         @RequestBody Map<String, String> body
     ) {
         Long userId = getCurrentUserIdOrThrow();
 
         String jobId = body.get("jobId");
         if (jobId == null || jobId.isEmpty()) {
-            return ResponseEntity.badRequest().body(
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(
                     ExecuteJobResponse.builder()
                             .numOfTestcase(null)
                             .error("요청 본문에 \"jobId\"가 존재하지 않습니다")
-                            .build());
+                            .build()));
         }
 
-        int numOfTestcase = codeChallengeService.executeJob(body.get("jobId"), userId);
         // 비정상인 경우 프론트는 SSE 연결을 종료
-        return ResponseEntity.ok().body(
-                ExecuteJobResponse.builder()
-                        .numOfTestcase(numOfTestcase)
-                        .error(null)
-                        .build());
+        return codeChallengeService.executeJob(jobId, userId, hasAdminRole()).thenApply(numOfTestcase ->
+                ResponseEntity.ok().body(
+                        ExecuteJobResponse.builder()
+                                .numOfTestcase(numOfTestcase)
+                                .error(null)
+                                .build()));
     }
 
     @PostMapping("/cancel")
-    public ResponseEntity<CancelJobResponse> cancelJob(
+    public CompletableFuture<ResponseEntity<CancelJobResponse>> cancelJob(
             @RequestBody Map<String, String> body
     ) {
         Long userId = getCurrentUserIdOrThrow();
 
         String jobId = body.get("jobId");
         if (jobId == null || jobId.isEmpty()) {
-            return ResponseEntity.badRequest().body(
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(
                     CancelJobResponse.builder()
                             .success(false)
                             .error("요청 본문에 \"jobId\"가 존재하지 않습니다")
                             .build()
-            );
+            ));
         }
 
-        codeChallengeService.cancelJob(jobId, userId);
-        return ResponseEntity.ok().body(
-                CancelJobResponse.builder()
-                        .success(true)
-                        .error(null)
-                        .build()
-        );
+        return codeChallengeService.cancelJob(jobId, userId).thenApply(ignored ->
+                ResponseEntity.ok().body(
+                        CancelJobResponse.builder()
+                                .success(true)
+                                .error(null)
+                                .build()
+                ));
     }
 
+    // 제출 이력은 코드 없이 요약만 커서 페이지로 반환 (cursor : 이전 응답의 nextCursor)
     @GetMapping("/submission/{questionId}")
     public ResponseEntity<Object> getSubmissionHistory(
-        @PathVariable Long questionId
+        @PathVariable Long questionId,
+        @RequestParam(required = false) Long cursor,
+        @RequestParam(defaultValue = "20") int size
     ) {
         Long userId = getCurrentUserIdOrThrow();
         CodeChallengeInfo challengeInfo = codeChallengeService.getChallengeInfo(questionId);
@@ -172,17 +232,35 @@ public class CodeChallengeController {
             );
         }
 
-        List<CodeChallengeSubmission> result = codeChallengeService.getSubmissionHistory(userId, challengeInfo);
+        SubmissionHistoryResponse result = codeChallengeService.getSubmissionHistory(userId, questionId, cursor, size);
         return ResponseEntity.ok(result);
     }
 
     @GetMapping("/submissions")
-    public ResponseEntity<List<CodeChallengeSubmission>> getAllSubmissionHistory() {
+    public ResponseEntity<SubmissionHistoryResponse> getAllSubmissionHistory(
+        @RequestParam(required = false) Long cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
         Long userId = getCurrentUserIdOrThrow();
-        List<CodeChallengeSubmission> results = codeChallengeService.getAllSubmissionHistory(userId);
+        SubmissionHistoryResponse results = codeChallengeService.getSubmissionHistory(userId, null, cursor, size);
         return ResponseEntity.ok().body(results);
     }
 
+    // 제출 이력에서 선택한 제출의 코드 조회
+    @GetMapping("/submissions/{submissionId}/code")
+    public ResponseEntity<Object> getSubmissionCode(
+        @PathVariable Long submissionId
+    ) {
+        Long userId = getCurrentUserIdOrThrow();
+        String code = codeChallengeService.getSubmissionCode(userId, submissionId);
+        if (code == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                Map.of("error", "존재하지 않는 제출입니다.")
+            );
+        }
+        return ResponseEntity.ok(Map.of("submissionId", submissionId, "code", code));
+    }
+
     @GetMapping("/challenge/{questionId}")
     public ResponseEntity<Object> getChallengeDetail(
         @PathVariable Long questionId,
@@ -12,6 +12,7 @@ import com.kh.totalproject.service.CommunityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -58,6 +59,19 @@ public class CommunityController {
         return ResponseEntity.ok(communityService.listAllByBoardTypeWithSort(page, size, boardType, sortBy, order, status, enumFilter, search));
     }
 
+    // 전체 게시글 수 없이 다음 페이지 존재 여부(hasNext)만 필요한 목록 조회, 전체 개수 COUNT 쿼리 생략
+    @GetMapping("/list/all/slice")
+    ResponseEntity<Slice<BoardResponse>> listAllSlice(@RequestParam(defaultValue = "1") int page,
+                                                      @RequestParam(defaultValue = "10") int size,
+                                                      @RequestParam String boardType,
+                                                      @RequestParam(required = false) String sortBy,
+                                                      @RequestParam(required = false) String order,
+                                                      @RequestParam(required = false) String status,
+                                                      @RequestParam(required = false) String enumFilter,
+                                                      @RequestParam(required = false) String search) {
+        return ResponseEntity.ok(communityService.listSliceByBoardTypeWithSort(page, size, boardType, sortBy, order, status, enumFilter, search));
+    }
+
     // 게시판별 단일 게시글 조회시 게시판 type 을 전달 받아 서비스에서 해당 로직으로 연결
     @GetMapping("/list/one")
     ResponseEntity<BoardResponse> listOne(@RequestParam long id) {
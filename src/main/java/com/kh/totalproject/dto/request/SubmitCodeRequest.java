@@ -11,6 +11,8 @@ public class SubmitCodeRequest {
     private Language codeLanguage;
     private String code;
     private Long questionId;
+    // 처음 실패한 테스트 케이스에서 채점 중단 (이후 테스트 케이스는 실행하지 않음)
+    private Boolean failFast;
 
     // Swagger에서 숨김
     @Schema(hidden = true)
@@ -20,4 +20,19 @@ public class ChallengeDetailResponse {
     private Integer runningTimeLimit;
 
     private String lastSubmittedCode;
+
+    // 문제별 제출 통계 (백분위는 통과한 제출 기준 근사값)
+    private Long submissionCount;
+
+    private Float passingRate;
+
+    private Long solverCount;
+
+    private Integer runningTimeP50;
+
+    private Integer runningTimeP90;
+
+    private Float memoryUsageP50;
+
+    private Float memoryUsageP90;
 }
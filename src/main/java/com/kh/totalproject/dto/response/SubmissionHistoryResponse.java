@@ -0,0 +1,18 @@
+package com.kh.totalproject.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 제출 이력 커서 페이지 (최신 제출부터)
+@Builder
+@Getter
+public class SubmissionHistoryResponse {
+    private List<SubmissionSummaryResponse> submissions;
+
+    // 다음 페이지 요청 시 cursor 로 전달, 마지막 페이지이면 null
+    private Long nextCursor;
+
+    private Boolean hasNext;
+}
@@ -0,0 +1,33 @@
+package com.kh.totalproject.dto.response;
+
+import com.kh.totalproject.constant.Language;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 제출 이력 목록의 항목 (코드 제외, JPQL 생성자 표현식으로 바로 조회)
+// 코드는 /api/code-challenge/submissions/{submissionId}/code 로 제출별 조회
+@Builder
+@Getter
+@AllArgsConstructor
+public class SubmissionSummaryResponse {
+    private Long submissionId;
+
+    private Long questionId;
+
+    private String title;
+
+    private Language codeLanguage;
+
+    private Boolean success;
+
+    private Integer runningTime;
+
+    private Float memoryUsage;
+
+    private Integer codeSize;
+
+    private LocalDateTime submittedAt;
+}
@@ -0,0 +1,16 @@
+package com.kh.totalproject.dto.response;
+
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+// 일괄 콜백의 레코드별 처리 결과 (요청 레코드와 같은 순서)
+@Builder
+@Getter
+public class TestcaseCallbackResponse {
+    private String jobId;
+    private Integer testcaseIndex;
+
+    // SUCCESS 가 아닌 경우 해당 작업의 Celery Task 는 종료
+    private SendTestcaseResultStatus status;
+}
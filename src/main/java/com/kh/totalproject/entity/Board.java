@@ -26,8 +26,14 @@ public class Board {
     private String content;
 
     private int viewCnt = 0;
+    // 댓글/좋아요/싫어요 수는 댓글, 반응 작성/삭제 시 BoardRepository 의 증감 쿼리로 같은 트랜잭션에서 갱신
+    // 목록 조회 및 정렬은 조인 없이 이 컬럼만 사용 (불일치 시 BoardCountReconcileService 로 재계산)
+    // 게시글 수정(엔티티 저장) 시에는 갱신하지 않으므로, 조회와 저장 사이에 반영된 댓글/반응 수를 덮어쓰지 않음
+    @Column(updatable = false)
     private int commentCnt = 0;
+    @Column(updatable = false)
     private Integer likeCnt = 0;
+    @Column(updatable = false)
     private Integer dislikeCnt = 0;
 
 
@@ -93,35 +99,15 @@ public class Board {
         comment.setBoard(null);
     }
 
-    // 좋아요/싫어요 수 계산 (boardReactions 기준으로만 계산)
+    // 좋아요/싫어요 수 (카운트 컬럼 기준, 컬럼 추가 이전 데이터는 null 일 수 있으므로 0 으로 처리)
     public int getLikeCnt() {
-        return (int) boardReactions.stream()
-                .filter(reaction -> reaction.getReaction() == Reaction.LIKE)
-                .count();
+        return likeCnt == null ? 0 : likeCnt;
     }
 
     public int getDislikeCnt() {
-        return (int) boardReactions.stream()
-                .filter(reaction -> reaction.getReaction() == Reaction.DISLIKE)
-                .count();
+        return dislikeCnt == null ? 0 : dislikeCnt;
     }
 
-    // 좋아요/싫어요 수 업데이트
-    public void updateLikeDislikeCounts() {
-        int likeCount = (int) boardReactions.stream()
-                .filter(reaction -> reaction.getReaction() == Reaction.LIKE)
-                .count();
-        int dislikeCount = (int) boardReactions.stream()
-                .filter(reaction -> reaction.getReaction() == Reaction.DISLIKE)
-                .count();
-
-        // DB에서 관리하는 카운트 값으로 업데이트
-        this.likeCnt = likeCount;
-        this.dislikeCnt = dislikeCount;
-    }
-
-
-
     // 사용자의 반응을 처리 (사용자가 좋아요, 싫어요를 했는지 확인)
     public Reaction getUserReaction(User user) {
         return boardReactions.stream()
@@ -0,0 +1,33 @@
+package com.kh.totalproject.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 제출 코드 저장소 (code_blob)
+// 코드 내용의 SHA-256 해시를 키로 압축하여 한번만 저장하고, 같은 코드를 다시 제출하면 기존 행을 참조
+@Entity
+@Table(name = "code_blob")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class CodeBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    // 압축 방식 (deflate : java.util.zip 최고 속도 레벨)
+    @Column(nullable = false, length = 16)
+    private String codec;
+
+    // 압축 전 UTF-8 바이트 수
+    @Column(nullable = false)
+    private Integer originalSize;
+
+    @ToString.Exclude
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+}
@@ -0,0 +1,115 @@
+package com.kh.totalproject.entity;
+
+import com.vladmihalcea.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Type;
+
+// 문제별 제출 통계 (challenge_stats)
+// 문제 목록/상세 조회 시 code_challenge_submission 전체를 집계하지 않도록 제출 완료 시마다 누적
+// 실행 시간, 메모리 백분위는 구간별 개수(히스토그램)로 근사 계산하며 통과한 제출만 대상으로 함
+@Entity
+@Table(name = "challenge_stats")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class CodeChallengeStats {
+    // 히스토그램 구간은 1.25배씩 증가 (i 번째 구간 상한 = 1.25^i), 백분위 오차는 최대 25%
+    private static final double BUCKET_GROWTH = 1.25;
+    private static final int BUCKET_COUNT = 80;
+
+    @Id
+    private Long questionId;
+
+    @Column(nullable = false)
+    private long submissionCnt;
+
+    @Column(nullable = false)
+    private long passCnt;
+
+    // 한번 이상 통과한 유저 수
+    @Column(nullable = false)
+    private long solverCnt;
+
+    private Integer runningTimeP50;
+    private Integer runningTimeP90;
+    private Float memoryUsageP50;
+    private Float memoryUsageP90;
+
+    @ToString.Exclude
+    @Type(JsonType.class)
+    @Column(columnDefinition = "json")
+    private long[] runningTimeHistogram;
+
+    @ToString.Exclude
+    @Type(JsonType.class)
+    @Column(columnDefinition = "json")
+    private long[] memoryUsageHistogram;
+
+    public CodeChallengeStats(Long questionId) {
+        this.questionId = questionId;
+        this.runningTimeHistogram = new long[BUCKET_COUNT];
+        this.memoryUsageHistogram = new long[BUCKET_COUNT];
+    }
+
+    public void addSubmission(boolean success, boolean newSolver, Integer runningTime, Float memoryUsage) {
+        submissionCnt++;
+        if (!success) {
+            return;
+        }
+        // insertIfAbsent 로 생성된 행은 히스토그램 없이 저장됨
+        if (runningTimeHistogram == null) {
+            runningTimeHistogram = new long[BUCKET_COUNT];
+        }
+        if (memoryUsageHistogram == null) {
+            memoryUsageHistogram = new long[BUCKET_COUNT];
+        }
+        passCnt++;
+        if (newSolver) {
+            solverCnt++;
+        }
+        if (runningTime != null) {
+            runningTimeHistogram[bucketOf(runningTime)]++;
+            runningTimeP50 = (int) Math.ceil(percentile(runningTimeHistogram, 0.5));
+            runningTimeP90 = (int) Math.ceil(percentile(runningTimeHistogram, 0.9));
+        }
+        if (memoryUsage != null) {
+            memoryUsageHistogram[bucketOf(memoryUsage)]++;
+            memoryUsageP50 = (float) percentile(memoryUsageHistogram, 0.5);
+            memoryUsageP90 = (float) percentile(memoryUsageHistogram, 0.9);
+        }
+    }
+
+    public float getPassingRate() {
+        return submissionCnt == 0 ? 0.0f : Math.round((passCnt / (float) submissionCnt) * 1000) / 10.0f;
+    }
+
+    private static int bucketOf(double value) {
+        if (value <= 1) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(value) / Math.log(BUCKET_GROWTH));
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    // 누적 개수가 전체의 p 비율에 처음 도달하는 구간의 상한값
+    private static double percentile(long[] histogram, double p) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        long target = (long) Math.ceil(total * p);
+        long cumulative = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            cumulative += histogram[i];
+            if (cumulative >= target) {
+                return Math.pow(BUCKET_GROWTH, i);
+            }
+        }
+        return Math.pow(BUCKET_GROWTH, histogram.length - 1);
+    }
+}
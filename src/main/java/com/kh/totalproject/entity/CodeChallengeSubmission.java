@@ -13,11 +13,22 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// 문제 목록의 통과율 집계가 테이블 대신 인덱스만 읽도록 (문제, 통과 여부, 유저) 순서로 구성
+// 유저의 문제별 제출 이력은 (유저, 문제) 인덱스에 포함된 PK 순으로 바로 읽음
+// 재시도된 complete 콜백으로 같은 채점 작업의 제출이 두번 저장되지 않도록 job_id 는 UNIQUE
+@Table(indexes = {
+    @Index(name = "idx_submission_question_success_user", columnList = "question_id, success, user_id"),
+    @Index(name = "idx_submission_user_question", columnList = "user_id, question_id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_submission_job_id", columnNames = "job_id"))
 public class CodeChallengeSubmission {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long submissionId;
 
+    // 제출을 채점한 작업의 jobId (job_id 기록 이전의 제출은 null)
+    @Column(name = "job_id", length = 64)
+    private String jobId;
+
     // 1명의 유저는 n개의 제출 1개의 제출은 1명의 유저
     @ManyToOne
     @JoinColumn(nullable = false, name="user_id")
@@ -28,9 +39,9 @@ public class CodeChallengeSubmission {
     @JoinColumn(nullable = false, name="question_id")
     private CodeChallengeInfo codeChallengeInfo;
 
-    @Lob
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String code;
+    // 코드 본문은 code_blob 에 압축 저장하고 SHA-256 해시만 참조 (같은 코드는 한번만 저장)
+    @Column(name = "code_hash", nullable = false, length = 64)
+    private String codeHash;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
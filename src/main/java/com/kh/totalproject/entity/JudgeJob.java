@@ -0,0 +1,49 @@
+package com.kh.totalproject.entity;
+
+import com.kh.totalproject.constant.JudgeJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 코딩 테스트 채점 작업의 진행 상태 (judge_job)
+// 재시작 후에도 진행 중인 작업의 SSE 구독을 복구할 수 있도록 상태, 진행한 테스트 케이스 수, 최근 결과를 기록
+@Entity
+@Table(name = "judge_job", indexes = @Index(name = "idx_judge_job_status", columnList = "status, updated_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class JudgeJob {
+    @Id
+    @Column(name = "job_id", length = 64)
+    private String jobId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private Long questionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JudgeJobStatus status;
+
+    // execute 응답의 전체 테스트 케이스 수 (실행 전이면 null)
+    private Integer numOfTestcase;
+
+    @Column(nullable = false)
+    private int completedTestcases;
+
+    // 최근 테스트 케이스 이벤트 목록 ([{"id": 번호, "data": 결과}]) 을 JSON 으로 직렬화한 값
+    @ToString.Exclude
+    @Column(columnDefinition = "TEXT")
+    private String recentResults;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,31 @@
+package com.kh.totalproject.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 코딩 테스트 작업(jobId)의 SSE 구독이 등록된 서버 인스턴스 (sse_job_owner)
+// 여러 인스턴스로 운영 시 Flask 콜백을 받은 인스턴스가 구독을 가진 인스턴스를 찾는 데 사용
+@Entity
+@Table(name = "sse_job_owner", indexes = @Index(name = "idx_sse_job_owner_node", columnList = "node_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class SseJobOwner {
+    @Id
+    @Column(name = "job_id")
+    private String jobId;
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+
+    // 작업을 제출한 유저 (다른 인스턴스로 구독을 옮길 때 유저별 구독 상한에 사용)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime claimedAt;
+}
@@ -0,0 +1,37 @@
+package com.kh.totalproject.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 다른 인스턴스로 전달할 Flask 테스트 케이스 결과 (sse_relay_event)
+// 구독을 가진 인스턴스(nodeId)가 주기적으로 조회하여 SSE 로 전송한 뒤 삭제
+@Entity
+@Table(name = "sse_relay_event", indexes = @Index(name = "idx_sse_relay_event_node", columnList = "node_id, relay_event_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class SseRelayEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "relay_event_id")
+    private Long id;
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private String jobId;
+
+    // TestcaseResult 를 JSON 으로 직렬화한 값
+    @ToString.Exclude
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,7 @@ import com.kh.totalproject.constant.Role;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -57,11 +58,19 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // 발급된 JWT 무효화용 버전, 값이 올라가면 이전 버전으로 발급된 토큰은 DB 재검증 대상이 됨
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer tokenVersion;
+
     @PrePersist
     private void prePersist(){
         if (role == null){
             this.role = Role.USER;
         }
+        if (tokenVersion == null){
+            this.tokenVersion = 0;
+        }
         //else this.role = Role.ADMIN;      // null 이 아닐때도 기본값이 ADMIN 이라 주석처리
     }
 
@@ -138,6 +147,11 @@ public class User {
         this.naveremail = naverEmail;
     }
 
+    // 비밀번호 재설정 등 기존 토큰을 모두 무효화해야 할 때 호출
+    public void increaseTokenVersion() {
+        this.tokenVersion = (tokenVersion == null ? 0 : tokenVersion) + 1;
+    }
+
     // userKey만 받는 생성자 추가
     @Builder
     public User(Long userKey) {
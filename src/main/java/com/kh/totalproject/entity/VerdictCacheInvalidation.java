@@ -0,0 +1,30 @@
+package com.kh.totalproject.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 다른 인스턴스에 전달할 채점 결과 캐시 무효화 요청 (verdict_cache_invalidation)
+// 각 인스턴스가 마지막으로 처리한 id 이후의 행을 주기적으로 조회하여 자신의 캐시를 비움
+@Entity
+@Table(name = "verdict_cache_invalidation")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class VerdictCacheInvalidation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "invalidation_id")
+    private Long id;
+
+    // null 이면 전체 무효화
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,7 @@ import com.kh.totalproject.dto.response.CancelJobResponse;
 import com.kh.totalproject.dto.response.ExecuteJobResponse;
 import com.kh.totalproject.dto.response.SubmitCodeResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -92,6 +93,20 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // 채점 대기열이 가득 찼거나 대기 시간이 초과된 경우, 채점 서버 장애로 서킷 브레이커가 열린 경우
+    // 서킷 브레이커에서 거부한 경우 채점 서버 상태(judgeState)를 함께 응답
+    @ExceptionHandler(JudgeUnavailableException.class)
+    public ResponseEntity<Object> handleJudgeUnavailableException(JudgeUnavailableException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        if (ex.getJudgeState() != null) {
+            body.put("judgeState", ex.getJudgeState());
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
     /***************************************
      * 내부 Private Helper 메서드 시작
      ***************************************/
@@ -0,0 +1,22 @@
+package com.kh.totalproject.exception;
+
+import lombok.Getter;
+
+// 채점 대기열이 가득 찼거나 대기 시간이 초과되었거나, 채점 서버 장애로 서킷 브레이커가 열려
+// 지금은 채점 요청을 받을 수 없는 경우 사용 (503 + Retry-After)
+@Getter
+public class JudgeUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+    // 서킷 브레이커 상태 (CLOSED, HALF_OPEN, OPEN), 대기열에서 거부한 경우 null
+    private final String judgeState;
+
+    public JudgeUnavailableException(String message, long retryAfterSeconds) {
+        this(message, retryAfterSeconds, null);
+    }
+
+    public JudgeUnavailableException(String message, long retryAfterSeconds, String judgeState) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.judgeState = judgeState;
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,4 +24,11 @@ public interface BoardReactionRepository extends JpaRepository<BoardReaction, Lo
     @Query("SELECT COUNT(br) FROM BoardReaction br WHERE br.board.id = :boardId AND br.reaction = 'DISLIKE'")
     int countDislikesByBoardId(@Param("boardId") Long boardId);
 
+    // 여러 게시글의 좋아요/싫어요 수를 한번에 조회 (Object[] : 0번 게시글 id, 1번 좋아요 수, 2번 싫어요 수)
+    @Query("SELECT br.board.id, " +
+            "SUM(CASE WHEN br.reaction = 'LIKE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN br.reaction = 'DISLIKE' THEN 1 ELSE 0 END) " +
+            "FROM BoardReaction br WHERE br.board.id IN :boardIds GROUP BY br.board.id")
+    List<Object[]> countReactionsByBoardIds(@Param("boardIds") Collection<Long> boardIds);
+
 }
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -37,4 +38,26 @@ public interface BoardRepository extends JpaRepository<Board, Long>, JpaSpecific
 
     @Query("SELECT b FROM Board b WHERE b.user.userKey = :userKey")
     Page<Board> findByUserKey(@Param("userKey") Long userKey, Pageable pageable);
+
+    // 댓글 작성/삭제 시 댓글 수 증감 (동시 요청에도 누락되지 않도록 DB 에서 직접 증감)
+    @Modifying
+    @Query("UPDATE Board b SET b.commentCnt = CASE WHEN b.commentCnt + :delta < 0 THEN 0 ELSE b.commentCnt + :delta END " +
+            "WHERE b.id = :boardId")
+    int updateCommentCnt(@Param("boardId") Long boardId, @Param("delta") int delta);
+
+    // 좋아요/싫어요 반응 변경 시 반응 수 증감
+    @Modifying
+    @Query("UPDATE Board b SET " +
+            "b.likeCnt = CASE WHEN COALESCE(b.likeCnt, 0) + :likeDelta < 0 THEN 0 ELSE COALESCE(b.likeCnt, 0) + :likeDelta END, " +
+            "b.dislikeCnt = CASE WHEN COALESCE(b.dislikeCnt, 0) + :dislikeDelta < 0 THEN 0 ELSE COALESCE(b.dislikeCnt, 0) + :dislikeDelta END " +
+            "WHERE b.id = :boardId")
+    int updateReactionCnt(@Param("boardId") Long boardId, @Param("likeDelta") int likeDelta, @Param("dislikeDelta") int dislikeDelta);
+
+    // 댓글/반응 원본 테이블 기준으로 전체 게시글의 카운트 컬럼 재계산
+    @Modifying
+    @Query("UPDATE Board b SET " +
+            "b.commentCnt = (SELECT COUNT(c) FROM Comment c WHERE c.board.id = b.id), " +
+            "b.likeCnt = (SELECT COUNT(br) FROM BoardReaction br WHERE br.board.id = b.id AND br.reaction = 'LIKE'), " +
+            "b.dislikeCnt = (SELECT COUNT(br) FROM BoardReaction br WHERE br.board.id = b.id AND br.reaction = 'DISLIKE')")
+    int reconcileCounts();
 }
\ No newline at end of file
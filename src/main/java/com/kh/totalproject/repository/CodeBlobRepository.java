@@ -0,0 +1,9 @@
+package com.kh.totalproject.repository;
+
+import com.kh.totalproject.entity.CodeBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CodeBlobRepository extends JpaRepository<CodeBlob, String> {
+}
@@ -0,0 +1,34 @@
+package com.kh.totalproject.repository;
+
+import com.kh.totalproject.constant.ChallengeDifficulty;
+import com.kh.totalproject.entity.CodeChallengeStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CodeChallengeStatsRepository extends JpaRepository<CodeChallengeStats, Long> {
+    // 동시에 완료된 제출이 같은 문제의 히스토그램을 덮어쓰지 않도록 행 잠금 후 갱신
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT st FROM CodeChallengeStats st WHERE st.questionId = :questionId")
+    Optional<CodeChallengeStats> findByIdForUpdate(@Param("questionId") Long questionId);
+
+    // 문제의 첫 제출을 여러 트랜잭션이 동시에 저장할 때 같은 통계 행을 각각 INSERT 하지 않도록
+    // 잠금 조회 전에 빈 통계 행을 생성 (이미 있으면 무시, 히스토그램은 첫 누적 시 생성)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO challenge_stats (question_id, submission_cnt, pass_cnt, solver_cnt) " +
+            "VALUES (:questionId, 0, 0, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("questionId") Long questionId);
+
+    // 난이도별 문제 목록과 통계를 문제 수 만큼의 행으로 조회 [CodeChallengeInfo, CodeChallengeStats]
+    @Query("SELECT i, st FROM CodeChallengeInfo i LEFT JOIN CodeChallengeStats st ON st.questionId = i.questionId " +
+            "WHERE i.difficulty = :difficulty ORDER BY i.questionId")
+    List<Object[]> findInfoAndStatsByDifficulty(@Param("difficulty") ChallengeDifficulty difficulty);
+}
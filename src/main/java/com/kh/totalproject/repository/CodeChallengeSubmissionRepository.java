@@ -1,22 +1,67 @@
 package com.kh.totalproject.repository;
 
+import com.kh.totalproject.constant.ChallengeDifficulty;
+import com.kh.totalproject.dto.response.SubmissionSummaryResponse;
 import com.kh.totalproject.entity.CodeChallengeInfo;
 import com.kh.totalproject.entity.CodeChallengeSubmission;
 import com.kh.totalproject.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CodeChallengeSubmissionRepository extends JpaRepository<CodeChallengeSubmission, Long> {
     Optional<CodeChallengeSubmission> findFirstByCodeChallengeInfoAndUserOrderBySubmittedAtDesc(CodeChallengeInfo codeChallengeInfo, User user);
 
-    List<CodeChallengeSubmission> findByCodeChallengeInfoAndUser(CodeChallengeInfo codeChallengeInfo, User user);
-    List<CodeChallengeSubmission> findByUser(User user);
+    // 유저의 제출 이력 요약 (cursor 보다 이전 제출부터 최신순, cursor 가 null 이면 첫 페이지)
+    @Query("SELECT new com.kh.totalproject.dto.response.SubmissionSummaryResponse(s.submissionId, i.questionId, i.title, " +
+            "s.codeLanguage, s.success, s.runningTime, s.memoryUsage, s.codeSize, s.submittedAt) " +
+            "FROM CodeChallengeSubmission s JOIN s.codeChallengeInfo i " +
+            "WHERE s.user.userKey = :userKey AND (:cursor IS NULL OR s.submissionId < :cursor) " +
+            "ORDER BY s.submissionId DESC")
+    List<SubmissionSummaryResponse> findSummariesByUser(@Param("userKey") Long userKey, @Param("cursor") Long cursor,
+                                                        Pageable pageable);
+
+    // 유저의 문제별 제출 이력 요약
+    @Query("SELECT new com.kh.totalproject.dto.response.SubmissionSummaryResponse(s.submissionId, i.questionId, i.title, " +
+            "s.codeLanguage, s.success, s.runningTime, s.memoryUsage, s.codeSize, s.submittedAt) " +
+            "FROM CodeChallengeSubmission s JOIN s.codeChallengeInfo i " +
+            "WHERE s.user.userKey = :userKey AND i.questionId = :questionId AND (:cursor IS NULL OR s.submissionId < :cursor) " +
+            "ORDER BY s.submissionId DESC")
+    List<SubmissionSummaryResponse> findSummariesByUserAndQuestion(@Param("userKey") Long userKey, @Param("questionId") Long questionId,
+                                                                   @Param("cursor") Long cursor, Pageable pageable);
+
+    // 본인 제출의 코드만 조회
+    @Query("SELECT s.codeHash FROM CodeChallengeSubmission s WHERE s.submissionId = :submissionId AND s.user.userKey = :userKey")
+    Optional<String> findCodeHashBySubmissionIdAndUserKey(@Param("submissionId") Long submissionId, @Param("userKey") Long userKey);
 
     int countByCodeChallengeInfo(CodeChallengeInfo codeChallengeInfo);
     int countByCodeChallengeInfoAndSuccess(CodeChallengeInfo codeChallengeInfo, Boolean success);
     int countByCodeChallengeInfoAndUser(CodeChallengeInfo codeChallengeInfo, User user);
+
+    // 문제 목록과 유저 목록에 해당하는 통과 이력 [questionId, userKey] (통계의 최초 통과 유저 판단용)
+    @Query("SELECT DISTINCT s.codeChallengeInfo.questionId, s.user.userKey FROM CodeChallengeSubmission s " +
+            "WHERE s.success = true AND s.codeChallengeInfo.questionId IN :questionIds AND s.user.userKey IN :userKeys")
+    List<Object[]> findPassedPairs(@Param("questionIds") Collection<Long> questionIds, @Param("userKeys") Collection<Long> userKeys);
+
+    // 해당 유저가 통과한 적 있는 난이도별 문제 번호
+    @Query("SELECT DISTINCT s.codeChallengeInfo.questionId FROM CodeChallengeSubmission s " +
+            "WHERE s.user.userKey = :userKey AND s.success = true AND s.codeChallengeInfo.difficulty = :difficulty")
+    List<Long> findPassedQuestionIds(@Param("userKey") Long userKey, @Param("difficulty") ChallengeDifficulty difficulty);
+
+    // challenge_stats 재계산용 전체 제출 스트림 [questionId, userKey, success, runningTime, memoryUsage]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT s.codeChallengeInfo.questionId, s.user.userKey, s.success, s.runningTime, s.memoryUsage " +
+            "FROM CodeChallengeSubmission s ORDER BY s.submissionId")
+    Stream<Object[]> streamAllForStats();
 }
@@ -8,6 +8,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     int countByBoardId(long boardId);
@@ -15,4 +18,8 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.board.id = :boardId")
     int countCommentsByBoardId(@Param("boardId") Long boardId);
+
+    // 여러 게시글의 댓글 수를 한번에 조회 (Object[] : 0번 게시글 id, 1번 댓글 수)
+    @Query("SELECT c.board.id, COUNT(c) FROM Comment c WHERE c.board.id IN :boardIds GROUP BY c.board.id")
+    List<Object[]> countCommentsByBoardIds(@Param("boardIds") Collection<Long> boardIds);
 }
@@ -4,10 +4,15 @@ import com.kh.totalproject.constant.BoardType;
 import com.kh.totalproject.constant.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CustomBoardRepository {
     Page<Object[]> findAllWithDynamicFilters(BoardType type, Status status, String sortBy, String order,
                                              String enumFilter, String search, Pageable pageable);
+
+    // 전체 개수 없이 다음 페이지 존재 여부만 필요한 경우 (무한 스크롤 등)
+    Slice<Object[]> findSliceWithDynamicFilters(BoardType type, Status status, String sortBy, String order,
+                                                String enumFilter, String search, Pageable pageable);
 }
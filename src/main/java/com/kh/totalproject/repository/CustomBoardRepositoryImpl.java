@@ -3,8 +3,6 @@ package com.kh.totalproject.repository;
 import com.kh.totalproject.constant.BoardType;
 import com.kh.totalproject.constant.Status;
 import com.kh.totalproject.entity.Board;
-import com.kh.totalproject.entity.BoardReaction;
-import com.kh.totalproject.entity.Comment;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
@@ -12,9 +10,11 @@ import jakarta.persistence.criteria.*;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
@@ -32,16 +32,69 @@ public class CustomBoardRepositoryImpl implements CustomBoardRepository {
     @Override
     public Page<Object[]> findAllWithDynamicFilters(BoardType type, Status status, String sortBy, String order,
                                                     String enumFilter, String search, Pageable pageable) {
+        TypedQuery<Object[]> typedQuery = createListQuery(type, status, sortBy, order, enumFilter, search);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize());
+
+        List<Object[]> results = typedQuery.getResultList();
+
+        // 전체 개수는 같은 조건의 COUNT(DISTINCT board) 로 따로 조회
+        // 첫 페이지가 pageSize 보다 적게 조회되는 등 결과만으로 전체 개수를 알 수 있으면 COUNT 쿼리 생략
+        return PageableExecutionUtils.getPage(results, pageable,
+                () -> countWithDynamicFilters(type, status, enumFilter, search));
+    }
+
+    @Override
+    public Slice<Object[]> findSliceWithDynamicFilters(BoardType type, Status status, String sortBy, String order,
+                                                       String enumFilter, String search, Pageable pageable) {
+        TypedQuery<Object[]> typedQuery = createListQuery(type, status, sortBy, order, enumFilter, search);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        // 다음 페이지 존재 여부만 확인하기 위해 pageSize + 1 개 조회, COUNT 쿼리 없음
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+
+        List<Object[]> results = new ArrayList<>(typedQuery.getResultList());
+        boolean hasNext = results.size() > pageable.getPageSize();
+        if (hasNext) {
+            results.remove(results.size() - 1);
+        }
+        return new SliceImpl<>(results, pageable, hasNext);
+    }
+
+    // 목록 조회 쿼리 (Board 엔티티 + 댓글 개수 + 좋아요 개수 + 싫어요 개수)
+    // 개수는 게시글의 카운트 컬럼을 그대로 사용하므로 댓글/반응 조인 및 GROUP BY 없음
+    private TypedQuery<Object[]> createListQuery(BoardType type, Status status, String sortBy, String order,
+                                                 String enumFilter, String search) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
         Root<Board> root = query.from(Board.class);
-        Join<Board, Comment> comments = root.join("comments", JoinType.LEFT);
-        Join<Board, BoardReaction> reactions = root.join("boardReactions", JoinType.LEFT);  // 좋아요 조인
 
-        // SELECT 절 정의 (Board 엔티티 + 댓글 개수 + 좋아요 개수 + 조회수)
-        query.multiselect(root, cb.countDistinct(comments), cb.countDistinct(reactions), root.get("viewCnt"));
+        // SELECT 절 정의 (Board 엔티티 + 댓글 개수 + 좋아요 개수 + 싫어요 개수)
+        query.multiselect(root, root.get("commentCnt"), root.get("likeCnt"), root.get("dislikeCnt"));
 
         // WHERE 절 정의
+        query.where(createPredicates(cb, root, type, status, enumFilter, search));
+
+        // ORDER BY 추가 (정렬 조건 적용)
+        query.orderBy(createOrder(cb, root, sortBy, order));
+
+        return entityManager.createQuery(query);
+    }
+
+    // 전체 개수 조회 쿼리, 목록 조회와 같은 WHERE 조건만 적용
+    private long countWithDynamicFilters(BoardType type, Status status, String enumFilter, String search) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Board> root = countQuery.from(Board.class);
+
+        countQuery.select(cb.countDistinct(root));
+        countQuery.where(createPredicates(cb, root, type, status, enumFilter, search));
+
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    // 목록 조회와 COUNT 쿼리가 공유하는 WHERE 조건
+    private Predicate[] createPredicates(CriteriaBuilder cb, Root<Board> root, BoardType type, Status status,
+                                         String enumFilter, String search) {
         List<Predicate> predicates = new ArrayList<>();
 
         // boardType에 따라 특정 하위 엔티티만 필터링
@@ -58,24 +111,7 @@ public class CustomBoardRepositoryImpl implements CustomBoardRepository {
             predicates.add(specPredicate);
         }
 
-        // WHERE 절에 조건 추가
-        query.where(predicates.toArray(new Predicate[0]));
-
-        // GROUP BY 추가 (Board별로 댓글 & 좋아요 개수를 COUNT하기 위해)
-        query.groupBy(root);
-
-        // ORDER BY 추가 (정렬 조건 적용)
-        query.orderBy(createOrder(cb, root, comments, reactions, sortBy, order));
-
-        // 실행 및 페이징 처리
-        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query);
-        int totalRows = typedQuery.getResultList().size();
-        typedQuery.setFirstResult((int) pageable.getOffset());
-        typedQuery.setMaxResults(pageable.getPageSize());
-
-        List<Object[]> results = typedQuery.getResultList();
-
-        return new PageImpl<>(results, pageable, totalRows);
+        return predicates.toArray(new Predicate[0]);
     }
 
     // 동적 필터링 조건을 생성하는 메서드
@@ -120,15 +156,15 @@ public class CustomBoardRepositoryImpl implements CustomBoardRepository {
     }
 
     // 동적 정렬 조건을 생성하는 메서드
-    private List<Order> createOrder(CriteriaBuilder cb, Root<Board> root, Join<?, Comment> comments, Join<?, BoardReaction> reactions, String sortBy, String order) {
+    private List<Order> createOrder(CriteriaBuilder cb, Root<Board> root, String sortBy, String order) {
         Sort.Direction direction = "DESC".equalsIgnoreCase(order) ? Sort.Direction.DESC : Sort.Direction.ASC;
         List<Order> orders = new ArrayList<>();
 
         // 정렬 조건에 따라 order 추가
         if ("commentCnt".equalsIgnoreCase(sortBy)) {
-            orders.add(direction == Sort.Direction.DESC ? cb.desc(cb.countDistinct(comments)) : cb.asc(cb.countDistinct(comments)));
+            orders.add(direction == Sort.Direction.DESC ? cb.desc(root.get("commentCnt")) : cb.asc(root.get("commentCnt")));
         } else if ("likeCnt".equalsIgnoreCase(sortBy)) {
-            orders.add(direction == Sort.Direction.DESC ? cb.desc(cb.countDistinct(reactions)) : cb.asc(cb.countDistinct(reactions)));
+            orders.add(direction == Sort.Direction.DESC ? cb.desc(root.get("likeCnt")) : cb.asc(root.get("likeCnt")));
         } else if ("viewCnt".equalsIgnoreCase(sortBy)) {
             orders.add(direction == Sort.Direction.DESC ? cb.desc(root.get("viewCnt")) : cb.asc(root.get("viewCnt")));
         } else {
@@ -0,0 +1,27 @@
+package com.kh.totalproject.repository;
+
+import com.kh.totalproject.constant.JudgeJobStatus;
+import com.kh.totalproject.entity.JudgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Transactional
+public interface JudgeJobRepository extends JpaRepository<JudgeJob, String> {
+    // 재시작 시 복구할 진행 중인 작업 (SSE 구독 최대 수명 이내에 갱신된 작업만)
+    @Query("SELECT j FROM JudgeJob j WHERE j.status IN :statuses AND j.updatedAt >= :threshold")
+    List<JudgeJob> findByStatusesUpdatedAfter(@Param("statuses") Collection<JudgeJobStatus> statuses,
+                                              @Param("threshold") LocalDateTime threshold);
+
+    @Modifying
+    @Query("DELETE FROM JudgeJob j WHERE j.updatedAt < :threshold")
+    int deleteUpdatedBefore(@Param("threshold") LocalDateTime threshold);
+}
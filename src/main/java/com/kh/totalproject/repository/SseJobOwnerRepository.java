@@ -0,0 +1,44 @@
+package com.kh.totalproject.repository;
+
+import com.kh.totalproject.entity.SseJobOwner;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional
+public interface SseJobOwnerRepository extends JpaRepository<SseJobOwner, String> {
+    @Query("SELECT o.jobId FROM SseJobOwner o WHERE o.nodeId = :nodeId")
+    List<String> findJobIdsByNodeId(@Param("nodeId") String nodeId);
+
+    // 다른 인스턴스가 그 사이 구독을 가져간 경우 삭제하지 않도록 nodeId 를 함께 비교
+    @Modifying
+    @Query("DELETE FROM SseJobOwner o WHERE o.jobId IN :jobIds AND o.nodeId = :nodeId")
+    int deleteByJobIdsAndNodeId(@Param("jobIds") List<String> jobIds, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query("DELETE FROM SseJobOwner o WHERE o.nodeId = :nodeId")
+    int deleteByNodeId(@Param("nodeId") String nodeId);
+
+    // 비정상 종료된 인스턴스가 남긴 행 삭제
+    @Modifying
+    @Query("DELETE FROM SseJobOwner o WHERE o.claimedAt < :threshold")
+    int deleteClaimedBefore(@Param("threshold") LocalDateTime threshold);
+
+    // 다른 인스턴스의 기록이 있으면 덮어쓰지 않음 (기록한 경우 1)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO sse_job_owner (job_id, node_id, user_id, claimed_at) " +
+            "VALUES (:jobId, :nodeId, :userId, :claimedAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("jobId") String jobId, @Param("nodeId") String nodeId, @Param("userId") Long userId,
+                       @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Modifying
+    @Query("UPDATE SseJobOwner o SET o.nodeId = :nodeId, o.claimedAt = :claimedAt WHERE o.jobId = :jobId AND o.nodeId <> :nodeId")
+    int transfer(@Param("jobId") String jobId, @Param("nodeId") String nodeId, @Param("claimedAt") LocalDateTime claimedAt);
+}
@@ -0,0 +1,26 @@
+package com.kh.totalproject.repository;
+
+import com.kh.totalproject.entity.SseRelayEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional
+public interface SseRelayEventRepository extends JpaRepository<SseRelayEvent, Long> {
+    // 같은 작업의 결과가 도착 순서대로 전송되도록 id 순으로 조회
+    @Query("SELECT e FROM SseRelayEvent e WHERE e.nodeId = :nodeId ORDER BY e.id")
+    List<SseRelayEvent> findPendingByNodeId(@Param("nodeId") String nodeId, Pageable pageable);
+
+    // 구독을 가진 인스턴스가 종료되어 전달되지 못한 결과 삭제
+    @Modifying
+    @Query("DELETE FROM SseRelayEvent e WHERE e.createdAt < :threshold")
+    int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
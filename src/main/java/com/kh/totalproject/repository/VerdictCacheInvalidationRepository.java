@@ -0,0 +1,28 @@
+package com.kh.totalproject.repository;
+
+import com.kh.totalproject.entity.VerdictCacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional
+public interface VerdictCacheInvalidationRepository extends JpaRepository<VerdictCacheInvalidation, Long> {
+    @Query("SELECT i FROM VerdictCacheInvalidation i WHERE i.id > :lastId ORDER BY i.id")
+    List<VerdictCacheInvalidation> findAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM VerdictCacheInvalidation i")
+    Long findMaxId();
+
+    // 캐시 ttl 이 지나 더 이상 남아 있을 수 없는 결과에 대한 요청 삭제
+    @Modifying
+    @Query("DELETE FROM VerdictCacheInvalidation i WHERE i.createdAt < :threshold")
+    int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -41,6 +41,7 @@ public class AdminService {
     private final SuggestionRepository suggestionRepository;
     private final ReportCommentRepository reportCommentRepository;
     private final SuggestionCommentRepository suggestionCommentRepository;
+    private final VerdictCacheInvalidationRelay verdictCacheInvalidationRelay;
 
     public Page<UserResponse> listAllUserInfo(int page, int size, String sortBy, String order, String search) {
         try {
@@ -271,6 +272,11 @@ public class AdminService {
             return false;
         }
     }
+
+    // 채점 결과 캐시는 인스턴스별로 보관되므로 여러 인스턴스 운영 중이면 다른 인스턴스에도 무효화 요청 전달
+    public void invalidateVerdictCache(Long questionId) {
+        verdictCacheInvalidationRelay.invalidate(questionId);
+    }
 //
 //
 //    public Page<?> listAnnouncement() {
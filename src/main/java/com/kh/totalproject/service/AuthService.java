@@ -265,7 +265,10 @@ public class AuthService {
                 .orElseThrow(() -> new NotFoundException("존재하지 않는 이메일 입니다."));
         String newHashedPw = passwordEncoder.encode(newPw);
         user.setPassword(newHashedPw);
+        // 비밀번호 재설정 이전에 발급된 토큰 무효화
+        user.increaseTokenVersion();
         userRepository.save(user);
+        jwtUtil.updateTokenVersion(user);
         return true;
     }
 
@@ -0,0 +1,38 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.repository.BoardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// 게시글의 댓글/좋아요/싫어요 카운트 컬럼을 comment, board_reaction 원본 테이블 기준으로 재계산
+// 카운트 컬럼 동기화 이전에 쌓인 데이터를 맞추기 위한 일회성 작업으로,
+// community.reconcile-board-counts=true 로 기동하면 애플리케이션 시작 시 한번 실행
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BoardCountReconcileService {
+    private final BoardRepository boardRepository;
+
+    @Value("${community.reconcile-board-counts:false}")
+    private boolean reconcileEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileEnabled) {
+            reconcileCounts();
+        }
+    }
+
+    public int reconcileCounts() {
+        long start = System.currentTimeMillis();
+        int updated = boardRepository.reconcileCounts();
+        log.info("게시글 카운트 재계산 완료 : {}건, {}ms", updated, System.currentTimeMillis() - start);
+        return updated;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.dto.response.BoardResponse;
+import com.kh.totalproject.entity.Board;
+import com.kh.totalproject.repository.BoardReactionRepository;
+import com.kh.totalproject.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 게시글 목록 응답 변환 (CommunityService 상대방 작성글, MyPageService 내 작성글에서 공통 사용)
+@Component
+@RequiredArgsConstructor
+public class BoardResponseMapper {
+    private final CommentRepository commentRepository;
+    private final BoardReactionRepository boardReactionRepository;
+
+    // 페이지에 포함된 게시글들의 댓글/좋아요/싫어요 수를 게시글 id 묶음으로 한번에 조회하여 변환
+    // 게시글 수와 관계 없이 댓글 1번, 반응 1번의 쿼리만 실행
+    public Page<BoardResponse> mapToPostResponses(Page<Board> boards) {
+        List<Long> boardIds = boards.getContent().stream().map(Board::getId).toList();
+        Map<Long, Integer> commentCnts = new HashMap<>();
+        Map<Long, int[]> reactionCnts = new HashMap<>();
+
+        if (!boardIds.isEmpty()) {
+            for (Object[] row : commentRepository.countCommentsByBoardIds(boardIds)) {
+                commentCnts.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+            for (Object[] row : boardReactionRepository.countReactionsByBoardIds(boardIds)) {
+                reactionCnts.put((Long) row[0], new int[]{((Number) row[1]).intValue(), ((Number) row[2]).intValue()});
+            }
+        }
+
+        return boards.map(board -> {
+            int[] reactions = reactionCnts.getOrDefault(board.getId(), new int[]{0, 0});
+            return BoardResponse.ofPost(board, commentCnts.getOrDefault(board.getId(), 0), reactions[0], reactions[1]);
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Celery 가 타임아웃으로 다시 보낸 Flask 콜백을 걸러내는 인스턴스 로컬 중복 제거기입니다.
+ * 최근 받은 콜백을 (jobId, testcaseIndex, 종류) 키로 ttl-ms 동안 최대 max-entries 개까지 보관하고,
+ * 같은 키의 콜백이 다시 오면 DB 나 SSE emitter 를 거치지 않고 처음 처리한 결과(처리 중이면 SUCCESS)로 바로 응답합니다.
+ * 처음 처리가 ERROR 로 끝난 콜백은 보관하지 않으므로 재시도 시 다시 처리됩니다.
+ * 다른 인스턴스로 재시도된 complete 콜백은 code_challenge_submission.job_id 의 UNIQUE 제약으로 한번만 저장됩니다.
+ */
+@Component
+public class CallbackDeduplicator {
+    private final int maxEntries;
+    private final long ttlNanos;
+    // 받은 순서(=만료 순서)로 보관, 잠금은 entries 자체로
+    private final LinkedHashMap<Key, Entry> entries;
+    private final Counter duplicates;
+
+    public CallbackDeduplicator(
+        MeterRegistry meterRegistry,
+        @Value("${code-challenge.callback-dedupe.max-entries:100000}") int maxEntries,
+        @Value("${code-challenge.callback-dedupe.ttl-ms:600000}") long ttlMs
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > CallbackDeduplicator.this.maxEntries;
+            }
+        };
+        duplicates = Counter.builder("code_challenge.callback.duplicates")
+                .description("중복으로 걸러낸 Flask 콜백 수")
+                .register(meterRegistry);
+    }
+
+    // 처음 받은 콜백이면 null (처리 후 complete 호출), 중복이면 이전 처리 결과
+    @Nullable
+    public SendTestcaseResultStatus register(TestcaseResult result) {
+        if (result.getJobId() == null) {
+            return null;
+        }
+        Key key = Key.of(result);
+        long now = System.nanoTime();
+        synchronized (entries) {
+            removeExpired(now);
+            Entry previous = entries.get(key);
+            if (previous == null) {
+                entries.put(key, new Entry(now));
+                return null;
+            }
+            duplicates.increment();
+            return previous.status == null ? SendTestcaseResultStatus.SUCCESS : previous.status;
+        }
+    }
+
+    public void complete(TestcaseResult result, SendTestcaseResultStatus status) {
+        if (result.getJobId() == null) {
+            return;
+        }
+        Key key = Key.of(result);
+        synchronized (entries) {
+            if (status == SendTestcaseResultStatus.ERROR) {
+                entries.remove(key);
+                return;
+            }
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                entry.status = status;
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().receivedAt <= ttlNanos) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private record Key(String jobId, Integer testcaseIndex, String kind) {
+        private static Key of(TestcaseResult result) {
+            return new Key(result.getJobId(), result.getTestcaseIndex(), CodeChallengeService.callbackKind(result));
+        }
+    }
+
+    private static class Entry {
+        private final long receivedAt;
+        // 처리 중이면 null
+        private SendTestcaseResultStatus status;
+
+        private Entry(long receivedAt) {
+            this.receivedAt = receivedAt;
+        }
+    }
+}
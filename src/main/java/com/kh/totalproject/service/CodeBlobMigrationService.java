@@ -0,0 +1,172 @@
+package com.kh.totalproject.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// code_challenge_submission.code (TEXT) 를 code_blob 참조(code_hash)로 옮기는 일회성 마이그레이션
+// enabled=true 로 기동했고 code 컬럼이 남아 있는 경우에만 실행되며, 옮긴 뒤에도 code 컬럼은 유지
+// 컬럼 삭제는 되돌릴 수 없으므로 drop-inline-column=true 로 다시 기동한 경우에만, 모든 행의 code_blob 내용이 code 컬럼과 일치할 때 삭제
+@Slf4j
+@Service
+public class CodeBlobMigrationService {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CodeBlobService codeBlobService;
+    private final boolean enabled;
+    private final boolean dropInlineColumn;
+    private final int batchSize;
+    // code 컬럼이 없음을 확인한 뒤에는 information_schema 를 다시 조회하지 않음
+    private volatile boolean inlineCodeColumnDropped;
+
+    // ddl-auto 로 code_hash 컬럼이 추가된 후 실행되도록 EntityManagerFactory 를 주입
+    public CodeBlobMigrationService(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        CodeBlobService codeBlobService,
+        EntityManagerFactory entityManagerFactory,
+        @Value("${code-challenge.code-blob-migration.enabled:false}") boolean enabled,
+        @Value("${code-challenge.code-blob-migration.drop-inline-column:false}") boolean dropInlineColumn,
+        @Value("${code-challenge.code-blob-migration.batch-size:1000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.codeBlobService = codeBlobService;
+        this.enabled = enabled;
+        this.dropInlineColumn = dropInlineColumn;
+        this.batchSize = batchSize;
+    }
+
+    // 요청을 받기 전에 code 컬럼의 NOT NULL 을 해제하여 마이그레이션 전/중에도 새 제출을 저장할 수 있도록 함
+    // 데이터를 지우지 않는 변경이므로 마이그레이션 실행 여부와 관계없이 처리
+    @PostConstruct
+    public void relaxInlineCodeColumn() {
+        Integer notNull = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() " +
+                "AND table_name = 'code_challenge_submission' AND column_name = 'code' AND is_nullable = 'NO'", Integer.class);
+        if (notNull != null && notNull > 0) {
+            jdbcTemplate.execute("ALTER TABLE code_challenge_submission MODIFY code TEXT NULL");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled || !hasInlineCodeColumn()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        long rows = 0;
+        long inlineBytes = 0;
+        while (true) {
+            List<Object[]> batch = jdbcTemplate.query(
+                    "SELECT submission_id, code FROM code_challenge_submission " +
+                    "WHERE submission_id > ? AND (code_hash IS NULL OR code_hash = '') ORDER BY submission_id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2)},
+                    lastId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<String> codes = new ArrayList<>(batch.size());
+            for (Object[] row : batch) {
+                String code = row[1] == null ? "" : (String) row[1];
+                codes.add(code);
+                inlineBytes += code.length();
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, String> hashes = codeBlobService.storeAll(codes);
+                List<Object[]> updates = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    updates.add(new Object[]{hashes.get(codes.get(i)), batch.get(i)[0]});
+                }
+                jdbcTemplate.batchUpdate("UPDATE code_challenge_submission SET code_hash = ? WHERE submission_id = ?", updates);
+            });
+            lastId = (Long) batch.get(batch.size() - 1)[0];
+            rows += batch.size();
+        }
+
+        Long blobBytes = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(LENGTH(data)), 0) FROM code_blob", Long.class);
+        Long blobCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM code_blob", Long.class);
+        log.info("제출 코드 복사 완료 : {}건, {}ms, 코드 {}KB -> code_blob {}건 {}KB",
+                rows, System.currentTimeMillis() - start, inlineBytes / 1024, blobCount, blobBytes / 1024);
+
+        Long remaining = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM code_challenge_submission WHERE code_hash IS NULL OR code_hash = ''", Long.class);
+        if (remaining != null && remaining > 0) {
+            log.warn("제출 코드 마이그레이션 미완료 : {}건 남음, code 컬럼 유지", remaining);
+            return;
+        }
+        if (!dropInlineColumn) {
+            log.info("code 컬럼 유지 : 확인 후 code-challenge.code-blob-migration.drop-inline-column=true 로 기동하면 삭제");
+            return;
+        }
+
+        long mismatches = verify();
+        if (mismatches > 0) {
+            log.warn("code_blob 내용이 code 컬럼과 다른 제출 {}건, code 컬럼 유지", mismatches);
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE code_challenge_submission DROP COLUMN code");
+        inlineCodeColumnDropped = true;
+        log.info("모든 제출 코드가 code_blob 과 일치하여 code 컬럼 삭제");
+    }
+
+    // 마이그레이션 전에 저장된 제출(code_hash 없음)의 코드를 code 컬럼에서 조회, 컬럼이 삭제되었거나 행이 없으면 null
+    public String loadInlineCode(Long submissionId) {
+        if (inlineCodeColumnDropped) {
+            return null;
+        }
+        if (!hasInlineCodeColumn()) {
+            inlineCodeColumnDropped = true;
+            return null;
+        }
+        List<String> codes = jdbcTemplate.queryForList(
+                "SELECT code FROM code_challenge_submission WHERE submission_id = ?", String.class, submissionId);
+        return codes.isEmpty() ? null : codes.get(0);
+    }
+
+    // code_hash 가 가리키는 code_blob 을 복원한 내용이 code 컬럼과 다른(또는 code_blob 이 없는) 행 수
+    // 업그레이드 후 저장된 제출은 code 를 비워두므로 code 가 있는 기존 행만 비교
+    private long verify() {
+        long lastId = 0;
+        long mismatches = 0;
+        while (true) {
+            List<Object[]> batch = jdbcTemplate.query(
+                    "SELECT submission_id, code, code_hash FROM code_challenge_submission " +
+                    "WHERE submission_id > ? AND code IS NOT NULL ORDER BY submission_id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)},
+                    lastId, batchSize);
+            if (batch.isEmpty()) {
+                return mismatches;
+            }
+            Map<String, String> loaded = new HashMap<>();
+            for (Object[] row : batch) {
+                String code = (String) row[1];
+                String stored = loaded.computeIfAbsent((String) row[2], codeBlobService::load);
+                if (!code.equals(stored)) {
+                    log.warn("code_blob 불일치 submission_id : {}", row[0]);
+                    mismatches++;
+                }
+            }
+            lastId = (Long) batch.get(batch.size() - 1)[0];
+        }
+    }
+
+    private boolean hasInlineCodeColumn() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() " +
+                "AND table_name = 'code_challenge_submission' AND column_name = 'code'", Integer.class);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,119 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.entity.CodeBlob;
+import com.kh.totalproject.repository.CodeBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 제출 코드를 내용 해시(SHA-256) 기준으로 압축 저장/조회
+// 같은 코드는 한번만 저장되며 (INSERT IGNORE), 제출 행에는 해시만 기록
+// 압축은 별도 라이브러리 없이 JDK Deflater 최고 속도 레벨 사용
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CodeBlobService {
+    private static final String CODEC = "deflate";
+    private static final String INSERT_SQL = "INSERT IGNORE INTO code_blob (hash, codec, original_size, data) VALUES (?, ?, ?, ?)";
+
+    private final CodeBlobRepository codeBlobRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public String store(String code) {
+        return storeAll(List.of(code)).get(code);
+    }
+
+    // 코드 목록을 저장하고 코드별 해시 반환 (목록 안의 중복 코드는 한번만 저장)
+    public Map<String, String> storeAll(Collection<String> codes) {
+        Map<String, String> hashes = new LinkedHashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (String code : codes) {
+            if (code == null || hashes.containsKey(code)) {
+                continue;
+            }
+            byte[] source = code.getBytes(StandardCharsets.UTF_8);
+            String hash = hash(source);
+            hashes.put(code, hash);
+            rows.add(new Object[]{hash, CODEC, source.length, compress(source)});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        return hashes;
+    }
+
+    @Transactional(readOnly = true)
+    public String load(String hash) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        return codeBlobRepository.findById(hash)
+                .map(CodeBlobService::decode)
+                .orElse(null);
+    }
+
+    public static String hash(byte[] source) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(source));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    public static byte[] compress(byte[] source) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(source);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, source.length / 2));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decode(CodeBlob blob) {
+        if (!CODEC.equals(blob.getCodec())) {
+            throw new IllegalStateException("지원하지 않는 코드 압축 방식입니다. codec: " + blob.getCodec());
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(blob.getData());
+            byte[] source = new byte[blob.getOriginalSize()];
+            int length = 0;
+            while (length < source.length && !inflater.finished()) {
+                int inflated = inflater.inflate(source, length, source.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated");
+                }
+                length += inflated;
+            }
+            return new String(source, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("손상된 코드 데이터입니다. hash: " + blob.getHash(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
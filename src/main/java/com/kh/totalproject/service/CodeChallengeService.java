@@ -1,89 +1,99 @@
 package com.kh.totalproject.service;
 
 import com.kh.totalproject.constant.ChallengeDifficulty;
+import com.kh.totalproject.constant.JudgeJobStatus;
+import com.kh.totalproject.constant.Language;
 import com.kh.totalproject.constant.SendTestcaseResultStatus;
 import com.kh.totalproject.dto.flask.callback.TestcaseResult;
-import com.kh.totalproject.dto.flask.request.JobRequest;
 import com.kh.totalproject.dto.request.SubmitCodeRequest;
 import com.kh.totalproject.dto.response.ChallengeDetailResponse;
 import com.kh.totalproject.dto.response.ChallengeMetaResponse;
+import com.kh.totalproject.dto.response.SubmissionHistoryResponse;
+import com.kh.totalproject.dto.response.SubmissionSummaryResponse;
 import com.kh.totalproject.entity.CodeChallengeInfo;
+import com.kh.totalproject.entity.CodeChallengeStats;
 import com.kh.totalproject.entity.CodeChallengeSubmission;
 import com.kh.totalproject.entity.User;
-import com.kh.totalproject.exception.CustomHttpClientErrorException;
-import com.kh.totalproject.exception.CustomHttpServerErrorException;
-import com.kh.totalproject.exception.InvalidResponseBodyException;
-import com.kh.totalproject.exception.UnauthenticatedException;
+import com.kh.totalproject.exception.NotFoundException;
 import com.kh.totalproject.repository.CodeChallengeInfoRepository;
+import com.kh.totalproject.repository.CodeChallengeStatsRepository;
 import com.kh.totalproject.repository.CodeChallengeSubmissionRepository;
 import com.kh.totalproject.repository.UserRepository;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import io.github.cdimascio.dotenv.Dotenv;
 
-import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Transactional
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class CodeChallengeService {
-    // Java에서 멀티 스레드 환경에서 효율적으로 동작하도록 설계된 Map 인터페이스의 구현체
-    // 추후 빈에 등록 후 서비스를 쪼개서 사용하는 것도 고려 중 입니다
-    private final ConcurrentHashMap<String, SseEmitter> subscriptions = new ConcurrentHashMap<>();
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final String CONNECTED_MESSAGE = "Connection Established";
+
+    // 작업(jobId)별 SSE 구독 저장소 (유저별/전체 상한, 오래된 구독 자동 제거)
+    private final SseSubscriptionRegistry subscriptionRegistry;
+    // 콜백 요청 스레드에서 직접 전송하지 않고 emitter 별 대기열에 넣어 전용 스레드에서 전송
+    private final SseEventWriter sseEventWriter;
     private final UserRepository userRepository;
     private final CodeChallengeInfoRepository codeChallengeInfoRepository;
     private final CodeChallengeSubmissionRepository codeChallengeSubmissionRepository;
-
-    private final RestTemplate restTemplate;
-
-    private String FLASK_URL;
-    private String FLASK_X_API_KEY;
-    private String FLAKS_X_CLIENT_ID;
-
-    @PostConstruct
-    public void initVariables() throws IOException {
-        Dotenv dotenv = Dotenv.load();
-
-        FLASK_URL = dotenv.get("FLASK_URL");
-        FLASK_X_API_KEY = dotenv.get("FLASK_X_API_KEY");
-        FLAKS_X_CLIENT_ID = dotenv.get("FLASK_X_CLIENT_ID");
-
-        if (
-            FLASK_URL == null || FLASK_URL.isEmpty() ||
-            FLASK_X_API_KEY == null || FLASK_X_API_KEY.isEmpty() ||
-            FLAKS_X_CLIENT_ID == null || FLAKS_X_CLIENT_ID.isEmpty()
-        ){
-            throw new RuntimeException("FLASK_URL 환경변수가 설정되지 않았습니다.");
+    private final CodeChallengeStatsRepository codeChallengeStatsRepository;
+    private final CodeChallengeStatsService codeChallengeStatsService;
+    private final CodeChallengeSubmissionWriter codeChallengeSubmissionWriter;
+    private final CodeBlobService codeBlobService;
+    private final CodeBlobMigrationService codeBlobMigrationService;
+
+    // Flask 채점 서버 또는 내장 채점기 (code-challenge.judge.backend)
+    private final JudgeClient judgeClient;
+    // 같은 코드 재제출 시 Flask 를 호출하지 않고 이전 채점 결과를 재전송
+    private final JudgeVerdictCache judgeVerdictCache;
+    private final JudgeJobScheduler judgeJobScheduler;
+    // 재시작 후 진행 중인 작업의 구독을 복구할 수 있도록 작업 상태를 judge_job 에 기록
+    private final JudgeJobTracker judgeJobTracker;
+    // 캐시 결과 재전송 시 구독을 가진 인스턴스로 전달 (TestcaseEventRelay 가 이 서비스를 참조하므로 지연 조회)
+    private final ObjectProvider<TestcaseEventRelay> testcaseEventRelayProvider;
+
+    // Flask 요청은 JudgeClient 구현체에서 비동기로 처리하며, 응답을 기다리는 동안 요청 스레드를 점유하지 않음
+    public CompletableFuture<String> createJob(SubmitCodeRequest dto) {
+        if (judgeVerdictCache.isEnabled()) {
+            JudgeVerdictCache.Key key = verdictKey(dto.getQuestionId(), dto.getCodeLanguage(), dto.getCode());
+            String cachedJobId = key == null ? null : judgeVerdictCache.lookup(key, dto.getUserId());
+            if (cachedJobId != null) {
+                return CompletableFuture.completedFuture(cachedJobId);
+            }
         }
-    }
-
-    public String createJob(SubmitCodeRequest dto) {
-        Map<String, Object> flaskResponse = sendRequestToFlask(FLASK_URL + "/job/create", dto, HttpMethod.POST);
-        Map<String, Object> responseData = (Map<String, Object>) flaskResponse.get("data");
-
-        if (responseData.get("jobId") == null) {
-            throw new InvalidResponseBodyException("코딩 테스트 submit 요청에 대한 응답 본문에서 jobId를 가져올 수 없습니다.");
+        // fail-fast 작업은 처음 실패한 테스트 케이스까지만 채점하므로 재전송용 결과로 저장하지 않음
+        if (Boolean.TRUE.equals(dto.getFailFast())) {
+            return judgeClient.createJob(dto).thenApply(jobId -> {
+                judgeVerdictCache.exclude(jobId);
+                return jobId;
+            });
         }
-        return (String) responseData.get("jobId");
+        return judgeClient.createJob(dto);
     }
 
     public SendTestcaseResultStatus sendTestcaseResult(String jobId, TestcaseResult result) {
-        SseEmitter emitter = subscriptions.get(jobId);
+        // 구독 여부와 관계없이 Flask 채점 결과를 캐시용으로 기록
+        recordVerdict(result);
+        trackJob(jobId, result);
+
+        SseEmitter emitter = subscriptionRegistry.get(jobId);
 
         // 구독 중인 사용자가 없는 경우
         if (emitter == null) {
@@ -92,50 +102,25 @@ public class CodeChallengeService {
 
         // 사용자의 중단 요청에 대한 처리
         // 반환 값과 관계 없이 Celery Task는 자동 종료됨
-        else if (
-            result.getSuccess() &&
-            result.getDetail() != null &&
-            result.getDetail().contains("중단")
-        ) {
+        else if (isCancelled(result)) {
             removeSubscriptionAndSetEmitterComplete(jobId);
             return SendTestcaseResultStatus.SUCCESS;
         }
 
         // Task 실행 완료 처리
         // 반환 값과 관계 없이 Celery Task는 자동 종료됨
-        else if (
-            result.getDetail() != null &&
-            result.getDetail().contains("complete")
-        ) {
+        else if (isComplete(result)) {
             removeSubscriptionAndSetEmitterComplete(jobId);
 
-            User user = userRepository.findById(result.getUserId()).orElse(null);
-            CodeChallengeInfo codeChallengeInfo = codeChallengeInfoRepository.findById(result.getQuestionId()).orElse(null);
-            codeChallengeSubmissionRepository.save(
-                    CodeChallengeSubmission.builder()
-                        .user(user)
-                        .codeChallengeInfo(codeChallengeInfo)
-                        .code(result.getCode())
-                        .codeLanguage(result.getCodeLanguage())
-                        .success(result.getSuccess())
-                        .memoryUsage(result.getMemoryUsage())
-                        .runningTime(result.getRunningTime())
-                        .codeSize(result.getCodeSize())
-                        .submittedAt(result.getCreatedAt())
-                        .build()
-            );
+            // 유저/문제 조회 없이 대기열에 넣고 write-behind 저장기에서 일괄 저장
+            codeChallengeSubmissionWriter.submit(result);
             return SendTestcaseResultStatus.SUCCESS;
         }
 
         // Celery Task 실행 중 치명적 에러 발생
         // 반환 값과 관계 없이 Celery Task는 자동 종료됨
-        else if (
-            !result.getSuccess() &&
-            result.getError() != null &&
-            !result.getError().contains("런타임") &&
-            !result.getError().contains("컴파일")
-        ) {
-            sendSseMessage(
+        else if (isFatalError(result)) {
+            enqueueSseMessage(
                 jobId,
                 emitter,
                 "error " + result.getError(),
@@ -149,124 +134,291 @@ public class CodeChallengeService {
         // 테스트 케이스 메시지 전송
         // 반환 값에 따라 Celery Task에서 추가 작업 여부를 판단
         else {
-            Map<String, Object> data = new HashMap<>();
-            data.put("success", result.getSuccess());
-            data.put("runningTime", result.getRunningTime());
-            data.put("memoryUsage", result.getMemoryUsage());
-            data.put("codeSize", result.getCodeSize());
-            data.put("error", result.getError());
-            data.put("detail", result.getDetail());
-
-            return sendSseMessage(
-                jobId,
-                emitter,
-                data,
-                String.valueOf(result.getTestcaseIndex())
-            );
+            Map<String, Object> data = testcaseData(result);
+
+            // 재연결 시 재전송할 수 있도록 버퍼에 저장한 뒤 현재 연결된 emitter 로 전송
+            // 대기열에 넣은 직후 반환 (전송 중 연결 끊김은 다음 콜백에서 GONE 으로 처리)
+            String eventId = String.valueOf(result.getTestcaseIndex());
+            SendTestcaseResultStatus status = subscriptionRegistry.publish(jobId, eventId, data,
+                    current -> enqueueSseMessage(jobId, current, data, eventId));
+
+            // 연결이 끊긴 경우(대기열 초과 포함) 재연결 대기 시간 동안은 버퍼에만 쌓아두고 정상 처리
+            if (status == SendTestcaseResultStatus.GONE && subscriptionRegistry.detach(jobId, emitter)) {
+                return SendTestcaseResultStatus.SUCCESS;
+            }
+            return status;
         }
     }
 
-    public int executeJob(String jobId, Long userId) {
-        JobRequest request = JobRequest.builder()
-                .jobId(jobId)
-                .userId(userId)
-                .build();
-        Map<String, Object> flaskResponse = sendRequestToFlask(FLASK_URL + "/job/execute", request, HttpMethod.POST);
-        Map<String, Object> responseData = (Map<String, Object>) flaskResponse.get("data");
+    private static Map<String, Object> testcaseData(TestcaseResult result) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("success", result.getSuccess());
+        data.put("runningTime", result.getRunningTime());
+        data.put("memoryUsage", result.getMemoryUsage());
+        data.put("codeSize", result.getCodeSize());
+        data.put("error", result.getError());
+        data.put("detail", result.getDetail());
+        return data;
+    }
 
-        if (responseData.get("numOfTestcase") == null) {
-            throw new InvalidResponseBodyException("코딩 테스트 execute 요청에 대한 응답 본문에서 numOfTestcase를 가져올 수 없습니다.");
+    // 콜백 종류 (중복 콜백 판단에 사용, 판단 순서는 sendTestcaseResult 와 동일)
+    static String callbackKind(TestcaseResult result) {
+        if (isCancelled(result)) {
+            return "cancel";
+        } else if (isComplete(result)) {
+            return "complete";
+        } else if (isFatalError(result)) {
+            return "error";
         }
-        return (int) responseData.get("numOfTestcase");
+        return "testcase";
     }
 
-    public void cancelJob(String jobId, Long userId) {
-        JobRequest request = JobRequest.builder()
-                .jobId(jobId)
-                .userId(userId)
-                .build();
+    private static boolean isCancelled(TestcaseResult result) {
+        return Boolean.TRUE.equals(result.getSuccess()) &&
+                result.getDetail() != null &&
+                result.getDetail().contains("중단");
+    }
 
-        sendRequestToFlask(FLASK_URL + "/job/cancel", request, HttpMethod.POST);
+    private static boolean isComplete(TestcaseResult result) {
+        return result.getDetail() != null &&
+                result.getDetail().contains("complete");
     }
 
-    public void deleteJob(String jobId, Long userId) {
-        JobRequest request = JobRequest.builder()
-                .jobId(jobId)
-                .userId(userId)
-                .build();
-        sendRequestToFlask(FLASK_URL + "/job/delete", request, HttpMethod.DELETE);
+    private static boolean isFatalError(TestcaseResult result) {
+        return Boolean.FALSE.equals(result.getSuccess()) &&
+                result.getError() != null &&
+                !result.getError().contains("런타임") &&
+                !result.getError().contains("컴파일");
     }
 
-    public void addSubscription(String jobId, SseEmitter emitter) {
-        subscriptions.put(jobId, emitter);
+    // 중단/채점 서버 오류로 끝난 작업은 버리고, 완료된 작업의 결과만 저장
+    private void recordVerdict(TestcaseResult result) {
+        if (!judgeVerdictCache.isEnabled() || JudgeVerdictCache.isReplayJob(result.getJobId())) {
+            return;
+        }
+        if (isCancelled(result) || (!isComplete(result) && isFatalError(result))) {
+            judgeVerdictCache.discard(result.getJobId());
+        } else if (isComplete(result)) {
+            JudgeVerdictCache.Key key = verdictKey(result.getQuestionId(), result.getCodeLanguage(), result.getCode());
+            if (key == null) {
+                judgeVerdictCache.discard(result.getJobId());
+            } else {
+                judgeVerdictCache.complete(result, key);
+            }
+        } else {
+            judgeVerdictCache.record(result);
+        }
     }
 
-    public void removeSubscriptionAndSetEmitterComplete(String jobId) {
-        SseEmitter emitter = subscriptions.get(jobId);
-        if (emitter != null) {
-            try {
-                emitter.complete();
-            } catch (IllegalStateException e2) {
-                // 이미 complete 인 경우 또 complete 되어 발생하는 로그 제거
+    // 구독 여부와 관계없이 작업 상태를 갱신 (판단 순서는 sendTestcaseResult 와 동일)
+    private void trackJob(String jobId, TestcaseResult result) {
+        if (isCancelled(result)) {
+            judgeJobTracker.finish(jobId, JudgeJobStatus.CANCELLED);
+        } else if (isComplete(result)) {
+            judgeJobTracker.finish(jobId, JudgeJobStatus.COMPLETED);
+        } else if (isFatalError(result)) {
+            judgeJobTracker.finish(jobId, JudgeJobStatus.FAILED);
+        } else {
+            judgeJobTracker.recordTestcase(jobId, String.valueOf(result.getTestcaseIndex()), testcaseData(result));
+        }
+    }
+
+    // 문제의 메모리/시간 제한을 키에 포함하여 제한이 바뀌면 이전 결과를 사용하지 않음
+    @Nullable
+    private JudgeVerdictCache.Key verdictKey(Long questionId, Language codeLanguage, String code) {
+        if (questionId == null || codeLanguage == null || code == null) {
+            return null;
+        }
+        CodeChallengeInfo challengeInfo = codeChallengeInfoRepository.findById(questionId).orElse(null);
+        if (challengeInfo == null) {
+            return null;
+        }
+        try {
+            return JudgeVerdictCache.key(questionId, codeLanguage, code,
+                    challengeInfo.getMemoryLimit(), challengeInfo.getRunningTimeLimit());
+        } catch (IllegalArgumentException e) {
+            // Base64 가 아닌 코드는 캐시하지 않음
+            return null;
+        }
+    }
+
+    // admin : 관리자 제출은 대기열에서 우선 처리 (요청한 유저의 권한으로 컨트롤러에서 전달)
+    public CompletableFuture<Integer> executeJob(String jobId, Long userId, boolean admin) {
+        if (JudgeVerdictCache.isReplayJob(jobId)) {
+            List<TestcaseResult> results = judgeVerdictCache.takeReplay(jobId, userId);
+            if (results == null) {
+                return CompletableFuture.failedFuture(new NotFoundException("실행할 수 있는 작업이 존재하지 않습니다."));
             }
-            subscriptions.remove(jobId);
+            int numOfTestcase = replayVerdict(jobId, userId, results);
+            judgeJobTracker.executing(jobId, numOfTestcase);
+            return CompletableFuture.completedFuture(numOfTestcase);
+        }
+        // 우선순위 대기열을 거쳐 동시 채점 수 이내로 Flask 에 전달
+        return judgeJobScheduler.enqueue(jobId, userId, admin).thenApply(numOfTestcase -> {
+            judgeJobTracker.executing(jobId, numOfTestcase);
+            return numOfTestcase;
+        });
+    }
+
+    // 저장된 결과를 새 jobId 로 Flask 콜백과 같은 경로로 전달 (complete 결과로 제출 저장, 구독 종료)
+    private int replayVerdict(String jobId, Long userId, List<TestcaseResult> results) {
+        TestcaseEventRelay relay = testcaseEventRelayProvider.getObject();
+        int numOfTestcase = 0;
+        for (TestcaseResult cached : results) {
+            if (!isComplete(cached)) {
+                numOfTestcase++;
+            }
+            SendTestcaseResultStatus status = relay.deliver(TestcaseResult.builder()
+                    .userId(userId)
+                    .jobId(jobId)
+                    .questionId(cached.getQuestionId())
+                    .success(cached.getSuccess())
+                    .error(cached.getError())
+                    .detail(cached.getDetail())
+                    .testcaseIndex(cached.getTestcaseIndex())
+                    .memoryUsage(cached.getMemoryUsage())
+                    .runningTime(cached.getRunningTime())
+                    .code(cached.getCode())
+                    .codeLanguage(cached.getCodeLanguage())
+                    .codeSize(cached.getCodeSize())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            if (status == SendTestcaseResultStatus.CLIENT_NOT_FOUND || status == SendTestcaseResultStatus.ERROR) {
+                log.info("Stopped replaying cached verdict, jobId: {}, status: {}", jobId, status);
+                break;
+            }
+        }
+        return numOfTestcase;
+    }
+
+    // 캐시 결과 작업은 execute 시 모두 전송되므로 Flask 에 요청하지 않음
+    public CompletableFuture<Void> cancelJob(String jobId, Long userId) {
+        if (JudgeVerdictCache.isReplayJob(jobId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // 아직 대기열에 있는 작업은 실행된 적이 없으므로 Flask 작업을 삭제하고 구독 종료
+        if (judgeJobScheduler.cancel(jobId)) {
+            judgeJobTracker.finish(jobId, JudgeJobStatus.CANCELLED);
+            removeSubscriptionAndSetEmitterComplete(jobId);
+            return judgeClient.deleteJob(jobId, userId);
+        }
+        return judgeClient.cancelJob(jobId, userId);
+    }
+
+    public CompletableFuture<Void> deleteJob(String jobId, Long userId) {
+        if (JudgeVerdictCache.isReplayJob(jobId)) {
+            return CompletableFuture.completedFuture(null);
         }
+        return judgeClient.deleteJob(jobId, userId);
+    }
+
+    public void addSubscription(String jobId, Long userId, SseEmitter emitter) {
+        subscriptionRegistry.register(jobId, userId, emitter);
+    }
+
+    // 새로 생성된 작업 기록 (submit 시)
+    public void trackCreatedJob(String jobId, Long userId, Long questionId) {
+        judgeJobTracker.created(jobId, userId, questionId);
+    }
+
+    // 재시작 등으로 이 인스턴스에 구독이 없는 진행 중인 작업의 구독을 judge_job 기록에서 복구
+    public boolean restoreSubscription(String jobId) {
+        return judgeJobTracker.restore(jobId);
+    }
+
+    public void removeSubscriptionAndSetEmitterComplete(String jobId) {
+        subscriptionRegistry.remove(jobId);
     }
 
     public SseEmitter getEmitter(String jobId) {
-        return subscriptions.get(jobId);
+        return subscriptionRegistry.get(jobId);
+    }
+
+    public boolean markSubscribed(String jobId) {
+        return subscriptionRegistry.markSubscribed(jobId);
+    }
+
+    // 처음 구독한 경우 실시간 이벤트와 같은 전송 대기열로 연결 메시지 전송
+    public void sendConnectedMessage(String jobId, SseEmitter emitter) {
+        enqueueSseMessage(jobId, emitter, CONNECTED_MESSAGE, null);
+    }
+
+    // 재연결 시 연결 메시지와 끊긴 동안 보내지 못한 이벤트를 새 emitter 의 전송 대기열에 넣은 뒤 구독을 교체
+    // 교체 전에 대기열에 넣으므로 이후 도착한 콜백의 이벤트가 재전송 이벤트를 앞지르지 않음, 구독이 없으면 false
+    public boolean reattachSubscription(String jobId, SseEmitter emitter, @Nullable Integer lastEventId) {
+        return subscriptionRegistry.reattach(jobId, emitter, lastEventId, missedEvents -> {
+            enqueueSseMessage(jobId, emitter, CONNECTED_MESSAGE, null);
+            for (SseSubscriptionRegistry.ReplayEvent event : missedEvents) {
+                enqueueSseMessage(jobId, emitter, event.data(), event.id());
+            }
+        }) != null;
     }
 
-    public SendTestcaseResultStatus sendSseMessage(
+    public void detachSubscription(String jobId, SseEmitter emitter) {
+        subscriptionRegistry.detach(jobId, emitter);
+    }
+
+    public void removeSubscriptionIfCurrent(String jobId, SseEmitter emitter) {
+        subscriptionRegistry.removeIfCurrent(jobId, emitter);
+    }
+
+    // 전송 대기열에 넣고 바로 반환, 대기열이 가득 찬 경우 GONE
+    // 전송 중 연결이 끊기면 재연결 대기 상태로, 기타 오류 발생 시 구독 제거
+    public SendTestcaseResultStatus enqueueSseMessage(
         String jobId,
         SseEmitter emitter,
         Object data,
         @Nullable String id
     ) {
-        try {
-            if (id == null) {
-                emitter.send(SseEmitter.event().data(data));
+        SseEmitter.SseEventBuilder event = id == null ?
+                SseEmitter.event().data(data) : SseEmitter.event().id(id).data(data);
+        return sseEventWriter.send(emitter, event, failure -> {
+            if (failure == SendTestcaseResultStatus.GONE) {
+                subscriptionRegistry.detach(jobId, emitter);
             } else {
-                emitter.send(SseEmitter.event()
-                        .id(id)
-                        .data(data)
-                );
+                subscriptionRegistry.removeIfCurrent(jobId, emitter);
             }
-            return SendTestcaseResultStatus.SUCCESS;
-        } catch (IOException e) {
-            // 클라이언트와의 SSE 연결이 모종의 이유(이탈, 네트워크 장애)로 끊어져
-            // 메시지를 send 할 수 없는 경우 처리
-            return SendTestcaseResultStatus.GONE;
-        } catch (Exception e) {
-            // 기타 예외 처리
-            log.warn("Unexpected error occurred while sending event for jobId: {}", jobId, e);
-            removeSubscriptionAndSetEmitterComplete(jobId);
-            return SendTestcaseResultStatus.ERROR;
-        }
+        });
     }
 
     public CodeChallengeInfo getChallengeInfo(Long questionId) {
         return codeChallengeInfoRepository.findById(questionId).orElse(null);
     }
 
-    public List<CodeChallengeSubmission> getSubmissionHistory(Long userId, CodeChallengeInfo challengeInfo) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) { throw new UnauthenticatedException(); }
-
-        return codeChallengeSubmissionRepository.findByCodeChallengeInfoAndUser(challengeInfo, user);
+    // 제출 이력 요약을 최신순으로 커서 페이지 조회 (questionId 가 null 이면 전체 문제)
+    // 다음 페이지 존재 여부 확인을 위해 size + 1 건을 조회
+    public SubmissionHistoryResponse getSubmissionHistory(Long userId, @Nullable Long questionId, @Nullable Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<SubmissionSummaryResponse> submissions = questionId == null ?
+                codeChallengeSubmissionRepository.findSummariesByUser(userId, cursor, pageable) :
+                codeChallengeSubmissionRepository.findSummariesByUserAndQuestion(userId, questionId, cursor, pageable);
+
+        boolean hasNext = submissions.size() > pageSize;
+        if (hasNext) {
+            submissions = submissions.subList(0, pageSize);
+        }
+        return SubmissionHistoryResponse.builder()
+                .submissions(submissions)
+                .nextCursor(hasNext ? submissions.get(pageSize - 1).getSubmissionId() : null)
+                .hasNext(hasNext)
+                .build();
     }
 
-    public List<CodeChallengeSubmission> getAllSubmissionHistory(Long userId) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) { throw new UnauthenticatedException(); }
-
-        return codeChallengeSubmissionRepository.findByUser(user);
+    // 본인 제출이 아니거나 존재하지 않으면 null
+    public String getSubmissionCode(Long userId, Long submissionId) {
+        // 마이그레이션 전에 저장된 제출은 code_hash 가 비어 있으므로 code 컬럼에서 조회
+        return codeChallengeSubmissionRepository.findCodeHashBySubmissionIdAndUserKey(submissionId, userId)
+                .map(hash -> hash.isEmpty() ? codeBlobMigrationService.loadInlineCode(submissionId) : codeBlobService.load(hash))
+                .orElse(null);
     }
 
     public ChallengeDetailResponse getChallengeDetail(CodeChallengeInfo challengeInfo, Long userId) {
         User user = userId == null ? null : userRepository.findById(userId).orElse(null);
         CodeChallengeSubmission submission = user != null ? codeChallengeSubmissionRepository.findFirstByCodeChallengeInfoAndUserOrderBySubmittedAtDesc(challengeInfo, user).orElse(null) : null;
 
+        CodeChallengeStats stats = codeChallengeStatsService.getStats(challengeInfo.getQuestionId());
+
         log.info("challenge info : {}", challengeInfo);
         log.info("submission : {}", submission);
 
@@ -277,62 +429,39 @@ public class CodeChallengeService {
                 .difficulty(challengeInfo.getDifficulty())
                 .memoryLimit(challengeInfo.getMemoryLimit())
                 .runningTimeLimit(challengeInfo.getRunningTimeLimit())
-                .lastSubmittedCode(submission == null ? null : submission.getCode())
+                .lastSubmittedCode(submission == null ? null : codeBlobService.load(submission.getCodeHash()))
+                .submissionCount(stats.getSubmissionCnt())
+                .passingRate(stats.getPassingRate())
+                .solverCount(stats.getSolverCnt())
+                .runningTimeP50(stats.getRunningTimeP50())
+                .runningTimeP90(stats.getRunningTimeP90())
+                .memoryUsageP50(stats.getMemoryUsageP50())
+                .memoryUsageP90(stats.getMemoryUsageP90())
                 .build();
     }
 
     public List<ChallengeMetaResponse> getChallengeMetaList(ChallengeDifficulty difficulty, Long userId) {
-        List<CodeChallengeInfo> codeChallengeInfoList = codeChallengeInfoRepository.findByDifficulty(difficulty);
+        // 제출 테이블을 집계하지 않고 challenge_stats 에서 문제 수 만큼의 행만 조회
+        List<Object[]> challengeMetaList = codeChallengeStatsRepository.findInfoAndStatsByDifficulty(difficulty);
+        Set<Long> passedQuestionIds = userId == null ? Set.of() :
+                new HashSet<>(codeChallengeSubmissionRepository.findPassedQuestionIds(userId, difficulty));
         List<ChallengeMetaResponse> response = new ArrayList<>();
 
-        for (var challengeInfo: codeChallengeInfoList) {
-            int totalSubmissionCount = codeChallengeSubmissionRepository.countByCodeChallengeInfoAndSuccess(challengeInfo, true);
-            int challengePassCount = codeChallengeSubmissionRepository.countByCodeChallengeInfo(challengeInfo);
-
-            User user = userId == null ? null : userRepository.findById(userId).orElse(null);
-            Boolean passedBefore = user == null ? null : codeChallengeSubmissionRepository.countByCodeChallengeInfoAndUser(challengeInfo, user) >= 1;
+        for (Object[] challengeMeta : challengeMetaList) {
+            CodeChallengeInfo challengeInfo = (CodeChallengeInfo) challengeMeta[0];
+            CodeChallengeStats stats = (CodeChallengeStats) challengeMeta[1];
             response.add(
                 ChallengeMetaResponse.builder()
                     .questionId(challengeInfo.getQuestionId())
                     .title(challengeInfo.getTitle())
                     .category(challengeInfo.getCategory())
                     .difficulty(challengeInfo.getDifficulty())
-                    .passingRate(totalSubmissionCount == 0 ? 0.0f :
-                            Math.round((challengePassCount / (float) totalSubmissionCount) * 1000) / 10.0f)
-                    .passedBefore(passedBefore)
+                    .passingRate(stats == null ? 0.0f : stats.getPassingRate())
+                    .passedBefore(userId == null ? null : passedQuestionIds.contains(challengeInfo.getQuestionId()))
                     .build()
             );
         }
 
         return response;
     }
-
-    private Map<String, Object> sendRequestToFlask(String url, Object body, HttpMethod method) {
-        // HTTP Header 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Content-Type", "application/json");
-        headers.set("X-Api-Key", FLASK_X_API_KEY);
-        headers.set("X-Client-Id", FLAKS_X_CLIENT_ID);
-
-        // HttpEntity에 DTO와 Header 추가
-        HttpEntity<Object> requestEntity;
-        if (body == null) requestEntity = new HttpEntity<>(headers);
-        else requestEntity = new HttpEntity<>(body, headers);
-
-        try {
-            ResponseEntity<Map> flaskResponse = restTemplate.exchange(url, method, requestEntity, Map.class);
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", flaskResponse.getStatusCode().value());
-            response.put("data", flaskResponse.getBody()); // data는 최소 null 값 보장
-            return response;
-        }
-        catch (HttpClientErrorException e) {
-            // 4xx 응답 처리
-            throw new CustomHttpClientErrorException(e, url);
-        }
-        catch (HttpServerErrorException e) {
-            // 5xx 응답 처리
-            throw new CustomHttpServerErrorException(e, url);
-        }
-    }
 }
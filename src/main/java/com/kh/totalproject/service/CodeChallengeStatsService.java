@@ -0,0 +1,117 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.entity.CodeChallengeInfo;
+import com.kh.totalproject.entity.CodeChallengeStats;
+import com.kh.totalproject.entity.CodeChallengeSubmission;
+import com.kh.totalproject.repository.CodeChallengeInfoRepository;
+import com.kh.totalproject.repository.CodeChallengeStatsRepository;
+import com.kh.totalproject.repository.CodeChallengeSubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// 문제별 제출 통계(challenge_stats) 관리
+// 제출이 저장될 때마다 해당 문제의 통계 행만 갱신하고,
+// 기존 제출 데이터 반영(backfill)은 code-challenge.rebuild-stats=true 로 기동하여 전체 재계산
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CodeChallengeStatsService {
+    private final CodeChallengeStatsRepository codeChallengeStatsRepository;
+    private final CodeChallengeInfoRepository codeChallengeInfoRepository;
+    private final CodeChallengeSubmissionRepository codeChallengeSubmissionRepository;
+
+    @Value("${code-challenge.rebuild-stats:false}")
+    private boolean rebuildEnabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildEnabled) {
+            rebuildStats();
+        }
+    }
+
+    // 저장 전의 제출 목록을 문제별 통계에 누적 (CodeChallengeSubmissionWriter 에서 INSERT 직전에 같은 트랜잭션으로 호출)
+    // 통과 이력은 제출 목록에 포함된 (문제, 유저) 쌍만 한번에 조회하고, 문제별 통계 행은 문제 번호 순으로 잠가 교착을 방지
+    public void recordSubmissions(List<CodeChallengeSubmission> submissions) {
+        Map<Long, List<CodeChallengeSubmission>> byQuestion = new TreeMap<>();
+        Set<Long> passedQuestionIds = new HashSet<>();
+        Set<Long> passedUserKeys = new HashSet<>();
+        for (CodeChallengeSubmission submission : submissions) {
+            if (submission.getCodeChallengeInfo() == null) {
+                continue;
+            }
+            Long questionId = submission.getCodeChallengeInfo().getQuestionId();
+            byQuestion.computeIfAbsent(questionId, id -> new ArrayList<>()).add(submission);
+            if (Boolean.TRUE.equals(submission.getSuccess()) && submission.getUser() != null) {
+                passedQuestionIds.add(questionId);
+                passedUserKeys.add(submission.getUser().getUserKey());
+            }
+        }
+
+        Set<List<Long>> solvers = new HashSet<>();
+        if (!passedQuestionIds.isEmpty()) {
+            for (Object[] row : codeChallengeSubmissionRepository.findPassedPairs(passedQuestionIds, passedUserKeys)) {
+                solvers.add(List.of((Long) row[0], (Long) row[1]));
+            }
+        }
+
+        List<CodeChallengeStats> updated = new ArrayList<>(byQuestion.size());
+        byQuestion.forEach((questionId, questionSubmissions) -> {
+            codeChallengeStatsRepository.insertIfAbsent(questionId);
+            CodeChallengeStats stats = codeChallengeStatsRepository.findByIdForUpdate(questionId).orElseThrow();
+            for (CodeChallengeSubmission submission : questionSubmissions) {
+                boolean success = Boolean.TRUE.equals(submission.getSuccess());
+                boolean newSolver = success && submission.getUser() != null &&
+                        solvers.add(List.of(questionId, submission.getUser().getUserKey()));
+                stats.addSubmission(success, newSolver, submission.getRunningTime(), submission.getMemoryUsage());
+            }
+            updated.add(stats);
+        });
+        codeChallengeStatsRepository.saveAll(updated);
+    }
+
+    public CodeChallengeStats getStats(Long questionId) {
+        return codeChallengeStatsRepository.findById(questionId)
+                .orElseGet(() -> new CodeChallengeStats(questionId));
+    }
+
+    // 전체 제출을 제출 순서대로 다시 누적하여 통계를 새로 생성
+    public int rebuildStats() {
+        long start = System.currentTimeMillis();
+        Map<Long, CodeChallengeStats> statsMap = new HashMap<>();
+        Map<Long, Set<Long>> solvers = new HashMap<>();
+        for (CodeChallengeInfo challengeInfo : codeChallengeInfoRepository.findAll()) {
+            statsMap.put(challengeInfo.getQuestionId(), new CodeChallengeStats(challengeInfo.getQuestionId()));
+        }
+
+        try (Stream<Object[]> submissions = codeChallengeSubmissionRepository.streamAllForStats()) {
+            submissions.forEach(row -> {
+                Long questionId = (Long) row[0];
+                boolean success = Boolean.TRUE.equals(row[2]);
+                boolean newSolver = success && solvers.computeIfAbsent(questionId, id -> new HashSet<>()).add((Long) row[1]);
+                statsMap.computeIfAbsent(questionId, CodeChallengeStats::new)
+                        .addSubmission(success, newSolver, (Integer) row[3], (Float) row[4]);
+            });
+        }
+
+        codeChallengeStatsRepository.deleteAllInBatch();
+        codeChallengeStatsRepository.saveAll(statsMap.values());
+        log.info("문제별 제출 통계 재계산 완료 : {}문제, {}ms", statsMap.size(), System.currentTimeMillis() - start);
+        return statsMap.size();
+    }
+}
@@ -0,0 +1,244 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.entity.CodeChallengeInfo;
+import com.kh.totalproject.entity.CodeChallengeSubmission;
+import com.kh.totalproject.entity.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채점이 완료된 제출을 모아 일괄 저장하는 write-behind 저장기입니다.
+ * Flask 완료 콜백은 대기열에 넣은 직후 반환하고, 전용 스레드가 batch-size 개가 모이거나 flush-interval-ms 가 지나면
+ * 한 트랜잭션에서 문제별 통계를 갱신한 뒤 JDBC batch INSERT 로 저장합니다.
+ * 코드 본문은 CodeBlobService 로 압축/중복 제거하여 저장하고 제출 행에는 해시만 기록합니다.
+ * 유저와 문제는 getReference 로 참조만 만들어 조회 쿼리 없이 id 로 저장합니다.
+ * submission_id 가 IDENTITY 전략이라 Hibernate 의 JDBC batch 가 적용되지 않으므로 INSERT 는 JdbcTemplate 으로 실행합니다.
+ * 같은 jobId 의 제출(재시도된 complete 콜백)은 통계 갱신 전에 걸러내고, 동시에 저장되는 경우는 job_id UNIQUE 제약으로 무시합니다.
+ * 종료 시에는 대기열에 남은 제출을 모두 저장한 뒤 종료합니다. (비정상 종료 시 대기열의 제출은 유실)
+ */
+@Slf4j
+@Service
+public class CodeChallengeSubmissionWriter {
+    private static final String INSERT_SQL = "INSERT INTO code_challenge_submission (job_id, user_id, question_id, code_hash, code_language, " +
+            "success, memory_usage, running_time, code_size, submitted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE submission_id = submission_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CodeChallengeStatsService codeChallengeStatsService;
+    private final CodeBlobService codeBlobService;
+    private final BlockingQueue<TestcaseResult> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Timer flushTimer;
+    private final Thread flushThread;
+    private volatile boolean running = true;
+
+    public CodeChallengeSubmissionWriter(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        CodeChallengeStatsService codeChallengeStatsService,
+        CodeBlobService codeBlobService,
+        MeterRegistry meterRegistry,
+        @Value("${code-challenge.submission-writer.batch-size:500}") int batchSize,
+        @Value("${code-challenge.submission-writer.flush-interval-ms:200}") long flushIntervalMs,
+        @Value("${code-challenge.submission-writer.queue-capacity:100000}") int queueCapacity
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.codeChallengeStatsService = codeChallengeStatsService;
+        this.codeBlobService = codeBlobService;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        Gauge.builder("code_challenge.submission_writer.pending", queue, BlockingQueue::size)
+                .description("저장 대기 중인 제출 수")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("code_challenge.submission_writer.flush")
+                .description("제출 일괄 저장 소요 시간")
+                .register(meterRegistry);
+        flushThread = new Thread(this::run, "submission-writer");
+        flushThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        flushThread.start();
+    }
+
+    // 대기열이 가득 찬 경우 호출한 스레드에서 바로 저장
+    public void submit(TestcaseResult result) {
+        if (result.getUserId() == null || result.getQuestionId() == null) {
+            log.warn("Dropping completed submission without userId or questionId, jobId: {}", result.getJobId());
+            return;
+        }
+        if (!running || !queue.offer(result)) {
+            flush(List.of(result));
+        }
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    // 대기열이 빌 때까지 저장한 뒤 종료 (DataSource 보다 먼저 종료됨)
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flushThread.interrupt();
+        flushThread.join(TimeUnit.SECONDS.toMillis(30));
+        List<TestcaseResult> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    private void run() {
+        List<TestcaseResult> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TestcaseResult first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 제출이 들어온 후 flush-interval 이 지나거나 batch-size 가 채워질 때까지 모음
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    TestcaseResult next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 종료 요청 : 모은 제출을 저장한 뒤 남은 대기열은 shutdown 에서 처리
+                queue.drainTo(batch, batchSize - batch.size());
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<TestcaseResult> results) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(results));
+        } catch (Exception e) {
+            // 한 건의 오류(삭제된 문제 등)로 나머지 제출까지 유실되지 않도록 건별로 다시 저장
+            log.warn("Batch insert of {} submissions failed, retrying one by one: {}", results.size(), e.getMessage());
+            if (results.size() > 1) {
+                for (TestcaseResult result : results) {
+                    flush(List.of(result));
+                }
+            } else {
+                log.error("Failed to save completed submission, jobId: {}", results.get(0).getJobId(), e);
+            }
+            return;
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void write(List<TestcaseResult> batch) {
+        List<TestcaseResult> results = withoutSavedJobs(batch);
+        if (results.isEmpty()) {
+            return;
+        }
+        // 같은 트랜잭션에서 코드 본문을 먼저 저장 (중복 코드는 해시만 참조)
+        Map<String, String> codeHashes = codeBlobService.storeAll(results.stream()
+                .map(TestcaseResult::getCode)
+                .toList());
+        List<CodeChallengeSubmission> submissions = new ArrayList<>(results.size());
+        for (TestcaseResult result : results) {
+            submissions.add(
+                CodeChallengeSubmission.builder()
+                    .jobId(result.getJobId())
+                    .user(entityManager.getReference(User.class, result.getUserId()))
+                    .codeChallengeInfo(entityManager.getReference(CodeChallengeInfo.class, result.getQuestionId()))
+                    .codeHash(codeHashes.get(result.getCode()))
+                    .codeLanguage(result.getCodeLanguage())
+                    .success(result.getSuccess())
+                    .memoryUsage(result.getMemoryUsage())
+                    .runningTime(result.getRunningTime())
+                    .codeSize(result.getCodeSize())
+                    .submittedAt(result.getCreatedAt())
+                    .build()
+            );
+        }
+
+        // 통과 이력 판단이 이번 제출을 포함하지 않도록 통계를 먼저 갱신
+        codeChallengeStatsService.recordSubmissions(submissions);
+        jdbcTemplate.batchUpdate(INSERT_SQL, submissions, batchSize, (ps, submission) -> {
+            ps.setString(1, submission.getJobId());
+            ps.setLong(2, submission.getUser().getUserKey());
+            ps.setLong(3, submission.getCodeChallengeInfo().getQuestionId());
+            ps.setString(4, submission.getCodeHash());
+            ps.setString(5, submission.getCodeLanguage() == null ? null : submission.getCodeLanguage().name());
+            ps.setObject(6, submission.getSuccess());
+            ps.setObject(7, submission.getMemoryUsage());
+            ps.setObject(8, submission.getRunningTime());
+            ps.setObject(9, submission.getCodeSize());
+            ps.setTimestamp(10, submission.getSubmittedAt() == null ? null : Timestamp.valueOf(submission.getSubmittedAt()));
+        });
+    }
+
+    // 일괄 저장 안에서 중복된 jobId 와 이미 저장된 jobId 의 제출 제외 (통계가 두번 집계되지 않도록)
+    private List<TestcaseResult> withoutSavedJobs(List<TestcaseResult> batch) {
+        Map<String, TestcaseResult> byJobId = new LinkedHashMap<>();
+        List<TestcaseResult> results = new ArrayList<>(batch.size());
+        for (TestcaseResult result : batch) {
+            if (result.getJobId() == null) {
+                results.add(result);
+            } else {
+                byJobId.putIfAbsent(result.getJobId(), result);
+            }
+        }
+        if (byJobId.isEmpty()) {
+            return results;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(byJobId.size(), "?"));
+        List<String> savedJobIds = jdbcTemplate.queryForList(
+                "SELECT job_id FROM code_challenge_submission WHERE job_id IN (" + placeholders + ")",
+                String.class, byJobId.keySet().toArray());
+        if (!savedJobIds.isEmpty()) {
+            log.info("Skipping {} already saved submissions, jobIds: {}", savedJobIds.size(), savedJobIds);
+            savedJobIds.forEach(byJobId::remove);
+        }
+        results.addAll(byJobId.values());
+        return results;
+    }
+}
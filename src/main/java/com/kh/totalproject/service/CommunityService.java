@@ -49,6 +49,7 @@ public class CommunityService {
     private final BoardRepository boardRepository;
     private final CommentRepository commentRepository;
     private final BoardReactionRepository boardReactionRepository;
+    private final BoardResponseMapper boardResponseMapper;
     private final JwtUtil jwtUtil;
     private final CustomBoardRepository customBoardRepository;
 
@@ -158,18 +159,12 @@ public class CommunityService {
             case TEAM -> boardRequest.toModifyTeamPost(user, (TeamBoard) existingBoard);
         };
 
-        // 기존의 좋아요/싫어요/조회수 카운트를 유지
-        updatedBoard.setCommentCnt(existingBoard.getCommentCnt());
-        updatedBoard.setLikeCnt(existingBoard.getLikeCnt());
-        updatedBoard.setDislikeCnt(existingBoard.getDislikeCnt());
+        // 기존의 조회수 유지 (댓글/좋아요/싫어요 수는 updatable = false 컬럼이므로 수정 시 저장되지 않음)
         updatedBoard.setViewCnt(existingBoard.getViewCnt());
 
         // 기존의 BoardReaction 엔티티를 수정된 게시글에 반영
         updatedBoard.setBoardReactions(new ArrayList<>(existingBoard.getBoardReactions()));  // List 타입으로 변환
 
-        // 반응 상태를 갱신
-        updateLikeDislikeCounts(updatedBoard);
-
         return updatedBoard;
     }
 
@@ -336,23 +331,47 @@ public class CommunityService {
             Page<Object[]> resultPage = customBoardRepository.findAllWithDynamicFilters(type, statusEnum, sortBy, order, enumFilter, search, pageable);
 
             // Object[]를 BoardResponse 로 변환
-            List<BoardResponse> boardResponses = resultPage.getContent().stream()
-                    .map(objects -> {
-                        Board board = (Board) objects[0];  // Board 엔티티
-                        int commentCnt = ((Long) objects[1]).intValue();  // 댓글 개수
-                        int likeCnt = ((Long) objects[2]).intValue();  // 좋아요 개수
-                        int dislikeCnt = ((Integer) objects[3]).intValue();  // 조회수 개수
-
-                        return BoardResponse.of(board, commentCnt, likeCnt, dislikeCnt);  // BoardResponse 반환
-                    })
-                    .collect(Collectors.toList());
-            return new PageImpl<>(boardResponses, pageable, resultPage.getTotalElements());
+            return resultPage.map(this::toBoardResponse);
         } catch (BadRequestException e) {
             System.err.println("게시글 조회 실패: " + e.getMessage());
             return Page.empty();
         }
     }
 
+    // 전체 개수가 필요 없는 목록 조회 (무한 스크롤 등), COUNT 쿼리 없이 다음 페이지 존재 여부만 반환
+    public Slice<BoardResponse> listSliceByBoardTypeWithSort(int page, int size, String boardType,
+                                                             String sortBy, String order,
+                                                             String status, String enumFilter, String search) {
+        try {
+            if (sortBy == null || sortBy.isEmpty()) {
+                sortBy = "createdAt";
+            }
+            if (order == null || order.isEmpty()) {
+                order = "DESC";
+            }
+            BoardType type = BoardType.fromString(boardType);
+
+            Pageable pageable = PageRequest.of(page - 1, size);
+            Status statusEnum = (status != null && !status.isEmpty()) ? Status.valueOf(status.toUpperCase()) : null;
+
+            Slice<Object[]> resultSlice = customBoardRepository.findSliceWithDynamicFilters(type, statusEnum, sortBy, order, enumFilter, search, pageable);
+            return resultSlice.map(this::toBoardResponse);
+        } catch (BadRequestException e) {
+            System.err.println("게시글 조회 실패: " + e.getMessage());
+            return new SliceImpl<>(List.of());
+        }
+    }
+
+    // 목록 조회 결과 Object[] (Board, 댓글 개수, 좋아요 개수, 싫어요 개수) 를 BoardResponse 로 변환
+    private BoardResponse toBoardResponse(Object[] objects) {
+        Board board = (Board) objects[0];  // Board 엔티티
+        int commentCnt = ((Number) objects[1]).intValue();  // 댓글 개수
+        int likeCnt = objects[2] == null ? 0 : ((Number) objects[2]).intValue();  // 좋아요 개수
+        int dislikeCnt = objects[3] == null ? 0 : ((Number) objects[3]).intValue();  // 싫어요 개수
+
+        return BoardResponse.of(board, commentCnt, likeCnt, dislikeCnt);  // BoardResponse 반환
+    }
+
 
     // 단순 조회수 올리기 서비스
     public Boolean listOneByIdCheck(long id) {
@@ -368,8 +387,8 @@ public class CommunityService {
         Board board = boardRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("해당 글을 찾을 수 없습니다."));
 
-        // 댓글 수 및 작성자 글 수 가져오기
-        int commentCnt = commentRepository.countByBoardId(id);
+        // 댓글 수(카운트 컬럼) 및 작성자 글 수 가져오기
+        int commentCnt = board.getCommentCnt();
         int postCntByUser = (int) boardRepository.countByUserUserKey(board.getUser().getUserKey());
 
         // 게시판 타입에 따라 적절한 응답 생성
@@ -437,6 +456,7 @@ public class CommunityService {
                     .orElseThrow(() -> new NotFoundException("해당 게시글을 찾을 수 없습니다 "));
             Comment comment = commentRequest.toAddComment(user, board);
             commentRepository.save(comment);
+            boardRepository.updateCommentCnt(board.getId(), 1);
             return true;
         } catch (BadRequestException e) {
             System.err.println("댓글 생성 실패: " + e.getMessage());
@@ -485,6 +505,9 @@ public class CommunityService {
             }
 
             commentRepository.deleteById(id);
+            if (comment.getBoard() != null) {
+                boardRepository.updateCommentCnt(comment.getBoard().getId(), -1);
+            }
             return true;
         } catch (BadRequestException e) {
             System.err.println("댓글 삭제 실패: " + e.getMessage());
@@ -500,14 +523,21 @@ public class CommunityService {
 
         Optional<BoardReaction> existingReaction = boardReactionRepository.findByBoardAndUser(board, user);
 
+        // 게시글의 좋아요/싫어요 수 증감값
+        int likeDelta = 0;
+        int dislikeDelta = 0;
+
         if (existingReaction.isPresent()) {
             BoardReaction reaction = existingReaction.get();
             if (reaction.getReaction() == reactionType) {
                 // 같은 반응을 다시 누르면 반응 삭제
                 boardReactionRepository.delete(reaction);
-                board.getBoardReactions().remove(reaction);
+                likeDelta -= reactionType == Reaction.LIKE ? 1 : 0;
+                dislikeDelta -= reactionType == Reaction.DISLIKE ? 1 : 0;
             } else {
                 // 다른 반응을 클릭한 경우 (예: 좋아요 -> 싫어요)
+                likeDelta += (reactionType == Reaction.LIKE ? 1 : 0) - (reaction.getReaction() == Reaction.LIKE ? 1 : 0);
+                dislikeDelta += (reactionType == Reaction.DISLIKE ? 1 : 0) - (reaction.getReaction() == Reaction.DISLIKE ? 1 : 0);
                 reaction.setReaction(reactionType);
                 boardReactionRepository.save(reaction);  // 반응 수정
             }
@@ -518,27 +548,13 @@ public class CommunityService {
                     .user(user)
                     .reaction(reactionType)
                     .build();
-            board.getBoardReactions().add(newReaction);
             boardReactionRepository.save(newReaction);  // 새 반응 저장
+            likeDelta += reactionType == Reaction.LIKE ? 1 : 0;
+            dislikeDelta += reactionType == Reaction.DISLIKE ? 1 : 0;
         }
 
-        // 좋아요/싫어요 수 갱신
-        updateLikeDislikeCounts(board);  // 이 부분에서 중복 호출을 방지하려면
-        // 반응을 수정한 후에 다시 카운트를 업데이트해야 합니다.
-
-        // 게시글 상태를 반영
-        boardRepository.save(board);  // 반영된 결과를 DB에 저장
-    }
-
-    // 좋아요/싫어요 수 갱신
-    private void updateLikeDislikeCounts(Board board) {
-        // 좋아요와 싫어요 카운트를 갱신
-        int likeCount = (int) board.getBoardReactions().stream().filter(reaction -> reaction.getReaction() == Reaction.LIKE).count();
-        int dislikeCount = (int) board.getBoardReactions().stream().filter(reaction -> reaction.getReaction() == Reaction.DISLIKE).count();
-
-        // 게시글의 좋아요/싫어요 수 업데이트
-        board.setLikeCnt(likeCount);
-        board.setDislikeCnt(dislikeCount);
+        // 좋아요/싫어요 수 갱신 (반응 컬렉션을 불러오지 않고 카운트 컬럼만 증감)
+        boardRepository.updateReactionCnt(board.getId(), likeDelta, dislikeDelta);
     }
 
 
@@ -549,7 +565,9 @@ public class CommunityService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("해당 유저를 찾을 수 없습니다."));
 
-        Reaction userReaction = board.getUserReaction(user);
+        Reaction userReaction = boardReactionRepository.findByBoardAndUser(board, user)
+                .map(BoardReaction::getReaction)
+                .orElse(Reaction.NONE);
         int likeCnt = board.getLikeCnt();
         int dislikeCnt = board.getDislikeCnt();
 
@@ -612,13 +630,8 @@ public class CommunityService {
             Page<Board> boards = boardRepository.findByUserKey(user.getUserKey(), pageable);
 
 
-            // 게시글 목록과 관련된 정보(commentCnt, likeCnt, dislikeCnt)를 가져와서 변환
-            return boards.map(board -> {
-                int commentCnt = commentRepository.countCommentsByBoardId(board.getId());
-                int likeCnt = boardReactionRepository.countLikesByBoardId(board.getId());
-                int dislikeCnt = boardReactionRepository.countDislikesByBoardId(board.getId());
-                return BoardResponse.ofPost(board, commentCnt, likeCnt, dislikeCnt);
-            });
+            // 게시글 목록과 관련된 정보(commentCnt, likeCnt, dislikeCnt)를 페이지 단위로 묶어서 가져와 변환
+            return boardResponseMapper.mapToPostResponses(boards);
         } catch (BadRequestException e) {
             System.err.println("목록 불러오기 실패: " + e.getMessage());
         }
@@ -40,7 +40,8 @@ public class CustomUserDetailService implements UserDetailsService {
                 user.getNickname(),
                 user.getUserKey(),
                 user.getPassword(), // 비밀번호 포함
-                Collections.singleton(new SimpleGrantedAuthority(user.getRole().toString()))
+                Collections.singleton(new SimpleGrantedAuthority(user.getRole().toString())),
+                user.getTokenVersion()
         );
     }
 }
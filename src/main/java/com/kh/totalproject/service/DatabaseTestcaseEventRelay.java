@@ -0,0 +1,179 @@
+package com.kh.totalproject.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.entity.SseJobOwner;
+import com.kh.totalproject.entity.SseRelayEvent;
+import com.kh.totalproject.repository.SseJobOwnerRepository;
+import com.kh.totalproject.repository.SseRelayEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 여러 인스턴스 운영 시 사용하는 DB 폴링 방식의 중계 구현체입니다.
+ * 구독을 등록한 인스턴스는 sse_job_owner 에 자신의 nodeId 를 기록하고,
+ * 콜백을 받은 인스턴스는 구독이 자신에게 없으면 sse_relay_event 에 결과를 저장합니다.
+ * 각 인스턴스는 relay-poll-ms 주기로 자신에게 온 결과를 조회하여 SSE 로 전송한 뒤 삭제합니다.
+ * 별도 메시지 브로커 없이 공유 MySQL 만으로 동작하며, 전달 지연은 최대 폴링 주기만큼 늘어납니다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "code-challenge.sse.relay", havingValue = "database")
+public class DatabaseTestcaseEventRelay implements TestcaseEventRelay {
+    private final CodeChallengeService codeChallengeService;
+    private final SseJobOwnerRepository sseJobOwnerRepository;
+    private final SseRelayEventRepository sseRelayEventRepository;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+    private final int pollBatchSize;
+    private final long maxAgeMs;
+
+    public DatabaseTestcaseEventRelay(
+        CodeChallengeService codeChallengeService,
+        SseJobOwnerRepository sseJobOwnerRepository,
+        SseRelayEventRepository sseRelayEventRepository,
+        ObjectMapper objectMapper,
+        @Value("${code-challenge.sse.node-id:}") String nodeId,
+        @Value("${code-challenge.sse.relay-poll-batch-size:100}") int pollBatchSize,
+        @Value("${code-challenge.sse.max-age-ms:180000}") long maxAgeMs
+    ) {
+        this.codeChallengeService = codeChallengeService;
+        this.sseJobOwnerRepository = sseJobOwnerRepository;
+        this.sseRelayEventRepository = sseRelayEventRepository;
+        this.objectMapper = objectMapper;
+        // 설정하지 않은 경우 기동할 때마다 새로 생성 (재시작 전 구독은 어차피 모두 끊어짐)
+        this.nodeId = nodeId == null || nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId;
+        this.pollBatchSize = pollBatchSize;
+        this.maxAgeMs = maxAgeMs;
+        log.info("SSE 중계 인스턴스 id : {}", this.nodeId);
+    }
+
+    @Override
+    public void claim(String jobId, Long userId) {
+        sseJobOwnerRepository.save(SseJobOwner.builder()
+                .jobId(jobId)
+                .nodeId(nodeId)
+                .userId(userId)
+                .claimedAt(LocalDateTime.now())
+                .build());
+    }
+
+    // 여러 인스턴스가 같은 judge_job 을 복구하더라도 기록이 없는 작업은 먼저 기록한 인스턴스만 가져감
+    // node-id 를 설정하지 않으면 재시작 후 이전 기록을 이 인스턴스의 것으로 알 수 없으므로, 기록이 만료(max-age-ms)된 뒤에만 복구
+    @Override
+    public boolean reclaim(String jobId, Long userId) {
+        if (sseJobOwnerRepository.insertIfAbsent(jobId, nodeId, userId, LocalDateTime.now()) > 0) {
+            return true;
+        }
+        SseJobOwner owner = sseJobOwnerRepository.findById(jobId).orElse(null);
+        if (owner == null || !owner.getNodeId().equals(nodeId)) {
+            return false;
+        }
+        claim(jobId, userId);
+        return true;
+    }
+
+    @Override
+    public SendTestcaseResultStatus deliver(TestcaseResult result) {
+        String jobId = result.getJobId();
+        if (codeChallengeService.getEmitter(jobId) != null) {
+            return codeChallengeService.sendTestcaseResult(jobId, result);
+        }
+
+        SseJobOwner owner = sseJobOwnerRepository.findById(jobId).orElse(null);
+        if (owner == null) {
+            return SendTestcaseResultStatus.CLIENT_NOT_FOUND;
+        }
+        // 이 인스턴스에 기록되어 있지만 구독이 이미 제거된 경우
+        if (owner.getNodeId().equals(nodeId)) {
+            sseJobOwnerRepository.deleteByJobIdsAndNodeId(List.of(jobId), nodeId);
+            return SendTestcaseResultStatus.CLIENT_NOT_FOUND;
+        }
+
+        try {
+            sseRelayEventRepository.save(SseRelayEvent.builder()
+                    .nodeId(owner.getNodeId())
+                    .jobId(jobId)
+                    .payload(objectMapper.writeValueAsString(result))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize testcase result for jobId: {}", jobId, e);
+            return SendTestcaseResultStatus.ERROR;
+        }
+        return SendTestcaseResultStatus.SUCCESS;
+    }
+
+    @Override
+    public Optional<Long> takeOver(String jobId) {
+        SseJobOwner owner = sseJobOwnerRepository.findById(jobId).orElse(null);
+        if (owner == null || sseJobOwnerRepository.transfer(jobId, nodeId, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        log.info("SSE 구독을 {} 에서 이 인스턴스로 이동, jobId : {}", owner.getNodeId(), jobId);
+        return Optional.ofNullable(owner.getUserId());
+    }
+
+    // 다른 인스턴스가 전달한 결과를 도착 순서대로 SSE 로 전송
+    @Scheduled(fixedDelayString = "${code-challenge.sse.relay-poll-ms:200}")
+    public void poll() {
+        List<SseRelayEvent> events = sseRelayEventRepository.findPendingByNodeId(nodeId, PageRequest.of(0, pollBatchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+        sseRelayEventRepository.deleteAllInBatch(events);
+
+        List<String> releasedJobIds = new ArrayList<>();
+        for (SseRelayEvent event : events) {
+            SendTestcaseResultStatus status;
+            try {
+                TestcaseResult result = objectMapper.readValue(event.getPayload(), TestcaseResult.class);
+                status = codeChallengeService.sendTestcaseResult(event.getJobId(), result);
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to deserialize relayed testcase result for jobId: {}", event.getJobId(), e);
+                continue;
+            }
+            // 전송할 수 없는 작업은 이후 콜백이 CLIENT_NOT_FOUND 를 받도록 기록 삭제
+            if (status != SendTestcaseResultStatus.SUCCESS) {
+                releasedJobIds.add(event.getJobId());
+            }
+        }
+        if (!releasedJobIds.isEmpty()) {
+            sseJobOwnerRepository.deleteByJobIdsAndNodeId(releasedJobIds, nodeId);
+        }
+    }
+
+    // 이 인스턴스에서 제거된 구독의 기록과, 종료된 인스턴스가 남긴 기록 및 전달되지 못한 결과 삭제
+    @Scheduled(fixedDelayString = "${code-challenge.sse.reap-interval-ms:10000}")
+    public void cleanUp() {
+        List<String> removedJobIds = sseJobOwnerRepository.findJobIdsByNodeId(nodeId).stream()
+                .filter(jobId -> codeChallengeService.getEmitter(jobId) == null)
+                .toList();
+        if (!removedJobIds.isEmpty()) {
+            sseJobOwnerRepository.deleteByJobIdsAndNodeId(removedJobIds, nodeId);
+        }
+
+        LocalDateTime threshold = LocalDateTime.now().minus(Duration.ofMillis(maxAgeMs));
+        sseJobOwnerRepository.deleteClaimedBefore(threshold);
+        sseRelayEventRepository.deleteCreatedBefore(threshold);
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        sseJobOwnerRepository.deleteByNodeId(nodeId);
+    }
+}
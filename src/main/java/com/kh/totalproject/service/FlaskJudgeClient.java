@@ -0,0 +1,220 @@
+package com.kh.totalproject.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.dto.flask.request.JobRequest;
+import com.kh.totalproject.dto.request.SubmitCodeRequest;
+import com.kh.totalproject.exception.CustomHttpClientErrorException;
+import com.kh.totalproject.exception.CustomHttpServerErrorException;
+import com.kh.totalproject.exception.InvalidResponseBodyException;
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Flask 채점 서버와 통신하는 비동기 클라이언트입니다.
+ * JDK HttpClient 하나를 재사용하여 keep-alive 커넥션을 풀링하고, 연결/응답 타임아웃을 설정값으로 관리합니다.
+ * 모든 요청은 CompletableFuture 를 반환하므로 호출한 요청 스레드는 Flask 응답을 기다리지 않습니다.
+ * 4xx/5xx 응답은 기존 RestTemplate 사용 시와 동일하게 CustomHttpClientErrorException / CustomHttpServerErrorException 으로,
+ * 연결 실패 및 타임아웃은 ResourceAccessException 으로 변환되어 GlobalExceptionHandler 에서 처리됩니다.
+ * 모든 요청은 JudgeCircuitBreaker 를 거치므로 Flask 장애 시에는 요청을 보내지 않고 JudgeUnavailableException(503) 으로 실패합니다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "code-challenge.judge.backend", havingValue = "flask", matchIfMissing = true)
+public class FlaskJudgeClient implements JudgeClient {
+    private static final TypeReference<Map<String, Object>> RESPONSE_TYPE = new TypeReference<>() {};
+
+    private final String flaskUrl;
+    private final String apiKey;
+    private final String clientId;
+    private final Duration readTimeout;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final JudgeCircuitBreaker circuitBreaker;
+
+    @Autowired
+    public FlaskJudgeClient(
+        ObjectMapper objectMapper,
+        JudgeCircuitBreaker circuitBreaker,
+        @Value("${flask.connect-timeout-ms:3000}") long connectTimeoutMs,
+        @Value("${flask.read-timeout-ms:10000}") long readTimeoutMs,
+        @Value("${flask.client-threads:4}") int clientThreads
+    ) {
+        this(Dotenv.load(), objectMapper, circuitBreaker, Duration.ofMillis(connectTimeoutMs), Duration.ofMillis(readTimeoutMs), clientThreads);
+    }
+
+    private FlaskJudgeClient(Dotenv dotenv, ObjectMapper objectMapper, JudgeCircuitBreaker circuitBreaker,
+                             Duration connectTimeout, Duration readTimeout, int clientThreads) {
+        this(dotenv.get("FLASK_URL"), dotenv.get("FLASK_X_API_KEY"), dotenv.get("FLASK_X_CLIENT_ID"),
+                objectMapper, circuitBreaker, connectTimeout, readTimeout, clientThreads);
+    }
+
+    public FlaskJudgeClient(
+        String flaskUrl,
+        String apiKey,
+        String clientId,
+        ObjectMapper objectMapper,
+        Duration connectTimeout,
+        Duration readTimeout,
+        int clientThreads
+    ) {
+        this(flaskUrl, apiKey, clientId, objectMapper, JudgeCircuitBreaker.disabled(), connectTimeout, readTimeout, clientThreads);
+    }
+
+    public FlaskJudgeClient(
+        String flaskUrl,
+        String apiKey,
+        String clientId,
+        ObjectMapper objectMapper,
+        JudgeCircuitBreaker circuitBreaker,
+        Duration connectTimeout,
+        Duration readTimeout,
+        int clientThreads
+    ) {
+        if (
+            flaskUrl == null || flaskUrl.isEmpty() ||
+            apiKey == null || apiKey.isEmpty() ||
+            clientId == null || clientId.isEmpty()
+        ) {
+            throw new RuntimeException("FLASK_URL 환경변수가 설정되지 않았습니다.");
+        }
+
+        this.flaskUrl = flaskUrl;
+        this.apiKey = apiKey;
+        this.clientId = clientId;
+        this.readTimeout = readTimeout;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        // 응답 처리(역직렬화, 후속 작업)를 공용 ForkJoinPool 이 아닌 전용 스레드에서 수행
+        this.executor = Executors.newFixedThreadPool(clientThreads);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<String> createJob(SubmitCodeRequest dto) {
+        return sendRequest("/job/create", dto, "POST")
+                .thenApply(responseData -> {
+                    if (responseData == null || responseData.get("jobId") == null) {
+                        throw new InvalidResponseBodyException("코딩 테스트 submit 요청에 대한 응답 본문에서 jobId를 가져올 수 없습니다.");
+                    }
+                    return (String) responseData.get("jobId");
+                });
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeJob(String jobId, Long userId) {
+        return sendRequest("/job/execute", toJobRequest(jobId, userId), "POST")
+                .thenApply(responseData -> {
+                    if (responseData == null || responseData.get("numOfTestcase") == null) {
+                        throw new InvalidResponseBodyException("코딩 테스트 execute 요청에 대한 응답 본문에서 numOfTestcase를 가져올 수 없습니다.");
+                    }
+                    return ((Number) responseData.get("numOfTestcase")).intValue();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> cancelJob(String jobId, Long userId) {
+        return sendRequest("/job/cancel", toJobRequest(jobId, userId), "POST")
+                .thenAccept(responseData -> {});
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteJob(String jobId, Long userId) {
+        return sendRequest("/job/delete", toJobRequest(jobId, userId), "DELETE")
+                .thenAccept(responseData -> {});
+    }
+
+    private JobRequest toJobRequest(String jobId, Long userId) {
+        return JobRequest.builder()
+                .jobId(jobId)
+                .userId(userId)
+                .build();
+    }
+
+    private CompletableFuture<Map<String, Object>> sendRequest(String path, Object body, String method) {
+        String url = flaskUrl + path;
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(readTimeout)
+                    .header("Content-Type", "application/json")
+                    .header("X-Api-Key", apiKey)
+                    .header("X-Client-Id", clientId)
+                    .method(method, body == null ? HttpRequest.BodyPublishers.noBody() :
+                            HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return circuitBreaker.execute(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        // 연결 실패, 타임아웃 등 Flask 응답을 받지 못한 경우
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        throw new CompletionException(new ResourceAccessException(
+                                "Flask 요청에 실패하였습니다. url: " + url, cause instanceof IOException io ? io : new IOException(cause)));
+                    }
+                    return toResponseData(url, response);
+                }));
+    }
+
+    private Map<String, Object> toResponseData(String url, HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status >= 400) {
+            HttpHeaders headers = new HttpHeaders();
+            response.headers().map().forEach(headers::addAll);
+            if (status < 500) {
+                // 4xx 응답 처리
+                throw new CustomHttpClientErrorException(HttpClientErrorException.create(
+                        HttpStatusCode.valueOf(status), "", headers, response.body(), StandardCharsets.UTF_8), url);
+            }
+            // 5xx 응답 처리
+            throw new CustomHttpServerErrorException(HttpServerErrorException.create(
+                    HttpStatusCode.valueOf(status), "", headers, response.body(), StandardCharsets.UTF_8), url);
+        }
+
+        if (response.body() == null || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.body(), RESPONSE_TYPE);
+        } catch (IOException e) {
+            throw new InvalidResponseBodyException("Flask 응답 본문을 해석할 수 없습니다. url: " + url);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.exception.CustomHttpServerErrorException;
+import com.kh.totalproject.exception.JudgeUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Flask 채점 서버 요청을 감싸는 서킷 브레이커와 벌크헤드입니다.
+ * 벌크헤드는 동시에 진행 중인 Flask 요청 수를 max-concurrent-calls 로 제한하고, 초과한 요청은 기다리지 않고 바로 거부합니다.
+ * 서킷 브레이커는 최근 window-size 개 요청 중 실패(연결 실패, 타임아웃, 5xx, slow-call-ms 초과) 비율이
+ * failure-rate-threshold(%) 이상이면 열려(OPEN) open-ms 동안 Flask 를 호출하지 않고 바로 503 으로 응답합니다.
+ * open-ms 가 지나면 half-open-probes 개의 요청만 보내 확인하고(HALF_OPEN), 모두 성공하면 닫히고 하나라도 실패하면 다시 열립니다.
+ * 4xx 응답은 요청 자체의 문제이므로 실패로 집계하지 않습니다.
+ */
+@Slf4j
+@Component
+public class JudgeCircuitBreaker {
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final boolean enabled;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final int minCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    // 최근 요청 결과 (true 는 실패), 잠금은 this 로
+    private final boolean[] outcomes;
+    private int nextOutcome;
+    private int recordedCalls;
+    private int failedCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+    // 상태가 바뀔 때마다 증가 (이전 half-open 기간에 보낸 확인 요청의 결과는 무시)
+    private long generation;
+
+    private final Counter openRejections;
+    private final Counter bulkheadRejections;
+
+    public JudgeCircuitBreaker(
+        MeterRegistry meterRegistry,
+        @Value("${flask.circuit-breaker.enabled:true}") boolean enabled,
+        @Value("${flask.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls,
+        @Value("${flask.circuit-breaker.window-size:20}") int windowSize,
+        @Value("${flask.circuit-breaker.min-calls:10}") int minCalls,
+        @Value("${flask.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+        @Value("${flask.circuit-breaker.slow-call-ms:5000}") long slowCallMs,
+        @Value("${flask.circuit-breaker.open-ms:10000}") long openMs,
+        @Value("${flask.circuit-breaker.half-open-probes:3}") int halfOpenProbes
+    ) {
+        this.enabled = enabled;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+
+        Gauge.builder("code_challenge.judge.circuit_state", this, breaker -> breaker.state().ordinal())
+                .description("Flask 채점 서버 서킷 브레이커 상태 (0 : CLOSED, 1 : HALF_OPEN, 2 : OPEN)")
+                .register(meterRegistry);
+        Gauge.builder("code_challenge.judge.bulkhead.in_use", this, JudgeCircuitBreaker::inFlight)
+                .description("진행 중인 Flask 요청 수")
+                .register(meterRegistry);
+        openRejections = rejectionCounter(meterRegistry, "circuit_open");
+        bulkheadRejections = rejectionCounter(meterRegistry, "bulkhead_full");
+    }
+
+    // 서킷 브레이커 없이 요청하는 클라이언트용 (동시 요청 수 제한도 없음)
+    public static JudgeCircuitBreaker disabled() {
+        return new JudgeCircuitBreaker(new SimpleMeterRegistry(), false, 1, 1, 1, 100, 0, 0, 1);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("code_challenge.judge.rejections")
+                .description("서킷 브레이커/벌크헤드로 Flask 를 호출하지 않고 거부한 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // 요청이 허용되지 않으면 Flask 를 호출하지 않고 JudgeUnavailableException 으로 실패한 Future 반환
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+        long probe;
+        try {
+            probe = acquirePermission();
+        } catch (JudgeUnavailableException e) {
+            openRejections.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!bulkhead.tryAcquire()) {
+            releaseProbe(probe);
+            bulkheadRejections.increment();
+            return CompletableFuture.failedFuture(new JudgeUnavailableException(
+                    "채점 서버에 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.", 1, state().name()));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((result, ex) -> {
+            bulkhead.release();
+            onResult(probe, isFailure(ex) || System.nanoTime() - start > slowCallNanos);
+        });
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public int inFlight() {
+        return enabled ? maxConcurrentCalls - bulkhead.availablePermits() : 0;
+    }
+
+    // 연결 실패, 타임아웃, 5xx 만 채점 서버 장애로 판단
+    private static boolean isFailure(Throwable ex) {
+        if (ex == null) {
+            return false;
+        }
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof ResourceAccessException || cause instanceof CustomHttpServerErrorException;
+    }
+
+    // half-open 확인 요청이면 해당 기간의 generation, 일반 요청이면 -1, 허용되지 않으면 예외
+    private synchronized long acquirePermission() {
+        long now = System.nanoTime();
+        if (state == State.OPEN) {
+            long remaining = openNanos - (now - openedAt);
+            if (remaining > 0) {
+                throw new JudgeUnavailableException("채점 서버가 응답하지 않아 일시적으로 채점 요청을 받지 않습니다. 잠시 후 다시 시도해 주세요.",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999)), state.name());
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                throw new JudgeUnavailableException("채점 서버 상태를 확인하는 중입니다. 잠시 후 다시 시도해 주세요.", 1, state.name());
+            }
+            probesInFlight++;
+            return generation;
+        }
+        return -1;
+    }
+
+    private synchronized void releaseProbe(long probe) {
+        if (probe >= 0 && probe == generation && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    private synchronized void onResult(long probe, boolean failed) {
+        if (probe >= 0) {
+            if (probe != generation) {
+                return;
+            }
+            probesInFlight--;
+            if (failed) {
+                transitionTo(State.OPEN);
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        // 열리기 전에 보낸 요청의 결과는 집계하지 않음
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recordedCalls == outcomes.length && outcomes[nextOutcome]) {
+            failedCalls--;
+        }
+        outcomes[nextOutcome] = failed;
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+        recordedCalls = Math.min(recordedCalls + 1, outcomes.length);
+        if (failed) {
+            failedCalls++;
+        }
+        if (recordedCalls >= minCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State next) {
+        log.info("Flask judge circuit breaker {} -> {} (failures: {}/{})", state, next, failedCalls, recordedCalls);
+        state = next;
+        generation++;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next == State.CLOSED) {
+            nextOutcome = 0;
+            recordedCalls = 0;
+            failedCalls = 0;
+        }
+    }
+}
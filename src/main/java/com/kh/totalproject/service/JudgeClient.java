@@ -0,0 +1,22 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.dto.request.SubmitCodeRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 채점 작업을 생성/실행/중단/삭제하는 채점 백엔드입니다.
+ * 테스트 케이스 결과는 요청의 응답이 아니라 콜백(CodeChallengeService.sendTestcaseResult)으로 전달됩니다.
+ * code-challenge.judge.backend 설정으로 구현체를 선택합니다. (flask : Flask/Celery 채점 서버, local : 내장 Java 채점기)
+ */
+public interface JudgeClient {
+    // 생성한 작업의 jobId
+    CompletableFuture<String> createJob(SubmitCodeRequest dto);
+
+    // 실행할 테스트 케이스 수
+    CompletableFuture<Integer> executeJob(String jobId, Long userId);
+
+    CompletableFuture<Void> cancelJob(String jobId, Long userId);
+
+    CompletableFuture<Void> deleteJob(String jobId, Long userId);
+}
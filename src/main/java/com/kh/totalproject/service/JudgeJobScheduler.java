@@ -0,0 +1,396 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.ChallengeDifficulty;
+import com.kh.totalproject.exception.CustomHttpServerErrorException;
+import com.kh.totalproject.exception.JudgeUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Flask 채점 실행(/job/execute) 요청 앞단의 우선순위 대기열입니다.
+ * 실행 요청은 대기열(최대 capacity 개)에 넣고, 동시에 채점 중인 작업이 max-concurrent 개 미만일 때 우선순위 순으로 Flask 에 전달합니다.
+ * 우선순위는 대기열에 들어온 시각에 난이도별 지연 시간을 더하고 관리자/재시도 작업은 앞당긴 값으로 정하므로,
+ * 쉬운 문제가 먼저 처리되면서도 오래 기다린 작업이 계속 밀리지 않습니다.
+ * 채점 중인 작업은 SSE 구독이 제거(완료, 중단, 만료)될 때 반환되며, Flask 연결 실패/5xx 응답은 max-retries 번까지 앞당겨 다시 대기합니다.
+ * 대기 중인 클라이언트에게는 position-update-ms 마다 바뀐 대기 순번을 "queue" 이벤트로 전송합니다.
+ * 인스턴스별 대기열이며, 다른 인스턴스가 구독을 가진 작업은 running-timeout-ms 후 반환됩니다.
+ */
+@Slf4j
+@Component
+public class JudgeJobScheduler {
+    private static final Comparator<QueuedJob> ORDER = Comparator.comparingLong((QueuedJob job) -> job.priorityKey)
+            .thenComparingLong(job -> job.sequence);
+
+    private final BiFunction<String, Long, CompletableFuture<Integer>> dispatcher;
+    private final SseSubscriptionRegistry subscriptionRegistry;
+    private final SseEventWriter sseEventWriter;
+    private final Map<ChallengeDifficulty, Long> difficultyDelayNanos = new EnumMap<>(ChallengeDifficulty.class);
+    private final long adminAdvanceNanos;
+    private final long retryAdvanceNanos;
+    private final int capacity;
+    private final int maxConcurrent;
+    private final int maxRetries;
+    private final long maxWaitNanos;
+    private final long runningTimeoutNanos;
+
+    // waiting, waitingByJobId, running, sequence 는 lock 으로 보호
+    private final Object lock = new Object();
+    private final PriorityQueue<QueuedJob> waiting = new PriorityQueue<>(ORDER);
+    private final Map<String, QueuedJob> waitingByJobId = new HashMap<>();
+    // 채점 중인 작업의 Flask 전달 시각
+    private final Map<String, Long> running = new HashMap<>();
+    private long sequence;
+    // submit 시 기록한 작업별 문제 난이도
+    private final ConcurrentHashMap<String, ChallengeDifficulty> difficulties = new ConcurrentHashMap<>();
+
+    private final Timer waitTime;
+    private final Counter fullRejections;
+    private final Counter timeoutRejections;
+    private final Counter retries;
+
+    @Autowired
+    public JudgeJobScheduler(
+        JudgeClient judgeClient,
+        SseSubscriptionRegistry subscriptionRegistry,
+        SseEventWriter sseEventWriter,
+        MeterRegistry meterRegistry,
+        Environment environment,
+        @Value("${code-challenge.job-queue.admin-advance-ms:5000}") long adminAdvanceMs,
+        @Value("${code-challenge.job-queue.retry-advance-ms:10000}") long retryAdvanceMs,
+        @Value("${code-challenge.job-queue.capacity:1000}") int capacity,
+        @Value("${code-challenge.job-queue.max-concurrent:8}") int maxConcurrent,
+        @Value("${code-challenge.job-queue.max-retries:1}") int maxRetries,
+        @Value("${code-challenge.job-queue.max-wait-ms:25000}") long maxWaitMs,
+        @Value("${code-challenge.job-queue.running-timeout-ms:180000}") long runningTimeoutMs
+    ) {
+        this(judgeClient::executeJob, subscriptionRegistry, sseEventWriter, meterRegistry, difficultyDelaysFrom(environment),
+                adminAdvanceMs, retryAdvanceMs, capacity, maxConcurrent, maxRetries, maxWaitMs, runningTimeoutMs);
+    }
+
+    public JudgeJobScheduler(
+        BiFunction<String, Long, CompletableFuture<Integer>> dispatcher,
+        SseSubscriptionRegistry subscriptionRegistry,
+        SseEventWriter sseEventWriter,
+        MeterRegistry meterRegistry,
+        Map<ChallengeDifficulty, Long> difficultyDelayMs,
+        long adminAdvanceMs,
+        long retryAdvanceMs,
+        int capacity,
+        int maxConcurrent,
+        int maxRetries,
+        long maxWaitMs,
+        long runningTimeoutMs
+    ) {
+        this.dispatcher = dispatcher;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.sseEventWriter = sseEventWriter;
+        difficultyDelayMs.forEach((difficulty, delayMs) -> difficultyDelayNanos.put(difficulty, TimeUnit.MILLISECONDS.toNanos(delayMs)));
+        this.adminAdvanceNanos = TimeUnit.MILLISECONDS.toNanos(adminAdvanceMs);
+        this.retryAdvanceNanos = TimeUnit.MILLISECONDS.toNanos(retryAdvanceMs);
+        this.capacity = capacity;
+        this.maxConcurrent = maxConcurrent;
+        this.maxRetries = maxRetries;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.runningTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(runningTimeoutMs);
+
+        Gauge.builder("code_challenge.job_queue.depth", this, JudgeJobScheduler::waitingCount)
+                .description("Flask 전달을 기다리는 채점 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("code_challenge.job_queue.running", this, JudgeJobScheduler::runningCount)
+                .description("Flask 에 전달되어 채점 중인 작업 수")
+                .register(meterRegistry);
+        waitTime = Timer.builder("code_challenge.job_queue.wait")
+                .description("채점 작업이 대기열에서 기다린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        fullRejections = rejectionCounter(meterRegistry, "full");
+        timeoutRejections = rejectionCounter(meterRegistry, "timeout");
+        retries = Counter.builder("code_challenge.job_queue.retries")
+                .description("Flask 전달 실패 후 다시 대기열에 넣은 작업 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("code_challenge.job_queue.rejections")
+                .description("대기열에서 거부된 채점 작업 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // code-challenge.job-queue.delay-ms.{난이도}
+    private static Map<ChallengeDifficulty, Long> difficultyDelaysFrom(Environment environment) {
+        Map<ChallengeDifficulty, Long> delays = new EnumMap<>(ChallengeDifficulty.class);
+        for (ChallengeDifficulty difficulty : ChallengeDifficulty.values()) {
+            delays.put(difficulty, environment.getProperty(
+                    "code-challenge.job-queue.delay-ms." + difficulty.name().toLowerCase(), Long.class, 0L));
+        }
+        return delays;
+    }
+
+    @PostConstruct
+    public void start() {
+        subscriptionRegistry.addRemovalListener(this::onSubscriptionRemoved);
+    }
+
+    // 종료 시 대기 중인 작업은 실패 처리 (클라이언트가 다시 요청)
+    @PreDestroy
+    public void shutdown() {
+        List<QueuedJob> dropped;
+        synchronized (lock) {
+            dropped = new ArrayList<>(waiting);
+            waiting.clear();
+            waitingByJobId.clear();
+        }
+        dropped.forEach(job -> job.future.completeExceptionally(
+                new JudgeUnavailableException("서버가 종료되어 채점 요청을 처리할 수 없습니다.", 1)));
+    }
+
+    // submit 시 문제 난이도 기록 (execute 요청에는 문제 정보가 없음)
+    public void describe(String jobId, ChallengeDifficulty difficulty) {
+        if (difficulty != null) {
+            difficulties.put(jobId, difficulty);
+        }
+    }
+
+    // Flask 에 전달되어 응답을 받으면 완료되는 테스트 케이스 수
+    public CompletableFuture<Integer> enqueue(String jobId, Long userId, boolean admin) {
+        long now = System.nanoTime();
+        ChallengeDifficulty difficulty = difficulties.get(jobId);
+        long priorityKey = now + (difficulty == null ? 0 : difficultyDelayNanos.getOrDefault(difficulty, 0L))
+                - (admin ? adminAdvanceNanos : 0);
+        QueuedJob job;
+        boolean alreadyRunning;
+        synchronized (lock) {
+            QueuedJob queued = waitingByJobId.get(jobId);
+            if (queued != null) {
+                // 같은 작업의 중복 실행 요청은 같은 결과를 기다림
+                return queued.future;
+            }
+            alreadyRunning = running.containsKey(jobId);
+            if (alreadyRunning) {
+                job = null;
+            } else {
+                if (waiting.size() >= capacity) {
+                    fullRejections.increment();
+                    return CompletableFuture.failedFuture(new JudgeUnavailableException(
+                            "채점 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.", retryAfterSeconds()));
+                }
+                job = new QueuedJob(jobId, userId, now, priorityKey, sequence++, 0, new CompletableFuture<>());
+                waiting.add(job);
+                waitingByJobId.put(jobId, job);
+            }
+        }
+        if (alreadyRunning) {
+            // 이미 채점 중인 작업의 실행 요청은 Flask 에서 판단
+            return dispatcher.apply(jobId, userId);
+        }
+        dispatchAvailable();
+        return job.future;
+    }
+
+    public int waitingCount() {
+        synchronized (lock) {
+            return waiting.size();
+        }
+    }
+
+    public int runningCount() {
+        synchronized (lock) {
+            return running.size();
+        }
+    }
+
+    // 대기 시간 초과 작업 실패 처리, 오래된 채점 작업 반환, 바뀐 대기 순번 전송
+    @Scheduled(fixedDelayString = "${code-challenge.job-queue.position-update-ms:1000}")
+    public void publishPositions() {
+        long now = System.nanoTime();
+        List<QueuedJob> expired = new ArrayList<>();
+        List<QueuedJob> snapshot;
+        boolean freed;
+        synchronized (lock) {
+            Iterator<QueuedJob> iterator = waiting.iterator();
+            while (iterator.hasNext()) {
+                QueuedJob job = iterator.next();
+                if (now - job.enqueuedAt > maxWaitNanos) {
+                    iterator.remove();
+                    waitingByJobId.remove(job.jobId);
+                    expired.add(job);
+                }
+            }
+            freed = running.values().removeIf(dispatchedAt -> now - dispatchedAt > runningTimeoutNanos);
+            snapshot = new ArrayList<>(waiting);
+        }
+
+        for (QueuedJob job : expired) {
+            timeoutRejections.increment();
+            job.future.completeExceptionally(new JudgeUnavailableException(
+                    "채점 대기 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요.", retryAfterSeconds()));
+        }
+        if (freed) {
+            dispatchAvailable();
+        }
+
+        snapshot.sort(ORDER);
+        for (int i = 0; i < snapshot.size(); i++) {
+            QueuedJob job = snapshot.get(i);
+            int position = i + 1;
+            if (job.notifiedPosition != position) {
+                job.notifiedPosition = position;
+                sendPosition(job.jobId, position, snapshot.size());
+            }
+        }
+    }
+
+    private void dispatchAvailable() {
+        List<QueuedJob> dispatched = new ArrayList<>();
+        synchronized (lock) {
+            while (running.size() < maxConcurrent && !waiting.isEmpty()) {
+                QueuedJob job = waiting.poll();
+                waitingByJobId.remove(job.jobId);
+                running.put(job.jobId, System.nanoTime());
+                dispatched.add(job);
+            }
+        }
+        dispatched.forEach(this::dispatch);
+    }
+
+    private void dispatch(QueuedJob job) {
+        waitTime.record(System.nanoTime() - job.enqueuedAt, TimeUnit.NANOSECONDS);
+        sendPosition(job.jobId, 0, 0);
+
+        CompletableFuture<Integer> response;
+        try {
+            response = dispatcher.apply(job.jobId, job.userId);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((numOfTestcase, ex) -> {
+            if (ex == null) {
+                job.future.complete(numOfTestcase);
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            // Flask 연결 실패/5xx 는 앞당겨 다시 대기, 그 외(4xx 등)는 바로 실패
+            boolean retry = job.retries < maxRetries &&
+                    (cause instanceof ResourceAccessException || cause instanceof CustomHttpServerErrorException);
+            if (retry) {
+                retries.increment();
+                requeue(job);
+                dispatchAvailable();
+            } else {
+                job.future.completeExceptionally(cause);
+                release(job.jobId);
+            }
+        });
+    }
+
+    // 재시도 작업은 원래 우선순위에서 retry-advance-ms 만큼 앞당김 (대기열 상한과 관계없이 넣음)
+    // 대기 시간 초과(max-wait-ms)는 다시 대기한 시각부터 계산 (처음 대기 시각 기준이면 Flask 응답을 기다린 시간 때문에 바로 만료됨)
+    private void requeue(QueuedJob job) {
+        QueuedJob retried = new QueuedJob(job.jobId, job.userId, System.nanoTime(), job.priorityKey - retryAdvanceNanos,
+                job.sequence, job.retries + 1, job.future);
+        synchronized (lock) {
+            running.remove(job.jobId);
+            waiting.add(retried);
+            waitingByJobId.put(job.jobId, retried);
+        }
+    }
+
+    private void release(String jobId) {
+        boolean freed;
+        synchronized (lock) {
+            freed = running.remove(jobId) != null;
+        }
+        if (freed) {
+            dispatchAvailable();
+        }
+    }
+
+    // 대기 중인 작업을 Flask 에 전달하지 않고 취소, 대기 중이었으면 true
+    public boolean cancel(String jobId) {
+        QueuedJob cancelled;
+        synchronized (lock) {
+            cancelled = waitingByJobId.remove(jobId);
+            if (cancelled != null) {
+                waiting.remove(cancelled);
+            }
+        }
+        if (cancelled == null) {
+            return false;
+        }
+        cancelled.future.completeExceptionally(new JudgeUnavailableException("채점 요청이 취소되었습니다.", 1));
+        return true;
+    }
+
+    // 작업 완료/중단/만료로 구독이 제거된 경우 채점 중인 작업을 반환하고 대기 중인 작업은 취소
+    private void onSubscriptionRemoved(String jobId) {
+        difficulties.remove(jobId);
+        cancel(jobId);
+        release(jobId);
+    }
+
+    // 평균 대기 시간을 다시 시도할 시각으로 안내 (최소 1초)
+    private long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(waitTime.mean(TimeUnit.SECONDS)));
+    }
+
+    // 대기 순번 전송 (0 은 채점 시작), 연결이 끊긴 경우 테스트 케이스 전송 시 처리되므로 무시
+    private void sendPosition(String jobId, int position, int queueSize) {
+        SseEmitter emitter = subscriptionRegistry.get(jobId);
+        if (emitter == null || subscriptionRegistry.isDetached(jobId)) {
+            return;
+        }
+        sseEventWriter.send(emitter, SseEmitter.event()
+                .name("queue")
+                .data(Map.of("position", position, "queueSize", queueSize)), failure -> {});
+    }
+
+    private static class QueuedJob {
+        private final String jobId;
+        private final Long userId;
+        private final long enqueuedAt;
+        private final long priorityKey;
+        private final long sequence;
+        private final int retries;
+        private final CompletableFuture<Integer> future;
+        // 마지막으로 전송한 대기 순번 (publishPositions 스레드에서만 사용)
+        private int notifiedPosition;
+
+        private QueuedJob(String jobId, Long userId, long enqueuedAt, long priorityKey, long sequence, int retries,
+                          CompletableFuture<Integer> future) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.enqueuedAt = enqueuedAt;
+            this.priorityKey = priorityKey;
+            this.sequence = sequence;
+            this.retries = retries;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.kh.totalproject.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.constant.JudgeJobStatus;
+import com.kh.totalproject.entity.JudgeJob;
+import com.kh.totalproject.repository.JudgeJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 코딩 테스트 채점 작업의 진행 상태를 judge_job 테이블에 기록하는 추적기입니다.
+ * 상태 변경(CREATED, EXECUTING, 테스트 케이스 진행, COMPLETED / FAILED / CANCELLED)은 메모리에서 작업별로 합쳐 두고,
+ * flush-interval-ms 마다 변경된 작업만 JDBC batch upsert 로 저장하므로 테스트 케이스마다 DB 쓰기가 늘지 않습니다.
+ * 기동 시 진행 중이던 작업의 구독을 연결이 끊긴 상태로 다시 등록하고 최근 결과를 재전송 버퍼에 채워,
+ * 재시작 후 Flask 콜백이 CLIENT_NOT_FOUND 로 버려지지 않고 브라우저가 재연결(Last-Event-ID) 하면 이어서 받을 수 있도록 합니다.
+ * 마지막 저장 이후 flush-interval-ms 이내의 변경은 비정상 종료 시 유실될 수 있습니다.
+ */
+@Slf4j
+@Service
+public class JudgeJobTracker {
+    private static final String UPSERT_SQL = "INSERT INTO judge_job (job_id, user_id, question_id, status, num_of_testcase, " +
+            "completed_testcases, recent_results, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status), num_of_testcase = VALUES(num_of_testcase), " +
+            "completed_testcases = VALUES(completed_testcases), recent_results = VALUES(recent_results), updated_at = VALUES(updated_at)";
+    private static final List<JudgeJobStatus> IN_PROGRESS = List.of(JudgeJobStatus.CREATED, JudgeJobStatus.EXECUTING);
+    private static final TypeReference<List<SseSubscriptionRegistry.ReplayEvent>> RECENT_RESULTS_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JudgeJobRepository judgeJobRepository;
+    private final SseSubscriptionRegistry subscriptionRegistry;
+    // 복구한 구독을 이 인스턴스로 등록 (TestcaseEventRelay 가 CodeChallengeService 를 거쳐 이 추적기를 참조하므로 지연 조회)
+    private final ObjectProvider<TestcaseEventRelay> testcaseEventRelayProvider;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int recentResultsSize;
+    private final long maxAgeMs;
+    private final long retentionMs;
+    // 저장 전 변경을 합쳐 두는 작업별 상태 (종료 상태가 저장되면 제거)
+    private final ConcurrentHashMap<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    private final Counter writtenRows;
+
+    public JudgeJobTracker(
+        JdbcTemplate jdbcTemplate,
+        JudgeJobRepository judgeJobRepository,
+        SseSubscriptionRegistry subscriptionRegistry,
+        ObjectProvider<TestcaseEventRelay> testcaseEventRelayProvider,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${code-challenge.judge-job.enabled:true}") boolean enabled,
+        @Value("${code-challenge.judge-job.recent-results:64}") int recentResultsSize,
+        @Value("${code-challenge.sse.max-age-ms:180000}") long maxAgeMs,
+        @Value("${code-challenge.judge-job.retention-ms:86400000}") long retentionMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.judgeJobRepository = judgeJobRepository;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.testcaseEventRelayProvider = testcaseEventRelayProvider;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.recentResultsSize = recentResultsSize;
+        this.maxAgeMs = maxAgeMs;
+        this.retentionMs = retentionMs;
+
+        Gauge.builder("code_challenge.judge_job.tracked", jobs, Map::size)
+                .description("상태를 추적 중인 채점 작업 수")
+                .register(meterRegistry);
+        writtenRows = Counter.builder("code_challenge.judge_job.writes")
+                .description("judge_job 에 저장한 행 수")
+                .register(meterRegistry);
+    }
+
+    public void created(String jobId, Long userId, Long questionId) {
+        if (!enabled || jobId == null || userId == null) {
+            return;
+        }
+        jobs.putIfAbsent(jobId, new JobState(jobId, userId, questionId, LocalDateTime.now()));
+    }
+
+    // 콜백이 execute 응답보다 먼저 처리된 경우에도 상태가 되돌아가지 않도록 CREATED 일 때만 변경
+    public void executing(String jobId, Integer numOfTestcase) {
+        JobState state = enabled ? jobs.get(jobId) : null;
+        if (state != null) {
+            state.executing(numOfTestcase);
+        }
+    }
+
+    public void recordTestcase(String jobId, String eventId, Object data) {
+        JobState state = enabled ? jobs.get(jobId) : null;
+        if (state != null) {
+            state.recordTestcase(new SseSubscriptionRegistry.ReplayEvent(eventId, data), recentResultsSize);
+        }
+    }
+
+    public void finish(String jobId, JudgeJobStatus status) {
+        JobState state = enabled ? jobs.get(jobId) : null;
+        if (state != null) {
+            state.finish(status);
+        }
+    }
+
+    // 변경된 작업만 모아 한번에 저장, 실패한 작업은 다음 주기에 다시 저장
+    @Scheduled(fixedDelayString = "${code-challenge.judge-job.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled || jobs.isEmpty()) {
+            return;
+        }
+        List<JobState> flushed = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (JobState state : jobs.values()) {
+            Object[] row = state.takeChanges(this::toJson);
+            if (row != null) {
+                flushed.add(state);
+                rows.add(row);
+            }
+        }
+        if (!rows.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+                writtenRows.increment(rows.size());
+            } catch (Exception e) {
+                log.warn("Failed to save {} judge jobs, retrying next flush: {}", rows.size(), e.getMessage());
+                flushed.forEach(JobState::markDirty);
+                return;
+            }
+        }
+
+        // 종료 상태가 저장되었거나 SSE 구독 최대 수명이 지난 작업은 메모리에서 제거
+        LocalDateTime staleThreshold = restoreThreshold();
+        jobs.values().removeIf(state -> state.isSettled(staleThreshold));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${code-challenge.judge-job.purge-interval-ms:3600000}")
+    public void purgeOldJobs() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = judgeJobRepository.deleteUpdatedBefore(LocalDateTime.now().minus(Duration.ofMillis(retentionMs)));
+        if (deleted > 0) {
+            log.info("보관 기간이 지난 채점 작업 {}건 삭제", deleted);
+        }
+    }
+
+    // 재시작 전 진행 중이던 작업의 구독을 복구
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreInProgressJobs() {
+        if (!enabled) {
+            return;
+        }
+        List<JudgeJob> inProgress = judgeJobRepository.findByStatusesUpdatedAfter(IN_PROGRESS, restoreThreshold());
+        int restored = 0;
+        for (JudgeJob job : inProgress) {
+            restored += reattach(job) ? 1 : 0;
+        }
+        if (restored > 0) {
+            log.info("진행 중이던 채점 작업 {}건의 구독 복구", restored);
+        }
+    }
+
+    // 이 인스턴스에 구독이 없는 작업에 /subscribe 한 경우 기록에서 구독 복구 (진행 중인 작업만)
+    public boolean restore(String jobId) {
+        if (!enabled) {
+            return false;
+        }
+        LocalDateTime threshold = restoreThreshold();
+        return judgeJobRepository.findById(jobId)
+                .filter(job -> !job.getStatus().isTerminal() && !job.getUpdatedAt().isBefore(threshold))
+                .map(this::reattach)
+                .orElse(false);
+    }
+
+    public int trackedCount() {
+        return jobs.size();
+    }
+
+    private LocalDateTime restoreThreshold() {
+        return LocalDateTime.now().minus(Duration.ofMillis(maxAgeMs));
+    }
+
+    // 연결이 끊긴 구독으로 등록하여 이후 콜백은 재전송 버퍼에 쌓이고, 브라우저 재연결 시 Last-Event-ID 이후 결과를 재전송
+    // judge_job 은 모든 인스턴스가 공유하므로 다른 인스턴스가 구독을 가진 작업은 복구하지 않음
+    private boolean reattach(JudgeJob job) {
+        String jobId = job.getJobId();
+        if (subscriptionRegistry.get(jobId) != null) {
+            return false;
+        }
+        if (!testcaseEventRelayProvider.getObject().reclaim(jobId, job.getUserId())) {
+            return false;
+        }
+        List<SseSubscriptionRegistry.ReplayEvent> recentResults = fromJson(job.getRecentResults());
+        jobs.computeIfAbsent(jobId, id -> JobState.restore(job, recentResults));
+
+        SseEmitter placeholder = new SseEmitter(SseSubscriptionRegistry.EMITTER_TIMEOUT_MS);
+        subscriptionRegistry.register(jobId, job.getUserId(), placeholder);
+        for (SseSubscriptionRegistry.ReplayEvent event : recentResults) {
+            subscriptionRegistry.recordEvent(jobId, event.id(), event.data());
+        }
+        subscriptionRegistry.markSubscribed(jobId);
+        subscriptionRegistry.detach(jobId, placeholder);
+        return true;
+    }
+
+    private String toJson(List<SseSubscriptionRegistry.ReplayEvent> recentResults) {
+        try {
+            return objectMapper.writeValueAsString(recentResults);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("채점 결과를 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    private List<SseSubscriptionRegistry.ReplayEvent> fromJson(String recentResults) {
+        if (recentResults == null || recentResults.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(recentResults, RECENT_RESULTS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable recent results of judge job: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static class JobState {
+        private final String jobId;
+        private final Long userId;
+        private final Long questionId;
+        private final LocalDateTime createdAt;
+        private final ArrayDeque<SseSubscriptionRegistry.ReplayEvent> recentResults = new ArrayDeque<>();
+        private JudgeJobStatus status = JudgeJobStatus.CREATED;
+        private Integer numOfTestcase;
+        private int completedTestcases;
+        private LocalDateTime updatedAt;
+        private boolean dirty = true;
+
+        private JobState(String jobId, Long userId, Long questionId, LocalDateTime createdAt) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.questionId = questionId;
+            this.createdAt = createdAt;
+            this.updatedAt = createdAt;
+        }
+
+        private static JobState restore(JudgeJob job, List<SseSubscriptionRegistry.ReplayEvent> recentResults) {
+            JobState state = new JobState(job.getJobId(), job.getUserId(), job.getQuestionId(), job.getCreatedAt());
+            state.status = job.getStatus();
+            state.numOfTestcase = job.getNumOfTestcase();
+            state.completedTestcases = job.getCompletedTestcases();
+            state.updatedAt = job.getUpdatedAt();
+            state.recentResults.addAll(recentResults);
+            state.dirty = false;
+            return state;
+        }
+
+        private synchronized void executing(Integer numOfTestcase) {
+            if (status == JudgeJobStatus.CREATED) {
+                status = JudgeJobStatus.EXECUTING;
+            }
+            this.numOfTestcase = numOfTestcase;
+            touch();
+        }
+
+        private synchronized void recordTestcase(SseSubscriptionRegistry.ReplayEvent event, int capacity) {
+            if (status.isTerminal()) {
+                return;
+            }
+            status = JudgeJobStatus.EXECUTING;
+            completedTestcases++;
+            if (recentResults.size() >= capacity) {
+                recentResults.pollFirst();
+            }
+            recentResults.addLast(event);
+            touch();
+        }
+
+        private synchronized void finish(JudgeJobStatus status) {
+            if (this.status.isTerminal()) {
+                return;
+            }
+            this.status = status;
+            touch();
+        }
+
+        private void touch() {
+            updatedAt = LocalDateTime.now();
+            dirty = true;
+        }
+
+        private synchronized void markDirty() {
+            dirty = true;
+        }
+
+        // 마지막 저장 이후 변경이 있으면 저장할 행을 만들고 변경 표시 해제
+        private synchronized Object[] takeChanges(Function<List<SseSubscriptionRegistry.ReplayEvent>, String> serializer) {
+            if (!dirty) {
+                return null;
+            }
+            dirty = false;
+            return new Object[]{jobId, userId, questionId, status.name(), numOfTestcase, completedTestcases,
+                    serializer.apply(new ArrayList<>(recentResults)), Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt)};
+        }
+
+        private synchronized boolean isSettled(LocalDateTime staleThreshold) {
+            return !dirty && (status.isTerminal() || updatedAt.isBefore(staleThreshold));
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.Language;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 문제, 같은 언어, 같은 코드(디코딩한 코드의 SHA-256)의 채점 결과를 보관하는 인스턴스 로컬 캐시입니다.
+ * Flask 콜백으로 받은 테스트 케이스 결과를 작업별로 모았다가 complete 콜백이 오면 저장하고,
+ * 같은 코드가 다시 제출되면 Flask 를 호출하지 않고 저장된 결과를 새 jobId 로 재전송합니다.
+ * 키에 문제의 메모리/시간 제한을 포함하므로 제한이 바뀌면 이전 결과는 사용되지 않으며,
+ * Flask 쪽 테스트 케이스가 바뀐 경우에는 invalidate 로 문제별 캐시를 비웁니다.
+ * (여러 인스턴스 운영 시 무효화는 VerdictCacheInvalidationRelay 를 통해 모든 인스턴스에 전달)
+ * 중단 요청이나 채점 서버 오류로 끝난 작업의 결과는 저장하지 않습니다.
+ */
+@Slf4j
+@Component
+public class JudgeVerdictCache {
+    // 캐시 결과를 재전송하는 작업의 jobId 접두사 (Flask jobId 와 구분)
+    public static final String REPLAY_JOB_PREFIX = "cached-";
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int maxRecordings;
+    private final long ttlNanos;
+    private final long replayTtlNanos;
+
+    // 접근 순서 LRU, 잠금은 entries 자체로
+    private final LinkedHashMap<Key, Verdict> entries;
+    // 결과를 모으는 중인 작업 (complete 콜백이 오지 않은 작업은 오래된 순으로 제거)
+    private final LinkedHashMap<String, Recording> recordings;
+    // submit 후 execute 를 기다리는 캐시 작업
+    private final ConcurrentHashMap<String, Replay> replays = new ConcurrentHashMap<>();
+    // 문제별 무효화 횟수, 무효화 전에 시작한 작업의 결과는 저장하지 않음
+    private final ConcurrentHashMap<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer savedJudgeTime;
+
+    public JudgeVerdictCache(
+        MeterRegistry meterRegistry,
+        @Value("${code-challenge.verdict-cache.enabled:false}") boolean enabled,
+        @Value("${code-challenge.verdict-cache.max-entries:10000}") int maxEntries,
+        @Value("${code-challenge.verdict-cache.max-recordings:10000}") int maxRecordings,
+        @Value("${code-challenge.verdict-cache.ttl-ms:3600000}") long ttlMs,
+        @Value("${code-challenge.sse.max-age-ms:180000}") long replayTtlMs
+    ) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxRecordings = maxRecordings;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.replayTtlNanos = TimeUnit.MILLISECONDS.toNanos(replayTtlMs);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Verdict> eldest) {
+                return size() > JudgeVerdictCache.this.maxEntries;
+            }
+        };
+        this.recordings = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Recording> eldest) {
+                return size() > JudgeVerdictCache.this.maxRecordings;
+            }
+        };
+
+        hits = Counter.builder("code_challenge.verdict_cache.requests")
+                .description("채점 결과 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder("code_challenge.verdict_cache.requests")
+                .description("채점 결과 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("code_challenge.verdict_cache.hit_ratio", this, JudgeVerdictCache::hitRatio)
+                .description("채점 결과 캐시 적중률")
+                .register(meterRegistry);
+        Gauge.builder("code_challenge.verdict_cache.size", this, JudgeVerdictCache::size)
+                .description("저장된 채점 결과 수")
+                .register(meterRegistry);
+        savedJudgeTime = Timer.builder("code_challenge.verdict_cache.saved_judge_time")
+                .description("캐시 적중으로 생략한 채점 시간 (원래 채점에 걸린 시간)")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 캐시 적중 시 재전송용 jobId, 적중하지 않으면 null
+    @Nullable
+    public String lookup(Key key, Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        Verdict verdict;
+        synchronized (entries) {
+            verdict = entries.get(key);
+            if (verdict != null && System.nanoTime() - verdict.storedAt() > ttlNanos) {
+                entries.remove(key);
+                verdict = null;
+            }
+        }
+        if (verdict == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        savedJudgeTime.record(verdict.judgeNanos(), TimeUnit.NANOSECONDS);
+
+        String jobId = REPLAY_JOB_PREFIX + UUID.randomUUID();
+        replays.put(jobId, new Replay(userId, verdict, System.nanoTime()));
+        return jobId;
+    }
+
+    public static boolean isReplayJob(String jobId) {
+        return jobId != null && jobId.startsWith(REPLAY_JOB_PREFIX);
+    }
+
+    // execute 요청 시 재전송할 결과를 꺼냄 (다른 유저의 작업이거나 이미 실행한 작업이면 null)
+    @Nullable
+    public List<TestcaseResult> takeReplay(String jobId, Long userId) {
+        Replay replay = replays.get(jobId);
+        if (replay == null || !replay.userId().equals(userId) || !replays.remove(jobId, replay)) {
+            return null;
+        }
+        return replay.verdict().results();
+    }
+
+    // Flask 콜백 결과를 작업별로 모음, 재전송 작업의 결과는 저장하지 않음
+    public void record(TestcaseResult result) {
+        if (!enabled || result.getJobId() == null || isReplayJob(result.getJobId())) {
+            return;
+        }
+        synchronized (recordings) {
+            Recording recording = recordings.get(result.getJobId());
+            if (recording == null) {
+                recording = new Recording(generation(result.getQuestionId()), System.nanoTime());
+                recordings.put(result.getJobId(), recording);
+            }
+            if (!recording.excluded) {
+                recording.results.add(result);
+            }
+        }
+    }
+
+    // 일부 테스트 케이스만 채점하는 작업(fail-fast)은 같은 코드의 전체 채점 결과로 재전송할 수 없으므로 저장하지 않음
+    public void exclude(String jobId) {
+        if (!enabled || jobId == null) {
+            return;
+        }
+        Recording recording = new Recording(-1, System.nanoTime());
+        recording.excluded = true;
+        synchronized (recordings) {
+            recordings.put(jobId, recording);
+        }
+    }
+
+    // complete 콜백 수신 시 모은 결과와 complete 결과를 함께 저장
+    public void complete(TestcaseResult completeResult, Key key) {
+        if (!enabled || isReplayJob(completeResult.getJobId())) {
+            return;
+        }
+        Recording recording;
+        synchronized (recordings) {
+            recording = recordings.remove(completeResult.getJobId());
+        }
+        if (recording == null || recording.excluded || recording.generation != generation(key.questionId())) {
+            return;
+        }
+        recording.results.add(completeResult);
+        Verdict verdict = new Verdict(List.copyOf(recording.results), System.nanoTime() - recording.startedAt, System.nanoTime());
+        synchronized (entries) {
+            entries.put(key, verdict);
+        }
+    }
+
+    // 중단되었거나 채점 서버 오류로 끝난 작업의 결과는 버림
+    public void discard(String jobId) {
+        synchronized (recordings) {
+            recordings.remove(jobId);
+        }
+    }
+
+    // 문제의 테스트 케이스가 바뀐 경우 호출 (questionId 가 null 이면 전체)
+    public void invalidate(@Nullable Long questionId) {
+        synchronized (entries) {
+            if (questionId == null) {
+                entries.clear();
+            } else {
+                entries.keySet().removeIf(key -> key.questionId().equals(questionId));
+            }
+        }
+        if (questionId == null) {
+            generations.replaceAll((id, generation) -> generation + 1);
+            synchronized (recordings) {
+                recordings.clear();
+            }
+        } else {
+            generations.merge(questionId, 1L, Long::sum);
+        }
+        log.info("Invalidated judge verdict cache, questionId: {}", questionId);
+    }
+
+    // execute 하지 않은 캐시 작업 정리 (SSE 구독 최대 수명 이후)
+    @Scheduled(fixedDelayString = "${code-challenge.sse.reap-interval-ms:10000}")
+    public void removeExpiredReplays() {
+        long now = System.nanoTime();
+        replays.values().removeIf(replay -> now - replay.createdAt() > replayTtlNanos);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private long generation(Long questionId) {
+        return questionId == null ? 0L : generations.getOrDefault(questionId, 0L);
+    }
+
+    // Base64 로 받은 코드를 디코딩하여 해시 (인코딩 차이로 캐시가 빗나가지 않도록)
+    public static Key key(Long questionId, Language codeLanguage, String base64Code,
+                          @Nullable Integer memoryLimit, @Nullable Integer runningTimeLimit) {
+        String codeHash = CodeBlobService.hash(Base64.getDecoder().decode(base64Code));
+        return new Key(questionId, codeLanguage, codeHash, memoryLimit, runningTimeLimit);
+    }
+
+    public record Key(Long questionId, Language codeLanguage, String codeHash,
+                      @Nullable Integer memoryLimit, @Nullable Integer runningTimeLimit) {
+    }
+
+    private record Verdict(List<TestcaseResult> results, long judgeNanos, long storedAt) {
+    }
+
+    private record Replay(Long userId, Verdict verdict, long createdAt) {
+    }
+
+    private static class Recording {
+        private final long generation;
+        private final long startedAt;
+        private final List<TestcaseResult> results = new ArrayList<>();
+        private boolean excluded;
+
+        private Recording(long generation, long startedAt) {
+            this.generation = generation;
+            this.startedAt = startedAt;
+        }
+    }
+}
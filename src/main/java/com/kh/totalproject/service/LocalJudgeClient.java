@@ -0,0 +1,649 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.Language;
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.dto.request.SubmitCodeRequest;
+import com.kh.totalproject.entity.CodeChallengeInfo;
+import com.kh.totalproject.exception.CustomHttpClientErrorException;
+import com.kh.totalproject.repository.CodeChallengeInfoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Flask 채점 서버 대신 이 인스턴스 안에서 Java 제출 코드를 채점하는 내장 채점기입니다. (code-challenge.judge.backend=local)
+ * javax.tools 로 제출 코드를 컴파일하고, 테스트 케이스마다 별도의 JVM 프로세스에서 실행하여
+ * 문제의 메모리 제한(-Xmx)과 실행 시간 제한을 적용합니다.
+ * 결과는 Flask 콜백과 같은 형식의 TestcaseResult 로 TestcaseEventRelay 를 거쳐 CodeChallengeService.sendTestcaseResult 에 전달되며,
+ * 요청 오류는 Flask 4xx 응답과 같은 CustomHttpClientErrorException 으로 실패하므로 기존 SSE/예외 처리 흐름을 그대로 사용합니다.
+ * 테스트 케이스는 testcase-dir/{questionId}/{n}.in, {n}.out 파일에서 읽으며 n 오름차순으로 0 부터 testcaseIndex 를 부여합니다.
+ * parallel-testcases 가 true 면 한 작업의 테스트 케이스를 코어 수 크기의 공용 워커 풀에 나눠 실행하고,
+ * 먼저 끝난 결과는 재정렬 버퍼에 보관했다가 testcaseIndex 순서대로 전달합니다.
+ * 제출 시 failFast 를 요청한 작업은 처음 실패한 테스트 케이스까지만 전달하고, 그 뒤의 테스트 케이스는 실행하지 않거나 실행 중인 프로세스를 종료합니다.
+ * 프로세스 분리와 자원 제한만 적용하므로 신뢰할 수 없는 코드를 채점하는 운영 환경의 샌드박스를 대신하지는 않습니다. (개발/테스트용)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "code-challenge.judge.backend", havingValue = "local")
+public class LocalJudgeClient implements JudgeClient {
+    static final String RUNNER_CLASS = "__JudgeRunner";
+    private static final String STATS_PREFIX = "__JUDGE_STATS__";
+    private static final int DEFAULT_MEMORY_LIMIT_MB = 256;
+    private static final int DEFAULT_RUNNING_TIME_LIMIT_MS = 5000;
+    // 러너가 OutOfMemoryError 로 종료한 경우의 종료 코드
+    private static final int OUT_OF_MEMORY_EXIT_CODE = 3;
+    private static final Pattern PUBLIC_CLASS = Pattern.compile("public\\s+(?:final\\s+)?class\\s+([A-Za-z_$][A-Za-z0-9_$]*)");
+    // 제출 코드의 main 을 실행하고 실행 시간(ms), 최대 힙 사용량(KB)을 stderr 마지막 줄에 출력
+    private static final String RUNNER_SOURCE = """
+            import java.io.*;
+            import java.lang.management.*;
+            import java.lang.reflect.*;
+
+            public class __JudgeRunner {
+                public static void main(String[] args) throws Exception {
+                    PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false);
+                    System.setOut(out);
+                    Method main = Class.forName(args[0]).getMethod("main", String[].class);
+                    int exitCode = 0;
+                    long start = System.nanoTime();
+                    try {
+                        main.invoke(null, (Object) new String[0]);
+                    } catch (InvocationTargetException e) {
+                        exitCode = e.getCause() instanceof OutOfMemoryError ? 3 : 1;
+                        System.err.println(e.getCause());
+                    } catch (OutOfMemoryError e) {
+                        exitCode = 3;
+                    }
+                    long elapsed = (System.nanoTime() - start) / 1_000_000;
+                    out.flush();
+                    long peak = 0;
+                    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                        if (pool.getType() == MemoryType.HEAP) {
+                            peak += pool.getPeakUsage().getUsed();
+                        }
+                    }
+                    System.err.println("__JUDGE_STATS__ " + elapsed + " " + peak / 1024);
+                    System.exit(exitCode);
+                }
+            }
+            """;
+
+    private final Function<Long, Optional<CodeChallengeInfo>> challengeInfoLookup;
+    // 채점 결과 전달 (Flask 콜백과 같은 처리, 반환 값이 SUCCESS 가 아니면 채점 중단)
+    private final Function<TestcaseResult, SendTestcaseResultStatus> callback;
+    private final Path testcaseDir;
+    private final String javaCommand;
+    private final long startupAllowanceMs;
+    private final long pendingTtlMs;
+    private final boolean parallelTestcases;
+    // 작업별 컴파일 및 결과 전달
+    private final ExecutorService workers;
+    // 테스트 케이스 실행 (parallel-testcases 인 경우, 모든 작업이 공유)
+    private final ExecutorService testcaseWorkers;
+    private final Map<String, LocalJob> jobs = new ConcurrentHashMap<>();
+    // execute 부터 complete 결과 전달까지 걸린 시간 (mode : parallel, sequential)
+    private final Timer verdictLatency;
+
+    @Autowired
+    public LocalJudgeClient(
+        CodeChallengeInfoRepository codeChallengeInfoRepository,
+        // TestcaseEventRelay -> CodeChallengeService -> JudgeClient 순환 참조를 피하기 위해 지연 조회
+        ObjectProvider<TestcaseEventRelay> testcaseEventRelayProvider,
+        MeterRegistry meterRegistry,
+        @Value("${code-challenge.local-judge.testcase-dir:./testcases}") String testcaseDir,
+        @Value("${code-challenge.local-judge.workers:2}") int workers,
+        @Value("${code-challenge.local-judge.parallel-testcases:true}") boolean parallelTestcases,
+        @Value("${code-challenge.local-judge.testcase-workers:0}") int testcaseWorkers,
+        @Value("${code-challenge.local-judge.java-command:}") String javaCommand,
+        @Value("${code-challenge.local-judge.startup-allowance-ms:2000}") long startupAllowanceMs,
+        @Value("${code-challenge.sse.max-age-ms:180000}") long pendingTtlMs
+    ) {
+        this(codeChallengeInfoRepository::findById, result -> testcaseEventRelayProvider.getObject().deliver(result), meterRegistry,
+                Path.of(testcaseDir), workers, parallelTestcases, testcaseWorkers, javaCommand, startupAllowanceMs, pendingTtlMs);
+    }
+
+    public LocalJudgeClient(
+        Function<Long, Optional<CodeChallengeInfo>> challengeInfoLookup,
+        Function<TestcaseResult, SendTestcaseResultStatus> callback,
+        MeterRegistry meterRegistry,
+        Path testcaseDir,
+        int workers,
+        boolean parallelTestcases,
+        // 0 이하면 사용 가능한 코어 수
+        int testcaseWorkers,
+        String javaCommand,
+        long startupAllowanceMs,
+        long pendingTtlMs
+    ) {
+        this.challengeInfoLookup = challengeInfoLookup;
+        this.callback = callback;
+        this.testcaseDir = testcaseDir;
+        this.javaCommand = javaCommand == null || javaCommand.isBlank() ?
+                Path.of(System.getProperty("java.home"), "bin", "java").toString() : javaCommand;
+        this.startupAllowanceMs = startupAllowanceMs;
+        this.pendingTtlMs = pendingTtlMs;
+        this.parallelTestcases = parallelTestcases;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workers), daemonThreads("local-judge-"));
+        this.testcaseWorkers = Executors.newFixedThreadPool(
+                testcaseWorkers > 0 ? testcaseWorkers : Runtime.getRuntime().availableProcessors(), daemonThreads("local-judge-testcase-"));
+        this.verdictLatency = Timer.builder("code_challenge.local_judge.verdict_latency")
+                .description("내장 채점기의 execute 부터 complete 결과 전달까지 걸린 시간")
+                .tag("mode", parallelTestcases ? "parallel" : "sequential")
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(LocalJob::cancel);
+        workers.shutdownNow();
+        testcaseWorkers.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<String> createJob(SubmitCodeRequest dto) {
+        removeExpiredJobs();
+        if (dto.getCodeLanguage() != Language.JAVA) {
+            return failed(HttpStatus.BAD_REQUEST, "/job/create");
+        }
+        CodeChallengeInfo challengeInfo = dto.getQuestionId() == null ? null :
+                challengeInfoLookup.apply(dto.getQuestionId()).orElse(null);
+        if (challengeInfo == null || !Files.isDirectory(testcaseDir.resolve(String.valueOf(dto.getQuestionId())))) {
+            return failed(HttpStatus.NOT_FOUND, "/job/create");
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        jobs.put(jobId, new LocalJob(jobId, dto.getUserId(), challengeInfo, dto.getCode(), dto.getCodeLanguage(),
+                Boolean.TRUE.equals(dto.getFailFast())));
+        return CompletableFuture.completedFuture(jobId);
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeJob(String jobId, Long userId) {
+        LocalJob job = findJob(jobId, userId);
+        if (job == null) {
+            return failed(HttpStatus.NOT_FOUND, "/job/execute");
+        }
+        List<Testcase> testcases;
+        try {
+            testcases = loadTestcases(job.challengeInfo.getQuestionId());
+        } catch (IOException e) {
+            log.warn("Failed to load testcases, questionId: {}", job.challengeInfo.getQuestionId(), e);
+            return failed(HttpStatus.NOT_FOUND, "/job/execute");
+        }
+        if (testcases.isEmpty() || !job.started.compareAndSet(false, true)) {
+            return failed(HttpStatus.BAD_REQUEST, "/job/execute");
+        }
+        workers.execute(() -> run(job, testcases));
+        return CompletableFuture.completedFuture(testcases.size());
+    }
+
+    @Override
+    public CompletableFuture<Void> cancelJob(String jobId, Long userId) {
+        LocalJob job = findJob(jobId, userId);
+        if (job == null) {
+            return failed(HttpStatus.NOT_FOUND, "/job/cancel");
+        }
+        job.cancel();
+        // 실행 전이면 바로, 실행 중이면 실행 중인 프로세스가 종료된 뒤 채점 스레드에서 중단 결과 전달
+        if (!job.started.get()) {
+            jobs.remove(jobId);
+            sendCancelled(job);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteJob(String jobId, Long userId) {
+        LocalJob job = findJob(jobId, userId);
+        if (job != null) {
+            job.finished.set(true);
+            job.cancel();
+            jobs.remove(jobId);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public int jobCount() {
+        return jobs.size();
+    }
+
+    private LocalJob findJob(String jobId, Long userId) {
+        LocalJob job = jobId == null ? null : jobs.get(jobId);
+        return job == null || !Objects.equals(job.userId, userId) ? null : job;
+    }
+
+    // 생성 후 실행되지 않은 작업은 구독 최대 수명이 지나면 삭제
+    private void removeExpiredJobs() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(job -> !job.started.get() && now - job.createdAt > TimeUnit.MILLISECONDS.toNanos(pendingTtlMs));
+    }
+
+    private List<Testcase> loadTestcases(Long questionId) throws IOException {
+        Path dir = testcaseDir.resolve(String.valueOf(questionId));
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        List<Testcase> testcases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Long> numbers = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.matches("\\d+\\.in"))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - 3)))
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+            for (Long number : numbers) {
+                Path output = dir.resolve(number + ".out");
+                if (Files.exists(output)) {
+                    testcases.add(new Testcase(testcases.size(), dir.resolve(number + ".in"), output));
+                }
+            }
+        }
+        return testcases;
+    }
+
+    private void run(LocalJob job, List<Testcase> testcases) {
+        long start = System.nanoTime();
+        Path workDir = null;
+        try {
+            workDir = Files.createTempDirectory("local-judge-");
+            String className = compile(job, workDir);
+            if (className == null) {
+                return;
+            }
+            List<Verdict> verdicts = parallelTestcases ?
+                    runParallel(job, workDir, className, testcases) : runSequential(job, workDir, className, testcases);
+            if (verdicts == null) {
+                return;
+            }
+            if (job.cancelled) {
+                sendCancelled(job);
+            } else {
+                sendComplete(job, verdicts);
+                verdictLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (Exception e) {
+            log.error("Local judge failed, jobId: {}", job.jobId, e);
+            sendFatalError(job, "채점 중 서버 오류가 발생했습니다.");
+        } finally {
+            jobs.remove(job.jobId);
+            if (workDir != null) {
+                try {
+                    FileSystemUtils.deleteRecursively(workDir);
+                } catch (IOException e) {
+                    log.warn("Failed to delete local judge directory: {}", workDir, e);
+                }
+            }
+        }
+    }
+
+    // 전달한 테스트 케이스 결과, 결과 전달에 실패하면 null
+    private List<Verdict> runSequential(LocalJob job, Path workDir, String className, List<Testcase> testcases) throws Exception {
+        List<Verdict> verdicts = new ArrayList<>();
+        for (Testcase testcase : testcases) {
+            if (job.cancelled) {
+                break;
+            }
+            Verdict verdict = execute(job, workDir, className, testcase);
+            if (job.cancelled) {
+                break;
+            }
+            verdicts.add(verdict);
+            if (!send(job, verdict.toResult(job, testcase.index))) {
+                return null;
+            }
+            if (job.failFast && !verdict.passed()) {
+                break;
+            }
+        }
+        return verdicts;
+    }
+
+    // 테스트 케이스를 testcaseWorkers 에서 동시에 실행하고, 끝난 순서와 관계없이 testcaseIndex 순서대로 전달
+    // 전달한 테스트 케이스 결과, 결과 전달에 실패하면 null
+    private List<Verdict> runParallel(LocalJob job, Path workDir, String className, List<Testcase> testcases) throws Exception {
+        int count = testcases.size();
+        BlockingQueue<Completion> completed = new LinkedBlockingQueue<>();
+        for (Testcase testcase : testcases) {
+            testcaseWorkers.execute(() -> {
+                if (job.skips(testcase.index)) {
+                    completed.add(new Completion(testcase.index, null, null));
+                    return;
+                }
+                try {
+                    Verdict verdict = execute(job, workDir, className, testcase);
+                    if (job.failFast && !verdict.passed()) {
+                        job.abortAfter(testcase.index);
+                    }
+                    completed.add(new Completion(testcase.index, verdict, null));
+                } catch (Exception e) {
+                    completed.add(new Completion(testcase.index, null, e));
+                }
+            });
+        }
+
+        // 재정렬 버퍼 : 앞 번호의 테스트 케이스가 끝날 때까지 먼저 끝난 결과를 보관
+        Completion[] buffer = new Completion[count];
+        List<Verdict> verdicts = new ArrayList<>();
+        int received = 0;
+        int next = 0;
+        try {
+            while (next < count && !job.skips(next)) {
+                Completion completion = completed.take();
+                received++;
+                buffer[completion.index] = completion;
+                while (next < count && buffer[next] != null && !job.skips(next)) {
+                    Completion ready = buffer[next++];
+                    if (ready.error != null) {
+                        throw ready.error;
+                    }
+                    verdicts.add(ready.verdict);
+                    if (!send(job, ready.verdict.toResult(job, ready.index))) {
+                        return null;
+                    }
+                }
+            }
+            return verdicts;
+        } finally {
+            // 중단, fail-fast, 전달 실패 시 남은 테스트 케이스를 종료하고 작업 디렉토리를 지우기 전에 모두 끝날 때까지 대기
+            job.abortAfter(next - 1);
+            awaitRemaining(job, completed, count - received);
+        }
+    }
+
+    private void awaitRemaining(LocalJob job, BlockingQueue<Completion> completed, int remaining) {
+        long timeout = startupAllowanceMs + job.runningTimeLimit();
+        try {
+            for (int i = 0; i < remaining; i++) {
+                if (completed.poll(timeout, TimeUnit.MILLISECONDS) == null) {
+                    log.warn("Local judge testcases did not finish, jobId: {}, remaining: {}", job.jobId, remaining - i);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 컴파일한 클래스 이름, 컴파일 에러면 결과 전달 후 null
+    private String compile(LocalJob job, Path workDir) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            sendFatalError(job, "채점 서버에서 Java 컴파일러를 찾을 수 없습니다.");
+            return null;
+        }
+        String code = new String(Base64.getDecoder().decode(job.code), StandardCharsets.UTF_8);
+        Matcher matcher = PUBLIC_CLASS.matcher(code);
+        String className = matcher.find() ? matcher.group(1) : "Main";
+        Path source = Files.writeString(workDir.resolve(className + ".java"), code);
+        Path runner = Files.writeString(workDir.resolve(RUNNER_CLASS + ".java"), RUNNER_SOURCE);
+
+        ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+        int exitCode = compiler.run(null, null, diagnostics, "-encoding", "UTF-8", "-nowarn", "-d", workDir.toString(),
+                source.toString(), runner.toString());
+        if (exitCode != 0) {
+            String message = diagnostics.toString(StandardCharsets.UTF_8).replace(workDir + File.separator, "");
+            if (send(job, job.resultBuilder().testcaseIndex(0).success(false)
+                    .error("컴파일 에러: " + abbreviate(message)).build())) {
+                sendComplete(job, List.of(Verdict.failed()));
+            }
+            return null;
+        }
+        return className;
+    }
+
+    private Verdict execute(LocalJob job, Path workDir, String className, Testcase testcase) throws IOException, InterruptedException {
+        int memoryLimit = job.challengeInfo.getMemoryLimit() == null ? DEFAULT_MEMORY_LIMIT_MB : job.challengeInfo.getMemoryLimit();
+        int timeLimit = job.runningTimeLimit();
+        Path output = workDir.resolve(testcase.index + ".stdout");
+        Path error = workDir.resolve(testcase.index + ".stderr");
+
+        Process process = new ProcessBuilder(javaCommand, "-Xmx" + memoryLimit + "m", "-Xss64m", "-XX:+UseSerialGC",
+                "-XX:-UsePerfData", "-cp", workDir.toString(), RUNNER_CLASS, className)
+                .directory(workDir.toFile())
+                .redirectInput(testcase.input.toFile())
+                .redirectOutput(output.toFile())
+                .redirectError(error.toFile())
+                .start();
+        job.processes.put(testcase.index, process);
+        // 프로세스를 등록하기 전에 중단된 경우
+        if (job.skips(testcase.index)) {
+            process.destroyForcibly();
+        }
+        long start = System.nanoTime();
+        try {
+            if (!process.waitFor(timeLimit + startupAllowanceMs, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly().waitFor();
+                return Verdict.of(false, "시간 초과", null, timeLimit, 0);
+            }
+        } finally {
+            job.processes.remove(testcase.index);
+        }
+        long wallTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 러너가 출력한 실행 시간/메모리 (System.exit 등으로 출력되지 않았으면 프로세스 전체 시간 사용)
+        List<String> errorLines = Files.readAllLines(error, StandardCharsets.UTF_8);
+        int runningTime = (int) wallTime;
+        float memoryUsage = 0;
+        String lastLine = errorLines.isEmpty() ? "" : errorLines.get(errorLines.size() - 1);
+        if (lastLine.startsWith(STATS_PREFIX)) {
+            String[] stats = lastLine.split(" ");
+            runningTime = Integer.parseInt(stats[1]);
+            memoryUsage = Long.parseLong(stats[2]) / 1024f;
+            errorLines = errorLines.subList(0, errorLines.size() - 1);
+        }
+
+        if (process.exitValue() == OUT_OF_MEMORY_EXIT_CODE) {
+            return Verdict.of(false, "메모리 초과", null, runningTime, memoryUsage);
+        }
+        if (process.exitValue() != 0) {
+            return Verdict.of(false, null, "런타임 에러: " + abbreviate(String.join("\n", errorLines)), runningTime, memoryUsage);
+        }
+        if (runningTime > timeLimit) {
+            return Verdict.of(false, "시간 초과", null, runningTime, memoryUsage);
+        }
+        boolean passed = sameOutput(Files.readString(output, StandardCharsets.UTF_8),
+                Files.readString(testcase.expected, StandardCharsets.UTF_8));
+        return Verdict.of(passed, passed ? "통과" : "오답", null, runningTime, memoryUsage);
+    }
+
+    // 줄 끝 공백과 마지막 빈 줄은 무시하고 비교
+    static boolean sameOutput(String actual, String expected) {
+        return normalize(actual).equals(normalize(expected));
+    }
+
+    private static List<String> normalize(String text) {
+        List<String> lines = new ArrayList<>(text.lines().map(String::stripTrailing).toList());
+        while (!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+        return lines;
+    }
+
+    private static String abbreviate(String message) {
+        String trimmed = message.strip();
+        return trimmed.length() > 1000 ? trimmed.substring(0, 1000) + "..." : trimmed;
+    }
+
+    private void sendComplete(LocalJob job, List<Verdict> verdicts) {
+        send(job, job.resultBuilder()
+                .success(!verdicts.isEmpty() && verdicts.stream().allMatch(Verdict::passed))
+                .detail("complete")
+                .runningTime(verdicts.stream().mapToInt(Verdict::runningTime).max().orElse(0))
+                .memoryUsage((float) verdicts.stream().mapToDouble(Verdict::memoryUsage).max().orElse(0))
+                .code(job.code)
+                .build());
+        job.finished.set(true);
+    }
+
+    private void sendCancelled(LocalJob job) {
+        if (job.finished.compareAndSet(false, true)) {
+            callback.apply(job.resultBuilder().success(true).detail("채점이 중단되었습니다.").build());
+        }
+    }
+
+    // 컴파일/런타임 에러가 아닌 오류는 구독을 종료시키는 치명적 에러로 전달
+    private void sendFatalError(LocalJob job, String message) {
+        if (job.finished.compareAndSet(false, true)) {
+            callback.apply(job.resultBuilder().success(false).error(message).build());
+        }
+    }
+
+    // 구독자에게 전달되지 않았으면 Flask 작업과 같이 채점 중단
+    private boolean send(LocalJob job, TestcaseResult result) {
+        if (job.finished.get()) {
+            return false;
+        }
+        SendTestcaseResultStatus status = callback.apply(result);
+        if (status != SendTestcaseResultStatus.SUCCESS) {
+            log.info("Stopped local judge, jobId: {}, status: {}", job.jobId, status);
+            job.finished.set(true);
+            return false;
+        }
+        return true;
+    }
+
+    private static <T> CompletableFuture<T> failed(HttpStatus status, String path) {
+        return CompletableFuture.failedFuture(new CustomHttpClientErrorException(
+                HttpClientErrorException.create(status, status.getReasonPhrase(), null, null, StandardCharsets.UTF_8),
+                "local:" + path));
+    }
+
+    private record Testcase(int index, Path input, Path expected) {
+    }
+
+    // 실행하지 않은 테스트 케이스는 verdict, error 모두 null
+    private record Completion(int index, Verdict verdict, Exception error) {
+    }
+
+    private record Verdict(boolean passed, String detail, String error, int runningTime, float memoryUsage) {
+        private static Verdict of(boolean passed, String detail, String error, int runningTime, float memoryUsage) {
+            return new Verdict(passed, detail, error, runningTime, memoryUsage);
+        }
+
+        private static Verdict failed() {
+            return new Verdict(false, null, null, 0, 0);
+        }
+
+        private TestcaseResult toResult(LocalJob job, int testcaseIndex) {
+            return job.resultBuilder()
+                    .testcaseIndex(testcaseIndex)
+                    .success(passed)
+                    .detail(detail)
+                    .error(error)
+                    .runningTime(runningTime)
+                    .memoryUsage(memoryUsage)
+                    .build();
+        }
+    }
+
+    private static class LocalJob {
+        private final String jobId;
+        private final Long userId;
+        private final CodeChallengeInfo challengeInfo;
+        private final String code;
+        private final Language codeLanguage;
+        private final long createdAt = System.nanoTime();
+        private final AtomicBoolean started = new AtomicBoolean();
+        // 중단/완료/전달 실패 등으로 더 이상 결과를 전달하지 않는 작업
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final boolean failFast;
+        // 실행 중인 테스트 케이스별 프로세스
+        private final Map<Integer, Process> processes = new ConcurrentHashMap<>();
+        // 이 번호보다 뒤의 테스트 케이스는 실행하지 않음 (fail-fast 로 처음 실패한 번호)
+        private final AtomicInteger lastTestcase = new AtomicInteger(Integer.MAX_VALUE);
+        private volatile boolean cancelled;
+
+        private LocalJob(String jobId, Long userId, CodeChallengeInfo challengeInfo, String code, Language codeLanguage,
+                         boolean failFast) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.challengeInfo = challengeInfo;
+            this.code = code;
+            this.codeLanguage = codeLanguage;
+            this.failFast = failFast;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            processes.values().forEach(Process::destroyForcibly);
+        }
+
+        // index 보다 뒤의 테스트 케이스 중단
+        private void abortAfter(int index) {
+            int last = lastTestcase.accumulateAndGet(index, Math::min);
+            processes.forEach((testcaseIndex, process) -> {
+                if (testcaseIndex > last) {
+                    process.destroyForcibly();
+                }
+            });
+        }
+
+        private boolean skips(int testcaseIndex) {
+            return cancelled || testcaseIndex > lastTestcase.get();
+        }
+
+        private int runningTimeLimit() {
+            return challengeInfo.getRunningTimeLimit() == null ? DEFAULT_RUNNING_TIME_LIMIT_MS : challengeInfo.getRunningTimeLimit();
+        }
+
+        private TestcaseResult.TestcaseResultBuilder resultBuilder() {
+            return TestcaseResult.builder()
+                    .userId(userId)
+                    .jobId(jobId)
+                    .questionId(challengeInfo.getQuestionId())
+                    .codeLanguage(codeLanguage)
+                    .codeSize(Base64.getDecoder().decode(code).length)
+                    .createdAt(LocalDateTime.now());
+        }
+    }
+}
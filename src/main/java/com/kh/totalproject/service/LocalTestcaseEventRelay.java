@@ -0,0 +1,37 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+// 단일 인스턴스 운영 시 사용하는 중계 구현체 (콜백을 받은 인스턴스에서 바로 전송)
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "code-challenge.sse.relay", havingValue = "local", matchIfMissing = true)
+public class LocalTestcaseEventRelay implements TestcaseEventRelay {
+    private final CodeChallengeService codeChallengeService;
+
+    @Override
+    public void claim(String jobId, Long userId) {
+        // 모든 구독이 이 인스턴스에 있으므로 기록할 필요 없음
+    }
+
+    @Override
+    public boolean reclaim(String jobId, Long userId) {
+        return true;
+    }
+
+    @Override
+    public SendTestcaseResultStatus deliver(TestcaseResult result) {
+        return codeChallengeService.sendTestcaseResult(result.getJobId(), result);
+    }
+
+    @Override
+    public Optional<Long> takeOver(String jobId) {
+        return Optional.empty();
+    }
+}
@@ -38,6 +38,7 @@ public class MyPageService {
     private final ReportRepository reportRepository;
     private final CommentRepository commentRepository;
     private final BoardReactionRepository boardReactionRepository;
+    private final BoardResponseMapper boardResponseMapper;
     private final SuggestionRepository suggestionRepository;
     private final JwtUtil jwtUtil;
 
@@ -176,17 +177,8 @@ public class MyPageService {
         Pageable pageable = PageRequest.of(page - 1, size, sort);
         Page<Board> boards = boardRepository.findByUserKey(user.getUserKey(), pageable);
 
-        // 게시글 목록을 BoardResponse로 변환하여 반환
-        return boards.map(board -> {
-
-            // 각 게시글에 대한 댓글, 좋아요, 싫어요 수 가져오기
-            int commentCnt = commentRepository.countCommentsByBoardId(board.getId()); // 수정
-            int likeCnt = boardReactionRepository.countLikesByBoardId(board.getId()); // 수정
-            int dislikeCnt = boardReactionRepository.countDislikesByBoardId(board.getId()); // 수정
-
-            // BoardResponse로 변환하여 반환
-            return BoardResponse.ofPost(board, commentCnt, likeCnt, dislikeCnt);
-        });
+        // 게시글 목록을 BoardResponse로 변환하여 반환 (댓글, 좋아요, 싫어요 수는 페이지 단위로 묶어서 조회)
+        return boardResponseMapper.mapToPostResponses(boards);
     }
 
     // Report 게시글 목록 서비스 구현 (해당 로직 요청시 시작값 status = INACTIVE / ACTIVE 로 설정 해줘야함)
@@ -0,0 +1,258 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * SSE 메시지를 emitter 별 전송 대기열에 넣고 전용 스레드 풀에서 전송하는 비동기 전송기입니다.
+ * Flask 콜백 요청 스레드는 대기열에 넣은 직후 응답하므로, 느리거나 멈춘 브라우저 연결이 Celery 작업을 붙잡지 않습니다.
+ * emitter 별 대기열은 최대 queue-capacity 개로 제한되며, 가득 찬 경우 GONE 을 반환하고 남은 메시지 전송 후 연결을 종료하여
+ * 브라우저가 Last-Event-ID 로 재연결해 버퍼에서 이어 받도록 합니다.
+ * 전송 중 연결 끊김(GONE) 또는 기타 오류(ERROR)는 대기열에 넣을 때 전달한 콜백으로 알립니다.
+ * emitter 종료도 대기열을 거치므로 먼저 넣은 메시지가 모두 전송된 뒤 종료됩니다.
+ */
+@Slf4j
+@Component
+public class SseEventWriter {
+    // 한 emitter 의 대기열을 연속으로 전송하는 최대 개수 (이후 다른 emitter 에 스레드를 양보)
+    private static final int DRAIN_BATCH = 32;
+
+    private final ConcurrentHashMap<SseEmitter, OutboundQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+    private final int queueCapacity;
+    private final ExecutorService writers;
+
+    private final Counter overflows;
+    private final Counter disconnectedFailures;
+    private final Counter errorFailures;
+    private final Timer sendLatency;
+
+    public SseEventWriter(
+        MeterRegistry meterRegistry,
+        @Value("${code-challenge.sse.queue-capacity:256}") int queueCapacity,
+        @Value("${code-challenge.sse.writer-threads:4}") int writerThreads
+    ) {
+        this.queueCapacity = queueCapacity;
+        this.writers = Executors.newFixedThreadPool(writerThreads);
+
+        Gauge.builder("code_challenge.sse.queue.depth", pendingEvents, AtomicInteger::get)
+                .description("전송 대기 중인 SSE 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("code_challenge.sse.queue.emitters", queues, Map::size)
+                .description("전송 대기 메시지가 있는 emitter 수")
+                .register(meterRegistry);
+        overflows = Counter.builder("code_challenge.sse.queue.overflows")
+                .description("대기열이 가득 차 종료된 SSE 연결 수")
+                .register(meterRegistry);
+        disconnectedFailures = failureCounter(meterRegistry, "disconnected");
+        errorFailures = failureCounter(meterRegistry, "error");
+        sendLatency = Timer.builder("code_challenge.sse.send.latency")
+                .description("대기열에 넣은 후 전송 완료까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("code_challenge.sse.send.failures")
+                .description("전송에 실패한 SSE 메시지 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+
+    // 대기열에 넣은 경우 SUCCESS, 대기열이 가득 찬 경우 GONE, 전송 스레드 풀이 종료된 경우 ERROR
+    public SendTestcaseResultStatus send(SseEmitter emitter, SseEmitter.SseEventBuilder event, Consumer<SendTestcaseResultStatus> onFailure) {
+        PendingEvent pendingEvent = new PendingEvent(event, onFailure, System.nanoTime());
+        while (true) {
+            OutboundQueue queue = queues.computeIfAbsent(emitter, OutboundQueue::new);
+            synchronized (queue) {
+                // 그 사이 전송이 끝나 제거된 대기열이면 새로 생성
+                if (queue.closed) {
+                    continue;
+                }
+                if (queue.completing) {
+                    return SendTestcaseResultStatus.GONE;
+                }
+                if (queue.events.size() >= queueCapacity) {
+                    // 느린 연결은 남은 메시지 전송 후 종료하여 재연결을 유도
+                    overflows.increment();
+                    queue.completing = true;
+                    queue.events.addLast(PendingEvent.COMPLETE);
+                    schedule(queue);
+                } else {
+                    queue.events.addLast(pendingEvent);
+                    pendingEvents.incrementAndGet();
+                    if (schedule(queue)) {
+                        return SendTestcaseResultStatus.SUCCESS;
+                    }
+                    queue.events.removeLast();
+                    pendingEvents.decrementAndGet();
+                    return SendTestcaseResultStatus.ERROR;
+                }
+            }
+            onFailure.accept(SendTestcaseResultStatus.GONE);
+            return SendTestcaseResultStatus.GONE;
+        }
+    }
+
+    // 먼저 넣은 메시지를 모두 전송한 뒤 emitter 종료
+    public void complete(SseEmitter emitter) {
+        OutboundQueue queue = queues.get(emitter);
+        if (queue != null) {
+            synchronized (queue) {
+                if (!queue.closed) {
+                    if (!queue.completing) {
+                        queue.completing = true;
+                        queue.events.addLast(PendingEvent.COMPLETE);
+                    }
+                    if (schedule(queue)) {
+                        return;
+                    }
+                    close(queue);
+                }
+            }
+        }
+        completeNow(emitter);
+    }
+
+    public int pendingCount() {
+        return pendingEvents.get();
+    }
+
+    // queue 잠금을 가진 상태에서 호출
+    private boolean schedule(OutboundQueue queue) {
+        if (queue.scheduled) {
+            return true;
+        }
+        try {
+            writers.execute(() -> drain(queue));
+            queue.scheduled = true;
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("SSE writer pool rejected a drain task, {} events pending", queue.events.size());
+            return false;
+        }
+    }
+
+    private void drain(OutboundQueue queue) {
+        for (int i = 0; i < DRAIN_BATCH; i++) {
+            PendingEvent next;
+            synchronized (queue) {
+                next = queue.events.pollFirst();
+                if (next == null) {
+                    close(queue);
+                    return;
+                }
+            }
+
+            if (next == PendingEvent.COMPLETE) {
+                synchronized (queue) {
+                    close(queue);
+                }
+                completeNow(queue.emitter);
+                return;
+            }
+
+            pendingEvents.decrementAndGet();
+            try {
+                queue.emitter.send(next.event());
+                sendLatency.record(System.nanoTime() - next.enqueuedAt(), TimeUnit.NANOSECONDS);
+            } catch (IOException e) {
+                // 클라이언트와의 SSE 연결이 모종의 이유(이탈, 네트워크 장애)로 끊어진 경우
+                disconnectedFailures.increment();
+                fail(queue, next, SendTestcaseResultStatus.GONE);
+                return;
+            } catch (Exception e) {
+                log.warn("Unexpected error occurred while sending queued SSE event", e);
+                errorFailures.increment();
+                fail(queue, next, SendTestcaseResultStatus.ERROR);
+                return;
+            }
+        }
+
+        // 한 emitter 가 전송 스레드를 독점하지 않도록 남은 메시지는 다시 제출
+        synchronized (queue) {
+            queue.scheduled = false;
+            if (queue.events.isEmpty()) {
+                close(queue);
+            } else if (!schedule(queue)) {
+                close(queue);
+            }
+        }
+    }
+
+    private void fail(OutboundQueue queue, PendingEvent failed, SendTestcaseResultStatus status) {
+        boolean completing;
+        synchronized (queue) {
+            completing = queue.completing;
+            close(queue);
+        }
+        if (completing) {
+            completeNow(queue.emitter);
+        }
+        failed.onFailure().accept(status);
+    }
+
+    // 남은 메시지를 버리고 대기열 제거, queue 잠금을 가진 상태에서 호출
+    private void close(OutboundQueue queue) {
+        for (PendingEvent event : queue.events) {
+            if (event != PendingEvent.COMPLETE) {
+                pendingEvents.decrementAndGet();
+            }
+        }
+        queue.events.clear();
+        queue.scheduled = false;
+        queue.closed = true;
+        queues.remove(queue.emitter, queue);
+    }
+
+    private void completeNow(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // 이미 complete 인 경우 또 complete 되어 발생하는 로그 제거
+        }
+    }
+
+    private record PendingEvent(SseEmitter.SseEventBuilder event, Consumer<SendTestcaseResultStatus> onFailure, long enqueuedAt) {
+        // 대기열의 메시지를 모두 전송한 뒤 emitter 를 종료하라는 표시
+        private static final PendingEvent COMPLETE = new PendingEvent(null, status -> {}, 0);
+    }
+
+    private static class OutboundQueue {
+        private final SseEmitter emitter;
+        private final ArrayDeque<PendingEvent> events = new ArrayDeque<>();
+        // 전송 스레드에 제출되어 있는지 여부
+        private boolean scheduled;
+        // 종료 표시를 넣은 후에는 새 메시지를 받지 않음
+        private boolean completing;
+        // 대기열이 비어 제거된 경우 (새 메시지는 새 대기열에 넣음)
+        private boolean closed;
+
+        private OutboundQueue(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
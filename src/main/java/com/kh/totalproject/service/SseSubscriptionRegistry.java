@@ -0,0 +1,388 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 코딩 테스트 채점 작업(jobId)별 SSE 구독 저장소입니다.
+ * submit 후 구독하지 않은 작업이나 Flask 작업이 중간에 종료되어 콜백이 오지 않는 작업의 emitter 가
+ * 재시작 전까지 남지 않도록 유저별/전체 최대 개수를 제한하고, 주기적으로 오래된 구독을 종료 후 제거합니다.
+ * 상한 초과 시 새 구독을 거부하지 않고 가장 오래된 구독을 제거합니다.
+ * 작업별로 최근 테스트 케이스 이벤트를 고정 크기 버퍼에 보관하여, 연결이 끊긴 브라우저가 재연결 시
+ * Last-Event-ID 이후의 이벤트를 다시 받을 수 있도록 합니다. 버퍼는 구독 제거(작업 완료) 시 함께 해제됩니다.
+ */
+@Slf4j
+@Component
+public class SseSubscriptionRegistry {
+    // 작업별 SSE emitter 수명 (code-challenge.sse.max-age-ms 는 이보다 길게 설정)
+    public static final long EMITTER_TIMEOUT_MS = 150_000L;
+
+    private final ConcurrentHashMap<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> jobIdsByUser = new ConcurrentHashMap<>();
+    // 구독이 제거(완료, 중단, 만료)될 때 jobId 를 전달받는 리스너
+    private final List<Consumer<String>> removalListeners = new CopyOnWriteArrayList<>();
+
+    // emitter 종료 시 전송 대기 중인 메시지를 먼저 보내도록 전송기를 거쳐 종료
+    private final SseEventWriter sseEventWriter;
+    private final int maxPerUser;
+    private final int maxTotal;
+    private final long pendingTtlNanos;
+    private final long maxAgeNanos;
+    private final int replayBufferSize;
+    private final long reconnectGraceNanos;
+
+    private final Counter expiredEvictions;
+    private final Counter pendingEvictions;
+    private final Counter userCapEvictions;
+    private final Counter globalCapEvictions;
+    private final Counter disconnectedEvictions;
+    private final Timer subscriptionAge;
+
+    public SseSubscriptionRegistry(
+        MeterRegistry meterRegistry,
+        SseEventWriter sseEventWriter,
+        @Value("${code-challenge.sse.max-per-user:5}") int maxPerUser,
+        @Value("${code-challenge.sse.max-total:10000}") int maxTotal,
+        @Value("${code-challenge.sse.pending-ttl-ms:30000}") long pendingTtlMs,
+        @Value("${code-challenge.sse.max-age-ms:180000}") long maxAgeMs,
+        @Value("${code-challenge.sse.replay-buffer-size:64}") int replayBufferSize,
+        @Value("${code-challenge.sse.reconnect-grace-ms:15000}") long reconnectGraceMs
+    ) {
+        this.sseEventWriter = sseEventWriter;
+        this.maxPerUser = maxPerUser;
+        this.maxTotal = maxTotal;
+        this.pendingTtlNanos = TimeUnit.MILLISECONDS.toNanos(pendingTtlMs);
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+        this.replayBufferSize = replayBufferSize;
+        this.reconnectGraceNanos = TimeUnit.MILLISECONDS.toNanos(reconnectGraceMs);
+
+        Gauge.builder("code_challenge.sse.subscriptions", subscriptions, Map::size)
+                .description("현재 등록된 SSE 구독 수")
+                .register(meterRegistry);
+        Gauge.builder("code_challenge.sse.oldest_age", this, registry -> registry.oldestAge().toMillis() / 1000.0)
+                .description("가장 오래된 SSE 구독의 경과 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        expiredEvictions = evictionCounter(meterRegistry, "expired");
+        pendingEvictions = evictionCounter(meterRegistry, "never_subscribed");
+        userCapEvictions = evictionCounter(meterRegistry, "user_cap");
+        globalCapEvictions = evictionCounter(meterRegistry, "global_cap");
+        disconnectedEvictions = evictionCounter(meterRegistry, "disconnected");
+        subscriptionAge = Timer.builder("code_challenge.sse.subscription.age")
+                .description("제거된 SSE 구독의 등록 후 경과 시간")
+                .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("code_challenge.sse.evictions")
+                .description("강제로 종료된 SSE 구독 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public void register(String jobId, Long userId, SseEmitter emitter) {
+        Subscription subscription = new Subscription(jobId, userId, emitter, System.nanoTime());
+        Subscription previous = subscriptions.put(jobId, subscription);
+        if (previous != null) {
+            complete(previous);
+            removeFromUser(previous);
+        }
+
+        if (userId != null) {
+            Set<String> userJobIds = jobIdsByUser.compute(userId, (id, jobIds) -> {
+                Set<String> result = jobIds == null ? ConcurrentHashMap.newKeySet() : jobIds;
+                result.add(jobId);
+                return result;
+            });
+            while (userJobIds.size() > maxPerUser) {
+                if (!evictOldest(userJobIds.stream().map(subscriptions::get), jobId, userCapEvictions)) {
+                    break;
+                }
+            }
+        }
+        while (subscriptions.size() > maxTotal) {
+            if (!evictOldest(subscriptions.values().stream(), jobId, globalCapEvictions)) {
+                break;
+            }
+        }
+    }
+
+    public void addRemovalListener(Consumer<String> listener) {
+        removalListeners.add(listener);
+    }
+
+    public SseEmitter get(String jobId) {
+        Subscription subscription = subscriptions.get(jobId);
+        return subscription == null ? null : subscription.getEmitter();
+    }
+
+    // 클라이언트가 /subscribe 로 연결한 작업 표시 (구독하지 않은 작업은 더 짧은 시간 후 제거)
+    // 처음 구독하는 경우 true, 이미 구독한 적 있는 작업(재연결)이면 false
+    public synchronized boolean markSubscribed(String jobId) {
+        Subscription subscription = subscriptions.get(jobId);
+        if (subscription == null || subscription.subscribed) {
+            return false;
+        }
+        subscription.subscribed = true;
+        return true;
+    }
+
+    // 재연결 시 재전송할 수 있도록 전송할 이벤트를 버퍼에 보관 (버퍼가 가득 차면 가장 오래된 이벤트부터 삭제)
+    public void recordEvent(String jobId, String eventId, Object data) {
+        Subscription subscription = subscriptions.get(jobId);
+        if (subscription != null) {
+            subscription.record(new ReplayEvent(eventId, data), replayBufferSize);
+        }
+    }
+
+    // 클라이언트 연결이 끊긴 경우 구독을 바로 제거하지 않고 재연결을 기다림
+    // 재연결 대기 시간 이내이면 true (이후 이벤트는 버퍼에만 쌓임), 대기 시간이 지났으면 false
+    public boolean detach(String jobId, SseEmitter emitter) {
+        Subscription subscription = subscriptions.get(jobId);
+        if (subscription == null) {
+            return false;
+        }
+        // 이미 새 연결로 교체된 경우 이전 연결의 끊김은 무시
+        if (subscription.getEmitter() != emitter) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (subscription.detachedAt == 0) {
+            subscription.detachedAt = now;
+        }
+        return now - subscription.detachedAt <= reconnectGraceNanos;
+    }
+
+    public boolean isDetached(String jobId) {
+        Subscription subscription = subscriptions.get(jobId);
+        return subscription != null && subscription.detachedAt != 0;
+    }
+
+    // 구독 중인 emitter 로 보낼 이벤트를 버퍼에 저장한 뒤 sender 로 전송, 재연결(reattach)과 겹치지 않도록 구독 단위로 처리
+    // 구독이 없으면 CLIENT_NOT_FOUND, 연결이 끊긴 상태이면 버퍼에만 저장하고 GONE
+    public SendTestcaseResultStatus publish(
+        String jobId,
+        String eventId,
+        Object data,
+        Function<SseEmitter, SendTestcaseResultStatus> sender
+    ) {
+        Subscription subscription = subscriptions.get(jobId);
+        if (subscription == null) {
+            return SendTestcaseResultStatus.CLIENT_NOT_FOUND;
+        }
+        synchronized (subscription) {
+            subscription.record(new ReplayEvent(eventId, data), replayBufferSize);
+            if (subscription.detachedAt != 0) {
+                return SendTestcaseResultStatus.GONE;
+            }
+            return sender.apply(subscription.getEmitter());
+        }
+    }
+
+    // 재연결한 클라이언트의 새 emitter 로 교체 후 lastEventId 이후의 이벤트 반환
+    // 교체 전에 replay 로 이벤트를 넘겨 새 emitter 의 전송 대기열에 먼저 넣도록 하여, 이후 publish 되는 이벤트가 앞지르지 않음
+    public List<ReplayEvent> reattach(
+        String jobId,
+        SseEmitter emitter,
+        @Nullable Integer lastEventId,
+        Consumer<List<ReplayEvent>> replay
+    ) {
+        Subscription subscription = subscriptions.get(jobId);
+        if (subscription == null) {
+            return null;
+        }
+        SseEmitter previous;
+        List<ReplayEvent> events;
+        synchronized (subscription) {
+            previous = subscription.getEmitter();
+            events = subscription.eventsAfter(lastEventId);
+            replay.accept(events);
+            subscription.emitter = emitter;
+            subscription.subscribed = true;
+            subscription.detachedAt = 0;
+        }
+        if (previous != emitter) {
+            sseEventWriter.complete(previous);
+        }
+        return events;
+    }
+
+    // 현재 연결된 emitter 의 구독인 경우에만 제거 (재연결로 교체된 이전 emitter 의 종료 콜백은 무시)
+    public void removeIfCurrent(String jobId, SseEmitter emitter) {
+        Subscription subscription = subscriptions.get(jobId);
+        if (subscription != null && subscription.getEmitter() == emitter && subscription.detachedAt == 0) {
+            remove(jobId);
+        }
+    }
+
+    // 구독 제거 후 emitter 종료, 이미 제거된 경우 무시
+    public void remove(String jobId) {
+        Subscription subscription = subscriptions.remove(jobId);
+        if (subscription != null) {
+            removeFromUser(subscription);
+            complete(subscription);
+            notifyRemoved(subscription);
+        }
+    }
+
+    public int size() {
+        return subscriptions.size();
+    }
+
+    // 구독이 남아 있는 유저 수
+    public int userCount() {
+        return jobIdsByUser.size();
+    }
+
+    public int userSubscriptionCount(Long userId) {
+        Set<String> jobIds = jobIdsByUser.get(userId);
+        return jobIds == null ? 0 : jobIds.size();
+    }
+
+    public double evictionCount() {
+        return expiredEvictions.count() + pendingEvictions.count() + userCapEvictions.count() + globalCapEvictions.count()
+                + disconnectedEvictions.count();
+    }
+
+    public Duration oldestAge() {
+        long now = System.nanoTime();
+        long oldest = subscriptions.values().stream()
+                .mapToLong(subscription -> now - subscription.getCreatedAt())
+                .max()
+                .orElse(0);
+        return Duration.ofNanos(oldest);
+    }
+
+    // 구독하지 않은 채 pending-ttl 이 지났거나, max-age 가 지났거나, 연결이 끊긴 후 재연결 대기 시간이 지난 구독을 종료
+    @Scheduled(fixedDelayString = "${code-challenge.sse.reap-interval-ms:10000}")
+    public void reap() {
+        long now = System.nanoTime();
+        int reaped = 0;
+        for (Subscription subscription : subscriptions.values()) {
+            long age = now - subscription.getCreatedAt();
+            if (age > maxAgeNanos) {
+                reaped += evict(subscription, expiredEvictions) ? 1 : 0;
+            } else if (!subscription.subscribed && age > pendingTtlNanos) {
+                reaped += evict(subscription, pendingEvictions) ? 1 : 0;
+            } else if (subscription.detachedAt != 0 && now - subscription.detachedAt > reconnectGraceNanos) {
+                reaped += evict(subscription, disconnectedEvictions) ? 1 : 0;
+            }
+        }
+        if (reaped > 0) {
+            log.info("오래된 SSE 구독 {}건 제거, 남은 구독 : {}건", reaped, subscriptions.size());
+        }
+    }
+
+    private boolean evictOldest(Stream<Subscription> candidates, String exceptJobId, Counter counter) {
+        return candidates
+                .filter(subscription -> subscription != null && !subscription.getJobId().equals(exceptJobId))
+                .min(Comparator.comparingLong(Subscription::getCreatedAt))
+                .map(subscription -> evict(subscription, counter))
+                .orElse(false);
+    }
+
+    private boolean evict(Subscription subscription, Counter counter) {
+        // 그 사이 다른 스레드가 같은 jobId 로 새로 등록한 구독은 제거하지 않음
+        if (!subscriptions.remove(subscription.getJobId(), subscription)) {
+            return false;
+        }
+        removeFromUser(subscription);
+        complete(subscription);
+        notifyRemoved(subscription);
+        counter.increment();
+        return true;
+    }
+
+    private void notifyRemoved(Subscription subscription) {
+        for (Consumer<String> listener : removalListeners) {
+            listener.accept(subscription.getJobId());
+        }
+    }
+
+    private void removeFromUser(Subscription subscription) {
+        if (subscription.getUserId() == null) {
+            return;
+        }
+        jobIdsByUser.computeIfPresent(subscription.getUserId(), (userId, jobIds) -> {
+            jobIds.remove(subscription.getJobId());
+            return jobIds.isEmpty() ? null : jobIds;
+        });
+    }
+
+    private void complete(Subscription subscription) {
+        subscriptionAge.record(System.nanoTime() - subscription.getCreatedAt(), TimeUnit.NANOSECONDS);
+        sseEventWriter.complete(subscription.getEmitter());
+    }
+
+    public record ReplayEvent(String id, Object data) {
+    }
+
+    @Getter
+    private static class Subscription {
+        private final String jobId;
+        private final Long userId;
+        private final long createdAt;
+        private final ArrayDeque<ReplayEvent> replayBuffer = new ArrayDeque<>();
+        private volatile SseEmitter emitter;
+        private volatile boolean subscribed;
+        // 클라이언트 연결이 끊긴 시각 (연결 중이면 0)
+        private volatile long detachedAt;
+
+        private Subscription(String jobId, Long userId, SseEmitter emitter, long createdAt) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.createdAt = createdAt;
+        }
+
+        private synchronized void record(ReplayEvent event, int capacity) {
+            if (replayBuffer.size() >= capacity) {
+                replayBuffer.pollFirst();
+            }
+            replayBuffer.addLast(event);
+        }
+
+        // 이벤트 id 는 테스트 케이스 번호이므로 숫자로 비교
+        private synchronized List<ReplayEvent> eventsAfter(@Nullable Integer lastEventId) {
+            List<ReplayEvent> events = new ArrayList<>();
+            for (ReplayEvent event : replayBuffer) {
+                if (lastEventId == null || parseId(event.id()) > lastEventId) {
+                    events.add(event);
+                }
+            }
+            return events;
+        }
+
+        private static int parseId(String id) {
+            try {
+                return Integer.parseInt(id);
+            } catch (NumberFormatException e) {
+                return Integer.MAX_VALUE;
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.ChallengeDifficulty;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 유저별 코딩 테스트 제출 허용 여부를 판단하는 제한기입니다.
+ * 문제 난이도별로 분당 제출 수(토큰 버킷, burst 만큼 연속 제출 허용)와 동시에 진행 중인 채점 작업 수를 제한합니다.
+ * 토큰 버킷은 다음 토큰 사용 가능 시각 하나만 저장하는 GCRA 방식으로, 유저별 상태를 잠금 없이 CAS 로 갱신합니다.
+ * 허용된 제출은 jobId 와 연결되며, SSE 구독이 제거(완료, 중단, 만료)될 때 동시 작업 수가 반환됩니다.
+ * 인스턴스별로 동작하므로 여러 인스턴스로 운영하는 경우 실제 허용량은 인스턴스 수만큼 늘어납니다.
+ */
+@Slf4j
+@Component
+public class SubmissionRateLimiter {
+    private static final ChallengeDifficulty[] DIFFICULTIES = ChallengeDifficulty.values();
+
+    private final Map<ChallengeDifficulty, Limits> limits;
+    private final long concurrentRetryAfterMs;
+    private final ConcurrentHashMap<Long, UserState> users = new ConcurrentHashMap<>();
+    // 허용된 작업의 jobId 별 유저 (구독 제거 시 동시 작업 수 반환)
+    private final ConcurrentHashMap<String, Long> jobs = new ConcurrentHashMap<>();
+    private final SseSubscriptionRegistry subscriptionRegistry;
+
+    private final Counter rateRejections;
+    private final Counter concurrencyRejections;
+
+    @Autowired
+    public SubmissionRateLimiter(
+        Environment environment,
+        MeterRegistry meterRegistry,
+        SseSubscriptionRegistry subscriptionRegistry,
+        @Value("${code-challenge.rate-limit.concurrent-retry-after-ms:2000}") long concurrentRetryAfterMs
+    ) {
+        this(limitsFrom(environment), meterRegistry, subscriptionRegistry, concurrentRetryAfterMs);
+    }
+
+    public SubmissionRateLimiter(
+        Map<ChallengeDifficulty, Limits> limits,
+        MeterRegistry meterRegistry,
+        SseSubscriptionRegistry subscriptionRegistry,
+        long concurrentRetryAfterMs
+    ) {
+        this.limits = new EnumMap<>(limits);
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.concurrentRetryAfterMs = concurrentRetryAfterMs;
+
+        rateRejections = rejectionCounter(meterRegistry, "rate");
+        concurrencyRejections = rejectionCounter(meterRegistry, "concurrency");
+        Gauge.builder("code_challenge.rate_limit.in_flight", jobs, Map::size)
+                .description("제출 제한기에 등록된 진행 중인 채점 작업 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("code_challenge.rate_limit.rejections")
+                .description("제출 제한으로 거부된 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // code-challenge.rate-limit.{난이도}.per-minute / burst / max-concurrent
+    private static Map<ChallengeDifficulty, Limits> limitsFrom(Environment environment) {
+        Map<ChallengeDifficulty, Limits> limits = new EnumMap<>(ChallengeDifficulty.class);
+        for (ChallengeDifficulty difficulty : DIFFICULTIES) {
+            String prefix = "code-challenge.rate-limit." + difficulty.name().toLowerCase() + ".";
+            limits.put(difficulty, new Limits(
+                    environment.getProperty(prefix + "per-minute", Integer.class, 10),
+                    environment.getProperty(prefix + "burst", Integer.class, 3),
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, 2)));
+        }
+        return limits;
+    }
+
+    @PostConstruct
+    public void start() {
+        subscriptionRegistry.addRemovalListener(this::release);
+    }
+
+    // 허용된 경우 동시 작업 수를 1 증가시키며, 이후 bind 또는 cancel 로 반드시 연결/반환해야 함
+    public Admission tryAcquire(Long userId, ChallengeDifficulty difficulty) {
+        Limits limit = limits.get(difficulty);
+        UserState state = users.computeIfAbsent(userId, id -> new UserState());
+
+        // 동시 작업 수를 먼저 확보하고, 토큰이 없으면 되돌림 (거부된 요청이 토큰을 소모하지 않도록)
+        int inFlight;
+        do {
+            inFlight = state.inFlight.get();
+            if (inFlight >= limit.maxConcurrent()) {
+                concurrencyRejections.increment();
+                return Admission.rejected(concurrentRetryAfterMs);
+            }
+        } while (!state.inFlight.compareAndSet(inFlight, inFlight + 1));
+
+        long retryAfterNanos = state.takeToken(difficulty.ordinal(), limit, System.nanoTime());
+        if (retryAfterNanos > 0) {
+            state.inFlight.decrementAndGet();
+            rateRejections.increment();
+            return Admission.rejected((retryAfterNanos + 999_999) / 1_000_000);
+        }
+        return Admission.ADMITTED;
+    }
+
+    // 채점 작업 생성 후 jobId 와 연결 (구독 제거 시 반환)
+    public void bind(String jobId, Long userId) {
+        Long previous = jobs.put(jobId, userId);
+        if (previous != null) {
+            decrement(previous);
+        }
+    }
+
+    // 채점 작업 생성에 실패한 경우 반환
+    public void cancel(Long userId) {
+        decrement(userId);
+    }
+
+    public void release(String jobId) {
+        Long userId = jobs.remove(jobId);
+        if (userId != null) {
+            decrement(userId);
+        }
+    }
+
+    public int inFlight(Long userId) {
+        UserState state = users.get(userId);
+        return state == null ? 0 : state.inFlight.get();
+    }
+
+    private void decrement(Long userId) {
+        UserState state = users.get(userId);
+        if (state != null) {
+            state.inFlight.updateAndGet(count -> Math.max(0, count - 1));
+        }
+    }
+
+    // 진행 중인 작업이 없고 토큰이 모두 채워진 유저 상태 제거
+    // 제거와 동시에 진행된 제출은 새 상태로 처리되어 최대 burst 만큼 추가 허용될 수 있음
+    @Scheduled(fixedDelayString = "${code-challenge.sse.reap-interval-ms:10000}")
+    public void removeIdleUsers() {
+        long now = System.nanoTime();
+        users.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    public record Limits(int perMinute, int burst, int maxConcurrent) {
+        private long emissionIntervalNanos() {
+            return TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+        }
+
+        private long burstToleranceNanos() {
+            return emissionIntervalNanos() * (Math.max(1, burst) - 1);
+        }
+    }
+
+    public record Admission(boolean admitted, long retryAfterMs) {
+        private static final Admission ADMITTED = new Admission(true, 0);
+
+        private static Admission rejected(long retryAfterMs) {
+            return new Admission(false, retryAfterMs);
+        }
+
+        // Retry-After 헤더 값 (초 단위 올림)
+        public long retryAfterSeconds() {
+            return Math.max(1, (retryAfterMs + 999) / 1000);
+        }
+    }
+
+    private static class UserState {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // 난이도별 다음 제출의 이론상 도착 시각 (GCRA TAT, 0 은 미사용)
+        private final AtomicLongArray theoreticalArrivals = new AtomicLongArray(DIFFICULTIES.length);
+        private final AtomicLong lastSeen = new AtomicLong(System.nanoTime());
+
+        // 토큰을 사용한 경우 0, 부족한 경우 다음 토큰까지 남은 시간
+        private long takeToken(int index, Limits limit, long now) {
+            lastSeen.set(now);
+            long interval = limit.emissionIntervalNanos();
+            long tolerance = limit.burstToleranceNanos();
+            while (true) {
+                long current = theoreticalArrivals.get(index);
+                long arrival = current == 0 || current - now < 0 ? now : current;
+                long waitNanos = arrival - tolerance - now;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrivals.compareAndSet(index, current, arrival + interval)) {
+                    return 0;
+                }
+            }
+        }
+
+        private boolean isIdle(long now) {
+            if (inFlight.get() > 0) {
+                return false;
+            }
+            for (int i = 0; i < theoreticalArrivals.length(); i++) {
+                long arrival = theoreticalArrivals.get(i);
+                if (arrival != 0 && arrival - now > 0) {
+                    return false;
+                }
+            }
+            return now - lastSeen.get() > TimeUnit.MINUTES.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+
+import java.util.Optional;
+
+/**
+ * Flask 콜백(테스트 케이스 결과)을 SSE 구독이 등록된 서버 인스턴스로 전달하는 중계 계층입니다.
+ * SseEmitter 는 /submit 을 처리한 인스턴스의 메모리에만 존재하므로, 여러 인스턴스로 운영 시
+ * 콜백을 받은 인스턴스가 아닌 구독을 가진 인스턴스에서 SSE 메시지를 전송해야 합니다.
+ * code-challenge.sse.relay 설정으로 구현체를 선택합니다. (local : 단일 인스턴스, database : DB 폴링)
+ */
+public interface TestcaseEventRelay {
+    // 이 인스턴스에 작업의 구독이 등록되었음을 기록
+    void claim(String jobId, Long userId);
+
+    // 구독을 가진 인스턴스로 결과 전달
+    // 다른 인스턴스로 전달한 경우 전송 결과를 기다리지 않고 SUCCESS 반환
+    SendTestcaseResultStatus deliver(TestcaseResult result);
+
+    // 재시작 후 judge_job 기록으로 구독을 복구하기 전에 호출
+    // 다른 인스턴스가 구독을 가진 작업이면 false (복구하지 않음), 기록이 없거나 이 인스턴스의 작업이면 기록 후 true
+    boolean reclaim(String jobId, Long userId);
+
+    // 다른 인스턴스에 등록된 작업으로 /subscribe 요청이 들어온 경우 구독을 이 인스턴스로 옮김
+    // 옮긴 경우 작업을 제출한 유저 id, 등록된 작업이 없으면 empty
+    Optional<Long> takeOver(String jobId);
+}
@@ -0,0 +1,81 @@
+package com.kh.totalproject.service;
+
+import com.kh.totalproject.entity.VerdictCacheInvalidation;
+import com.kh.totalproject.repository.VerdictCacheInvalidationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 채점 결과 캐시(JudgeVerdictCache)의 무효화를 모든 인스턴스에 전달합니다.
+ * 캐시는 인스턴스별로 보관되므로, code-challenge.sse.relay=database 로 여러 인스턴스를 운영하면
+ * 요청을 받은 인스턴스는 자신의 캐시를 비운 뒤 verdict_cache_invalidation 에 요청을 기록하고,
+ * 각 인스턴스는 invalidation-poll-ms 주기로 마지막으로 처리한 id 이후의 요청을 조회하여 자신의 캐시를 비웁니다.
+ * 다른 인스턴스에는 최대 폴링 주기만큼 늦게 반영됩니다.
+ */
+@Slf4j
+@Service
+public class VerdictCacheInvalidationRelay {
+    private static final int POLL_BATCH_SIZE = 100;
+
+    private final JudgeVerdictCache judgeVerdictCache;
+    private final VerdictCacheInvalidationRepository invalidationRepository;
+    private final boolean shared;
+    private final long ttlMs;
+    // 이 인스턴스가 마지막으로 반영한 요청 id (기동 전 요청은 비어 있는 캐시와 무관하므로 건너뜀)
+    private volatile long lastSeenId;
+
+    public VerdictCacheInvalidationRelay(
+        JudgeVerdictCache judgeVerdictCache,
+        VerdictCacheInvalidationRepository invalidationRepository,
+        @Value("${code-challenge.sse.relay:local}") String relay,
+        @Value("${code-challenge.verdict-cache.ttl-ms:3600000}") long ttlMs
+    ) {
+        this.judgeVerdictCache = judgeVerdictCache;
+        this.invalidationRepository = invalidationRepository;
+        this.shared = judgeVerdictCache.isEnabled() && "database".equals(relay);
+        this.ttlMs = ttlMs;
+        this.lastSeenId = shared ? invalidationRepository.findMaxId() : 0L;
+    }
+
+    // 이 인스턴스의 캐시를 바로 비우고, 여러 인스턴스 운영 중이면 다른 인스턴스에도 전달 (questionId 가 null 이면 전체)
+    public void invalidate(@Nullable Long questionId) {
+        judgeVerdictCache.invalidate(questionId);
+        if (shared) {
+            invalidationRepository.save(VerdictCacheInvalidation.builder()
+                    .questionId(questionId)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    // 다른 인스턴스가 기록한 무효화 요청 반영 (자신이 기록한 요청도 다시 반영되지만 캐시를 한번 더 비울 뿐이므로 구분하지 않음)
+    @Scheduled(fixedDelayString = "${code-challenge.verdict-cache.invalidation-poll-ms:1000}")
+    public void poll() {
+        if (!shared) {
+            return;
+        }
+        List<VerdictCacheInvalidation> invalidations;
+        do {
+            invalidations = invalidationRepository.findAfter(lastSeenId, PageRequest.of(0, POLL_BATCH_SIZE));
+            for (VerdictCacheInvalidation invalidation : invalidations) {
+                judgeVerdictCache.invalidate(invalidation.getQuestionId());
+                lastSeenId = invalidation.getId();
+            }
+        } while (invalidations.size() == POLL_BATCH_SIZE);
+    }
+
+    @Scheduled(fixedDelayString = "${code-challenge.sse.reap-interval-ms:10000}")
+    public void cleanUp() {
+        if (shared) {
+            invalidationRepository.deleteCreatedBefore(LocalDateTime.now().minus(Duration.ofMillis(ttlMs)));
+        }
+    }
+}
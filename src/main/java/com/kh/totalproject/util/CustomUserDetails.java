@@ -18,14 +18,21 @@ public class CustomUserDetails implements UserDetails {
     private final String nickname;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
+    // 토큰 발급 시점의 User.tokenVersion (null 이면 토큰에 버전 claim 을 싣지 않음)
+    private final Integer tokenVersion;
 
     public CustomUserDetails(String userId, String email, String nickname, Long userKey, String password, Collection<? extends GrantedAuthority> authorities){
+        this(userId, email, nickname, userKey, password, authorities, null);
+    }
+
+    public CustomUserDetails(String userId, String email, String nickname, Long userKey, String password, Collection<? extends GrantedAuthority> authorities, Integer tokenVersion){
         this.userId = userId;
         this.email = email;
         this.nickname = nickname;
         this.userKey = userKey;
         this.password = password;
         this.authorities = authorities;
+        this.tokenVersion = tokenVersion;
     }
 
 
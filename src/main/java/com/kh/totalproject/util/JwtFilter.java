@@ -9,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -34,8 +35,13 @@ public class JwtFilter extends OncePerRequestFilter {
 //        log.info("token? : {}",jwtUtil.validateToken(jwt));
         if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)){
 //           log.info("token?! : {}",jwtUtil.validateToken(jwt));
-            Authentication authentication = jwtUtil.getAuthentication(jwt);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            try {
+                Authentication authentication = jwtUtil.getAuthentication(jwt);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } catch (AuthenticationException e) {
+                // 탈퇴한 유저 혹은 무효화된 토큰은 인증 정보 없이 진행 (EntryPoint 에서 401 처리)
+                log.info("JWT 인증 실패 : {}", e.getMessage());
+            }
         }
         filterChain.doFilter(request, response);
     }
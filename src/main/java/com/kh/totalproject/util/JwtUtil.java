@@ -6,12 +6,14 @@ import com.kh.totalproject.dto.response.TokenResponse;
 import com.kh.totalproject.repository.UserRepository;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -19,23 +21,40 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.crypto.SecretKey;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 // 기존 강의의 TokenProvider 역할
 public class JwtUtil {
 
-    private final String secretKey;
     private static final long EXPIRATION_TIME = 1000*60*60;
+    // 같은 요청 안에서 이미 서명 검증한 토큰의 claim 을 재사용하기 위한 request attribute 이름
+    private static final String PARSED_CLAIMS_ATTRIBUTE = JwtUtil.class.getName() + ".PARSED_CLAIMS";
+    // 서명 키와 파서는 불변 객체이고 thread-safe 하므로 한번만 생성해서 재사용
+    private final SecretKey key;
+    private final JwtParser jwtParser;
     private final UserRepository userRepository;
+    private final JwtConfig jwtConfig;
+    // 이 인스턴스가 알고 있는 유저별 최신 tokenVersion
+    // 비밀번호 재설정 등으로 버전이 올라간 유저의 이전 토큰은 claim 만으로 인증하지 않고 DB 로 재검증
+    // (다른 인스턴스에서 올린 버전은 Access Token 만료 시간(1시간) 안에 반영됨)
+    private final ConcurrentHashMap<Long, Integer> latestTokenVersions = new ConcurrentHashMap<>();
 
     // Secret key 받아오기
     public JwtUtil(JwtConfig jwtConfig, UserRepository userRepository){
-        this.secretKey= jwtConfig.getSecretKey();
+        this.key = Keys.hmacShaKeyFor(jwtConfig.getSecretKey().getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(key)
+                .build();
         this.userRepository = userRepository;
+        this.jwtConfig = jwtConfig;
     }
 
     // JWT 생성
@@ -95,14 +114,14 @@ public class JwtUtil {
                 user.getNickname(),
                 user.getUserKey(),
                 user.getPassword(),
-                Collections.singleton(new SimpleGrantedAuthority(user.getRole().toString()))
+                Collections.singleton(new SimpleGrantedAuthority(user.getRole().toString())),
+                user.getTokenVersion()
         );
         return generateTokenFromUserDetails(userDetails, response);
     }
 
     // 내부적으로 JWT 생성 로직을 담당하는 메서드
     private TokenResponse generateTokenFromUserDetails(CustomUserDetails userDetails, HttpServletResponse response) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
         long now = (new Date()).getTime();
         Date accessTokenExpiresIn = new Date(now + EXPIRATION_TIME);
         Date refreshTokenExpiresIn = new Date(now + 60 * 60 * 1000 * 24 * 7); // 일주일
@@ -112,6 +131,8 @@ public class JwtUtil {
                 .subject(String.valueOf(userDetails.getUserKey()))
                 .claim("nickname", userDetails.getNickname())
                 .claim("authorities", userDetails.getAuthorities())
+                .claim("role", joinAuthorities(userDetails.getAuthorities()))
+                .claim("ver", userDetails.getTokenVersion())
                 .issuedAt(new Date())
                 .expiration(accessTokenExpiresIn)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -121,6 +142,7 @@ public class JwtUtil {
         String refreshToken = Jwts.builder()
                 .subject(String.valueOf(userDetails.getUserKey()))
                 .claim("authorities", userDetails.getAuthorities())
+                .claim("ver", userDetails.getTokenVersion())
                 .issuedAt(new Date())
                 .expiration(refreshTokenExpiresIn)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -154,14 +176,14 @@ public class JwtUtil {
                 user.getNickname(),
                 user.getUserKey(),
                 user.getPassword(),
-                Collections.singleton(new SimpleGrantedAuthority(user.getRole().toString()))
+                Collections.singleton(new SimpleGrantedAuthority(user.getRole().toString())),
+                user.getTokenVersion()
         );
         return generateTokenFromUserDetails(userDetails);
     }
 
     // 내부적으로 JWT 생성 로직을 담당하는 메서드
     private TokenResponse generateTokenFromUserDetails(CustomUserDetails userDetails) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
         long now = (new Date()).getTime();
         Date accessTokenExpiresIn = new Date(now + EXPIRATION_TIME);
         Date refreshTokenExpiresIn = new Date(now + 60 * 60 * 1000 * 24 * 6); // 6일
@@ -171,6 +193,8 @@ public class JwtUtil {
                 .subject(String.valueOf(userDetails.getUserKey()))
                 .claim("nickname", userDetails.getNickname())
                 .claim("authorities", userDetails.getAuthorities())
+                .claim("role", joinAuthorities(userDetails.getAuthorities()))
+                .claim("ver", userDetails.getTokenVersion())
                 .issuedAt(new Date())
                 .expiration(accessTokenExpiresIn)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -181,6 +205,7 @@ public class JwtUtil {
                 .subject(String.valueOf(userDetails.getUserKey()))
                 .claim("nickname", userDetails.getNickname())
                 .claim("authorities", userDetails.getAuthorities())
+                .claim("ver", userDetails.getTokenVersion())
                 .issuedAt(new Date())
                 .expiration(refreshTokenExpiresIn)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -196,37 +221,94 @@ public class JwtUtil {
     public Authentication getAuthentication(String token){
         Claims claims = parseToken(token);
 
+        // stateless 모드에서는 서명된 claim 만으로 인증 객체 생성
+        // claim 이 누락되었거나(이전 버전 토큰, Refresh Token) 버전이 오래된 경우에만 DB 조회
+        CustomUserDetails userDetails = jwtConfig.isStatelessAuthentication() ? buildUserDetailsFromClaims(claims) : null;
+        if (userDetails == null) {
+            userDetails = loadUserDetails(claims);
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, token, userDetails.getAuthorities());
+    }
+
+    // 비밀번호 재설정 등으로 User.tokenVersion 이 올라간 경우 호출, 이전 버전 토큰은 DB 재검증 후 거부됨
+    public void updateTokenVersion(com.kh.totalproject.entity.User user) {
+        if (user.getTokenVersion() != null) {
+            latestTokenVersions.merge(user.getUserKey(), user.getTokenVersion(), Math::max);
+        }
+    }
+
+    // claim 만으로 CustomUserDetails 생성, DB 조회가 필요한 경우 null 반환
+    private CustomUserDetails buildUserDetailsFromClaims(Claims claims) {
+        String nickname = claims.get("nickname", String.class);
+        String role = claims.get("role", String.class);
+        Integer version = claims.get("ver", Integer.class);
+        if (nickname == null || role == null || version == null) {
+            return null;
+        }
+
+        Long userKey = Long.valueOf(claims.getSubject());
+        Integer latestVersion = latestTokenVersions.get(userKey);
+        if (latestVersion != null && latestVersion > version) {
+            return null;
+        }
+
+        Collection<? extends GrantedAuthority> authorities =
+                Arrays.stream(role.split(","))
+                        .map(SimpleGrantedAuthority::new)
+                        .toList();
+        // 아이디, 이메일, 비밀번호는 토큰에 싣지 않음 (인증 이후 필요한 곳은 userKey 로 조회)
+        return new CustomUserDetails(null, null, nickname, userKey, null, authorities, version);
+    }
+
+    // Access Token 만료시 인증 객체 커스텀 필드
+    // 로그인때와 마찬가지로 유저 정보를 확인후 검증
+    private CustomUserDetails loadUserDetails(Claims claims) {
         String primaryKey = claims.getSubject();
         com.kh.totalproject.entity.User user = userRepository.findById(Long.valueOf(primaryKey))
                 .orElseThrow(()-> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+        updateTokenVersion(user);
 
-        Collection<? extends GrantedAuthority> authorities=
-                Arrays.stream(claims.get("authorities").toString().split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .toList();
+        Integer version = claims.get("ver", Integer.class);
+        if (version != null && user.getTokenVersion() != null && version < user.getTokenVersion()) {
+            throw new BadCredentialsException("무효화된 토큰입니다.");
+        }
 
-        // Access Token 만료시 인증 객체 커스텀 필드
-        // 로그인때와 마찬가지로 유저 정보를 확인후 검증
-        CustomUserDetails userDetails = new CustomUserDetails(
+        return new CustomUserDetails(
                 user.getUserId(),
                 user.getEmail(),
                 user.getNickname(),
                 user.getUserKey(),
                 user.getPassword(),
-                Collections.singleton(new SimpleGrantedAuthority(user.getRole().toString()))
+                Collections.singleton(new SimpleGrantedAuthority(user.getRole().toString())),
+                user.getTokenVersion()
         );
-        return new UsernamePasswordAuthenticationToken(userDetails, token, authorities);
     }
 
+    private String joinAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+    }
+
+    // JwtFilter 의 validateToken, getAuthentication 및 서비스 계층의 extractUserId 가 같은 토큰을 다시 파싱하지 않도록
+    // 요청 범위에 검증된 claim 을 보관하고 재사용
     public Claims parseToken(String token){
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
-        return Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(PARSED_CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ParsedClaims parsed
+                && parsed.token().equals(token)) {
+            return parsed.claims();
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(PARSED_CLAIMS_ATTRIBUTE, new ParsedClaims(token, claims), RequestAttributes.SCOPE_REQUEST);
+        }
+        return claims;
     }
 
+    private record ParsedClaims(String token, Claims claims) {}
+
     // Access 토큰이 들어 왔을때 id만 따로 추출
     public Long extractUserId(String token) {
         Claims claims = parseToken(token);
@@ -68,4 +68,23 @@ public class SecurityUtil {
         return true;
     }
 
+    /**
+     * 현재 인증된 사용자가 관리자인지 반환합니다.
+     * isAdminUser 와 달리 예외를 던지지 않으므로, 일반 사용자도 호출하는 기능에서 관리자 여부에 따라 처리만 달리할 때 사용합니다.
+     *
+     * @return 관리자이면 true, 관리자가 아니거나 인증 정보가 없으면 false
+     */
+    public static boolean hasAdminRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (!(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return false;
+        }
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(role -> role.equals("ADMIN"));
+    }
+
 }
\ No newline at end of file
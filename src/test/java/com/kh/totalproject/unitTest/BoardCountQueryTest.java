@@ -0,0 +1,166 @@
+/* 내 작성글 / 상대방 작성글 목록 조회 시 페이지 크기와 관계 없이 쿼리 수가 일정하고, 게시글 수정 시 댓글/반응 수가 유지되는지 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.Reaction;
+import com.kh.totalproject.constant.Role;
+import com.kh.totalproject.constant.Status;
+import com.kh.totalproject.dto.request.BoardRequest;
+import com.kh.totalproject.dto.response.BoardResponse;
+import com.kh.totalproject.entity.BoardReaction;
+import com.kh.totalproject.entity.CodingBoard;
+import com.kh.totalproject.entity.Comment;
+import com.kh.totalproject.entity.User;
+import com.kh.totalproject.repository.BoardReactionRepository;
+import com.kh.totalproject.repository.BoardRepository;
+import com.kh.totalproject.repository.CodingBoardRepository;
+import com.kh.totalproject.repository.CommentRepository;
+import com.kh.totalproject.repository.UserRepository;
+import com.kh.totalproject.service.CommunityService;
+import com.kh.totalproject.service.MyPageService;
+import com.kh.totalproject.util.CustomUserDetails;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@SpringBootTest
+@Transactional
+public class BoardCountQueryTest {
+    private static final int BOARD_COUNT = 20;
+
+    @Autowired
+    MyPageService myPageService;
+    @Autowired
+    CommunityService communityService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    CodingBoardRepository codingBoardRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    BoardReactionRepository boardReactionRepository;
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = new User();
+        user.setUserId("countquery");
+        user.setPassword("countquery1234!");
+        user.setEmail("countquery@gmail.com");
+        user.setNickname("countquery");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+
+        for (int i = 0; i < BOARD_COUNT; i++) {
+            CodingBoard board = CodingBoard.builder()
+                    .user(user)
+                    .title("쿼리 수 테스트 " + i)
+                    .content("쿼리 수 테스트 내용")
+                    .createdAt(LocalDateTime.now())
+                    .status(Status.ACTIVE)
+                    .language(List.of("JAVA"))
+                    .build();
+            codingBoardRepository.save(board);
+            commentRepository.save(Comment.builder().board(board).user(user).content("댓글").build());
+            boardReactionRepository.save(BoardReaction.builder().board(board).user(user).reaction(Reaction.LIKE).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CustomUserDetails userDetails = new CustomUserDetails(user.getUserId(), user.getEmail(), user.getNickname(),
+                user.getUserKey(), null, List.of(new SimpleGrantedAuthority(Role.USER.toString())));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("내 작성글 목록 조회 쿼리 수는 페이지 크기와 무관")
+    public void myPostQueryCount() {
+        long small = countQueries(() -> myPageService.myPost(1, 5, null, null));
+        long large = countQueries(() -> myPageService.myPost(1, BOARD_COUNT, null, null));
+
+        log.info("myPost 쿼리 수 - 5개 : {}, {}개 : {}", small, BOARD_COUNT, large);
+        assertEquals(small, large, "페이지 크기에 따라 쿼리 수가 늘어나면 안됩니다.");
+
+        Page<BoardResponse> page = myPageService.myPost(1, BOARD_COUNT, null, null);
+        page.forEach(response -> {
+            assertEquals(1, response.getCommentCnt());
+            assertEquals(1, response.getLikeCnt());
+            assertEquals(0, response.getDislikeCnt());
+        });
+    }
+
+    @Test
+    @DisplayName("상대방 작성글 목록 조회 쿼리 수는 페이지 크기와 무관")
+    public void othersPostQueryCount() {
+        long small = countQueries(() -> communityService.listOthersPost(user.getUserKey(), 1, 5, null, null));
+        long large = countQueries(() -> communityService.listOthersPost(user.getUserKey(), 1, BOARD_COUNT, null, null));
+
+        log.info("listOthersPost 쿼리 수 - 5개 : {}, {}개 : {}", small, BOARD_COUNT, large);
+        assertEquals(small, large, "페이지 크기에 따라 쿼리 수가 늘어나면 안됩니다.");
+    }
+
+    @Test
+    @DisplayName("게시글 수정 중 반영된 댓글/좋아요 수는 수정 저장으로 덮어쓰지 않음")
+    public void modifyPostKeepsCounters() {
+        CodingBoard board = codingBoardRepository.findAll().stream()
+                .filter(saved -> saved.getUser().getUserKey().equals(user.getUserKey()))
+                .findFirst()
+                .orElseThrow();
+        // 수정 요청이 게시글을 조회한 뒤, 저장하기 전에 다른 요청의 댓글/좋아요가 반영된 상황
+        boardRepository.updateCommentCnt(board.getId(), 2);
+        boardRepository.updateReactionCnt(board.getId(), 3, 1);
+
+        BoardRequest request = new BoardRequest();
+        request.setBoardId(board.getId());
+        request.setTitle("수정된 제목");
+        assertTrue(communityService.modifyPost(request, "CODING"));
+        entityManager.flush();
+        entityManager.clear();
+
+        CodingBoard modified = codingBoardRepository.findById(board.getId()).orElseThrow();
+        assertEquals("수정된 제목", modified.getTitle());
+        assertEquals(3, modified.getCommentCnt());
+        assertEquals(4, modified.getLikeCnt());
+        assertEquals(1, modified.getDislikeCnt());
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
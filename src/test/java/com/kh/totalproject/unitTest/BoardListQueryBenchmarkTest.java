@@ -0,0 +1,128 @@
+/* 게시글 10만건 기준 목록 조회 전체 개수 계산 방식 비교 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.BoardType;
+import com.kh.totalproject.constant.Role;
+import com.kh.totalproject.entity.User;
+import com.kh.totalproject.repository.CustomBoardRepository;
+import com.kh.totalproject.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest
+public class BoardListQueryBenchmarkTest {
+    private static final int BOARD_COUNT = 100_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    CustomBoardRepository customBoardRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // 이 테스트가 추가한 게시글 id 범위 (테스트 후 삭제)
+    private long seededFrom;
+    private long seededTo;
+
+    // 조회 대상인 CODING 게시글이 10만건보다 적으면 부족한 만큼만 추가
+    @BeforeEach
+    public void seedBoards() {
+        seededFrom = 0;
+        seededTo = -1;
+        int toInsert = BOARD_COUNT - codingBoardCount();
+        if (toInsert <= 0) {
+            return;
+        }
+        User user = userRepository.findByUserId("boardbench")
+                .orElseGet(() -> {
+                    User newUser = new User();
+                    newUser.setUserId("boardbench");
+                    newUser.setPassword("boardbench1234!");
+                    newUser.setEmail("boardbench@gmail.com");
+                    newUser.setNickname("boardbench");
+                    newUser.setRole(Role.USER);
+                    return userRepository.save(newUser);
+                });
+
+        Long nextId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(board_id), 0) + 1 FROM board", Long.class);
+        seededFrom = nextId;
+        seededTo = nextId + toInsert - 1;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int offset = 0; offset < toInsert; offset += BATCH_SIZE) {
+            List<Object[]> boards = new ArrayList<>();
+            List<Object[]> codingBoards = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + BATCH_SIZE, toInsert); i++) {
+                long id = nextId + i;
+                boards.add(new Object[]{id, "벤치마크 게시글 " + id, "벤치마크 내용", now, "CODING", "ACTIVE", user.getUserKey()});
+                codingBoards.add(new Object[]{id, "[\"JAVA\"]"});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO board (board_id, title, content, view_cnt, comment_cnt, like_cnt, dislike_cnt, created_at, board_type, status, user_key) " +
+                    "VALUES (?, ?, ?, 0, 0, 0, 0, ?, ?, ?, ?)", boards);
+            jdbcTemplate.batchUpdate("INSERT INTO coding_board (board_id, language) VALUES (?, ?)", codingBoards);
+        }
+    }
+
+    @AfterEach
+    public void removeSeededBoards() {
+        if (seededTo < seededFrom) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM coding_board WHERE board_id BETWEEN ? AND ?", seededFrom, seededTo);
+        jdbcTemplate.update("DELETE FROM board WHERE board_id BETWEEN ? AND ?", seededFrom, seededTo);
+    }
+
+    private int codingBoardCount() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM board WHERE board_type = 'CODING' AND status = 'ACTIVE'", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    @Test
+    @DisplayName("전체 조회 후 size() vs COUNT 쿼리 vs Slice 조회 비교")
+    public void compareCountStrategies() {
+        Pageable pageable = PageRequest.of(10, 20);
+
+        // 기존 방식 : 조건에 맞는 전체 행을 읽어서 개수를 계산
+        long start = System.nanoTime();
+        int fullSize = customBoardRepository.findSliceWithDynamicFilters(BoardType.CODING, null, "createdAt", "DESC",
+                null, null, PageRequest.of(0, BOARD_COUNT * 2)).getNumberOfElements();
+        long fullScanMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        Page<Object[]> page = customBoardRepository.findAllWithDynamicFilters(BoardType.CODING, null, "createdAt", "DESC",
+                null, null, pageable);
+        long pageMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        Slice<Object[]> slice = customBoardRepository.findSliceWithDynamicFilters(BoardType.CODING, null, "createdAt", "DESC",
+                null, null, pageable);
+        long sliceMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 소요 시간은 실행 환경에 따라 달라지므로 기록만 하고, 세 방식의 결과가 같은지 확인
+        log.info("목록 조회 소요 시간 - 전체 조회 : {}ms, 페이지 + COUNT : {}ms, Slice : {}ms", fullScanMs, pageMs, sliceMs);
+        assertEquals(fullSize, page.getTotalElements(), "COUNT 쿼리 결과가 전체 조회 결과와 같아야 합니다.");
+        assertEquals(page.getContent().size(), slice.getContent().size());
+        assertTrue(slice.hasNext());
+    }
+}
@@ -0,0 +1,215 @@
+/* Flask 테스트 케이스 결과 콜백을 건별로 보낼 때와 일괄(NDJSON)로 보낼 때의 초당 처리 건수 기록 및 레코드별 처리 결과 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.controller.CallbackController;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.dto.response.TestcaseCallbackResponse;
+import com.kh.totalproject.service.CallbackDeduplicator;
+import com.kh.totalproject.service.CodeChallengeService;
+import com.kh.totalproject.service.SseSubscriptionRegistry;
+import com.kh.totalproject.service.TestcaseEventRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CallbackBatchBenchmarkTest {
+    private static final int JOB_COUNT = 40;
+    // 테스트 케이스 50개짜리 문제
+    private static final int TESTCASES_PER_JOB = 50;
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    CodeChallengeService codeChallengeService;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("JSON 배열 / NDJSON 일괄 콜백의 레코드별 처리 결과")
+    public void batchStatuses() throws Exception {
+        List<TestcaseResult> results = new ArrayList<>(results("batch-status", 1, 3));
+        results.add(result("batch-status-unknown", 0));
+
+        List<TestcaseCallbackResponse> arrayResponse = postBatch("application/json", objectMapper.writeValueAsString(results));
+        assertEquals(4, arrayResponse.size());
+        assertEquals(SendTestcaseResultStatus.SUCCESS, arrayResponse.get(2).getStatus());
+        assertEquals(2, arrayResponse.get(2).getTestcaseIndex());
+        assertEquals(SendTestcaseResultStatus.CLIENT_NOT_FOUND, arrayResponse.get(3).getStatus());
+
+        List<TestcaseCallbackResponse> ndjsonResponse = postBatch("application/x-ndjson", toNdjson(results));
+        assertEquals(
+            arrayResponse.stream().map(TestcaseCallbackResponse::getStatus).toList(),
+            ndjsonResponse.stream().map(TestcaseCallbackResponse::getStatus).toList()
+        );
+        codeChallengeService.removeSubscriptionAndSetEmitterComplete("batch-status-0");
+    }
+
+    @Test
+    @DisplayName("건별 콜백 vs 작업별 일괄 콜백 초당 처리 건수")
+    public void compareCallbacksPerSecond() throws Exception {
+        int total = JOB_COUNT * TESTCASES_PER_JOB;
+
+        // 워밍업
+        for (TestcaseResult result : results("warmup", 1, TESTCASES_PER_JOB)) {
+            postSingle(result);
+        }
+        postBatch("application/x-ndjson", toNdjson(results("warmup", 1, TESTCASES_PER_JOB)));
+
+        // 기존 방식 : 테스트 케이스마다 요청 1회
+        List<TestcaseResult> singleResults = results("single", JOB_COUNT, TESTCASES_PER_JOB);
+        long start = System.nanoTime();
+        for (TestcaseResult result : singleResults) {
+            assertEquals(200, postSingle(result));
+        }
+        long singleMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 개선 방식 : 작업별로 모든 테스트 케이스 결과를 NDJSON 요청 1회로 전달
+        List<TestcaseResult> batchResults = results("batch", JOB_COUNT, TESTCASES_PER_JOB);
+        start = System.nanoTime();
+        int delivered = 0;
+        for (int job = 0; job < JOB_COUNT; job++) {
+            List<TestcaseCallbackResponse> response = postBatch("application/x-ndjson",
+                    toNdjson(batchResults.subList(job * TESTCASES_PER_JOB, (job + 1) * TESTCASES_PER_JOB)));
+            delivered += (int) response.stream().filter(r -> r.getStatus() == SendTestcaseResultStatus.SUCCESS).count();
+        }
+        long batchMs = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("콜백 {}건 - 건별 : {}ms ({} callbacks/s), 작업별 일괄 : {}ms ({} callbacks/s)",
+                total, singleMs, total * 1000L / Math.max(singleMs, 1), batchMs, total * 1000L / Math.max(batchMs, 1));
+        assertEquals(total, delivered);
+
+        for (String prefix : List.of("warmup", "single", "batch")) {
+            for (int job = 0; job < JOB_COUNT; job++) {
+                codeChallengeService.removeSubscriptionAndSetEmitterComplete(prefix + "-" + job);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 콜백 중 한 레코드의 전달이 실패해도 ERROR 로 기록하고 나머지 레코드를 계속 처리")
+    public void failedRecordDoesNotAbortBatch() throws Exception {
+        TestcaseEventRelay failingRelay = new TestcaseEventRelay() {
+            @Override
+            public void claim(String jobId, Long userId) {
+            }
+
+            @Override
+            public SendTestcaseResultStatus deliver(TestcaseResult result) {
+                if (result.getTestcaseIndex() == 1) {
+                    throw new QueryTimeoutException("relay insert timed out");
+                }
+                return SendTestcaseResultStatus.SUCCESS;
+            }
+
+            @Override
+            public boolean reclaim(String jobId, Long userId) {
+                return true;
+            }
+
+            @Override
+            public Optional<Long> takeOver(String jobId) {
+                return Optional.empty();
+            }
+        };
+        CallbackController controller = new CallbackController(failingRelay, objectMapper,
+                new CallbackDeduplicator(new SimpleMeterRegistry(), 1_000, 60_000));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(toNdjson(List.of(result("batch-fail", 0), result("batch-fail", 1), result("batch-fail", 2)))
+                .getBytes(StandardCharsets.UTF_8));
+
+        ResponseEntity<List<TestcaseCallbackResponse>> response = controller.receiveResults(request);
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(
+            List.of(SendTestcaseResultStatus.SUCCESS, SendTestcaseResultStatus.ERROR, SendTestcaseResultStatus.SUCCESS),
+            response.getBody().stream().map(TestcaseCallbackResponse::getStatus).toList()
+        );
+    }
+
+    // 작업별 SSE 구독을 등록하고 테스트 케이스 결과를 작업 순서대로 생성
+    private List<TestcaseResult> results(String prefix, int jobCount, int testcasesPerJob) {
+        List<TestcaseResult> results = new ArrayList<>();
+        for (int job = 0; job < jobCount; job++) {
+            String jobId = prefix + "-" + job;
+            codeChallengeService.addSubscription(jobId, null, new SseEmitter(SseSubscriptionRegistry.EMITTER_TIMEOUT_MS));
+            for (int testcase = 0; testcase < testcasesPerJob; testcase++) {
+                results.add(result(jobId, testcase));
+            }
+        }
+        return results;
+    }
+
+    private TestcaseResult result(String jobId, int testcaseIndex) {
+        return TestcaseResult.builder()
+                .jobId(jobId)
+                .userId(1L)
+                .questionId(1L)
+                .success(true)
+                .testcaseIndex(testcaseIndex)
+                .runningTime(12)
+                .memoryUsage(1024.0f)
+                .codeSize(64)
+                .build();
+    }
+
+    private String toNdjson(List<TestcaseResult> results) throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (TestcaseResult result : results) {
+            body.append(objectMapper.writeValueAsString(result)).append('\n');
+        }
+        return body.toString();
+    }
+
+    private int postSingle(TestcaseResult result) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/callback/notify-testcase-result"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(result)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private List<TestcaseCallbackResponse> postBatch(String contentType, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/callback/notify-testcase-results"))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        List<Map<String, Object>> records = objectMapper.readValue(response.body(), new TypeReference<>() {});
+        return records.stream()
+                .map(record -> TestcaseCallbackResponse.builder()
+                        .jobId((String) record.get("jobId"))
+                        .testcaseIndex((Integer) record.get("testcaseIndex"))
+                        .status(SendTestcaseResultStatus.valueOf((String) record.get("status")))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,150 @@
+/* Celery 가 다시 보낸 Flask 콜백을 (jobId, testcaseIndex, 종류) 키로 걸러내고, 오류로 끝난 콜백은 다시 처리하며, 보관 기간/개수를 제한하며, 중복 콜백은 중계 계층을 다시 호출하지 않는지 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.controller.CallbackController;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.service.CallbackDeduplicator;
+import com.kh.totalproject.service.TestcaseEventRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class CallbackDeduplicatorTest {
+    @Test
+    @DisplayName("같은 테스트 케이스/complete 콜백은 이전 처리 결과로 응답, 다른 종류의 콜백은 따로 처리")
+    public void acknowledgesDuplicates() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CallbackDeduplicator deduplicator = new CallbackDeduplicator(meterRegistry, 1_000, 60_000);
+
+        TestcaseResult testcase = testcase("job-1", 0);
+        assertNull(deduplicator.register(testcase));
+        // 처리 중에 다시 온 콜백은 SUCCESS 로 응답
+        assertEquals(SendTestcaseResultStatus.SUCCESS, deduplicator.register(testcase("job-1", 0)));
+        deduplicator.complete(testcase, SendTestcaseResultStatus.CLIENT_NOT_FOUND);
+        assertEquals(SendTestcaseResultStatus.CLIENT_NOT_FOUND, deduplicator.register(testcase("job-1", 0)));
+
+        // 다음 테스트 케이스, 다른 작업, 같은 번호의 complete 콜백은 중복이 아님
+        assertNull(deduplicator.register(testcase("job-1", 1)));
+        assertNull(deduplicator.register(testcase("job-2", 0)));
+        TestcaseResult complete = complete("job-1");
+        assertNull(deduplicator.register(complete));
+        deduplicator.complete(complete, SendTestcaseResultStatus.SUCCESS);
+        assertEquals(SendTestcaseResultStatus.SUCCESS, deduplicator.register(complete("job-1")));
+
+        assertEquals(3.0, meterRegistry.get("code_challenge.callback.duplicates").counter().count());
+    }
+
+    @Test
+    @DisplayName("ERROR 로 끝난 콜백은 재시도 시 다시 처리")
+    public void retriesFailedCallbacks() {
+        CallbackDeduplicator deduplicator = new CallbackDeduplicator(new SimpleMeterRegistry(), 1_000, 60_000);
+
+        TestcaseResult testcase = testcase("job-1", 0);
+        assertNull(deduplicator.register(testcase));
+        deduplicator.complete(testcase, SendTestcaseResultStatus.ERROR);
+        assertNull(deduplicator.register(testcase("job-1", 0)), "오류로 끝난 콜백은 다시 처리되어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("ttl 이 지났거나 최대 개수를 넘은 오래된 키는 제거")
+    public void boundedAndExpiring() throws InterruptedException {
+        CallbackDeduplicator bounded = new CallbackDeduplicator(new SimpleMeterRegistry(), 100, 60_000);
+        for (int i = 0; i < 1_000; i++) {
+            bounded.register(testcase("job-" + i, 0));
+        }
+        assertEquals(100, bounded.size());
+        assertNull(bounded.register(testcase("job-0", 0)), "최대 개수를 넘어 제거된 키는 새 콜백으로 처리되어야 합니다.");
+
+        CallbackDeduplicator expiring = new CallbackDeduplicator(new SimpleMeterRegistry(), 1_000, 50);
+        assertNull(expiring.register(testcase("job-1", 0)));
+        Thread.sleep(100);
+        assertNull(expiring.register(testcase("job-1", 0)), "ttl 이 지난 키는 새 콜백으로 처리되어야 합니다.");
+        assertEquals(1, expiring.size());
+    }
+
+    @Test
+    @DisplayName("중복 콜백은 중계 계층을 다시 호출하지 않고 처음 처리 결과로 응답")
+    public void duplicateSkipsRelay() {
+        CallbackDeduplicator deduplicator = new CallbackDeduplicator(new SimpleMeterRegistry(), 100_000, 60_000);
+        CountingRelay relay = new CountingRelay(SendTestcaseResultStatus.CLIENT_NOT_FOUND);
+        CallbackController controller = new CallbackController(relay, new ObjectMapper(), deduplicator);
+
+        assertEquals(404, controller.receiveResult(testcase("job-1", 0)).getStatusCode().value());
+        assertEquals(404, controller.receiveResult(testcase("job-1", 0)).getStatusCode().value(),
+                "중복 콜백은 처음 처리 결과로 응답해야 합니다.");
+        assertEquals(1, relay.calls.get());
+
+        // 비용은 기록만 함 (실행 환경에 따라 달라지므로 통과 기준으로 사용하지 않음)
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            controller.receiveResult(testcase("job-" + (i / 20), i % 20));
+        }
+        int delivered = relay.calls.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            controller.receiveResult(testcase("job-" + (i / 20), i % 20));
+        }
+        log.info("중복 콜백 {}건 응답 평균 {}ns", count, (System.nanoTime() - start) / count);
+        assertEquals(delivered, relay.calls.get(), "중복 콜백은 중계 계층을 호출하면 안됩니다.");
+    }
+
+    private static class CountingRelay implements TestcaseEventRelay {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final SendTestcaseResultStatus status;
+
+        private CountingRelay(SendTestcaseResultStatus status) {
+            this.status = status;
+        }
+
+        @Override
+        public void claim(String jobId, Long userId) {
+        }
+
+        @Override
+        public boolean reclaim(String jobId, Long userId) {
+            return true;
+        }
+
+        @Override
+        public SendTestcaseResultStatus deliver(TestcaseResult result) {
+            calls.incrementAndGet();
+            return status;
+        }
+
+        @Override
+        public Optional<Long> takeOver(String jobId) {
+            return Optional.empty();
+        }
+    }
+
+    private TestcaseResult testcase(String jobId, int testcaseIndex) {
+        return TestcaseResult.builder()
+                .jobId(jobId)
+                .userId(1L)
+                .questionId(1L)
+                .success(true)
+                .testcaseIndex(testcaseIndex)
+                .detail("통과")
+                .build();
+    }
+
+    private TestcaseResult complete(String jobId) {
+        return TestcaseResult.builder()
+                .jobId(jobId)
+                .userId(1L)
+                .questionId(1L)
+                .success(true)
+                .testcaseIndex(0)
+                .detail("complete")
+                .build();
+    }
+}
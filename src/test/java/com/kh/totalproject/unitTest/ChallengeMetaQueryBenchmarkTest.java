@@ -0,0 +1,147 @@
+/* 제출 100만건 기준 난이도별 문제 목록 조회 방식 비교 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.ChallengeDifficulty;
+import com.kh.totalproject.constant.Role;
+import com.kh.totalproject.dto.response.ChallengeMetaResponse;
+import com.kh.totalproject.entity.CodeChallengeInfo;
+import com.kh.totalproject.entity.CodeChallengeStats;
+import com.kh.totalproject.entity.User;
+import com.kh.totalproject.repository.CodeChallengeInfoRepository;
+import com.kh.totalproject.repository.CodeChallengeSubmissionRepository;
+import com.kh.totalproject.repository.UserRepository;
+import com.kh.totalproject.service.CodeBlobService;
+import com.kh.totalproject.service.CodeChallengeService;
+import com.kh.totalproject.service.CodeChallengeStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest
+public class ChallengeMetaQueryBenchmarkTest {
+    private static final ChallengeDifficulty DIFFICULTY = ChallengeDifficulty.EXPERT;
+    private static final long FIRST_QUESTION_ID = 900_001L;
+    private static final int QUESTION_COUNT = 50;
+    private static final int SUBMISSION_COUNT = 1_000_000;
+    private static final int BATCH_SIZE = 5_000;
+
+    @Autowired
+    CodeChallengeService codeChallengeService;
+    @Autowired
+    CodeChallengeStatsService codeChallengeStatsService;
+    @Autowired
+    CodeChallengeInfoRepository codeChallengeInfoRepository;
+    @Autowired
+    CodeChallengeSubmissionRepository codeChallengeSubmissionRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    CodeBlobService codeBlobService;
+
+    private User user;
+
+    @BeforeEach
+    public void seedSubmissions() {
+        user = userRepository.findByUserId("challengebench")
+                .orElseGet(() -> {
+                    User newUser = new User();
+                    newUser.setUserId("challengebench");
+                    newUser.setPassword("challengebench1234!");
+                    newUser.setEmail("challengebench@gmail.com");
+                    newUser.setNickname("challengebench");
+                    newUser.setRole(Role.USER);
+                    return userRepository.save(newUser);
+                });
+
+        List<Object[]> questions = new ArrayList<>();
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            questions.add(new Object[]{FIRST_QUESTION_ID + i, "벤치마크 문제 " + i, "벤치마크 설명", "벤치마크 조건", "구현", DIFFICULTY.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO code_challenge_info (question_id, title, description, cond, category, difficulty) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", questions);
+
+        Long seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM code_challenge_submission WHERE question_id BETWEEN ? AND ?",
+                Long.class, FIRST_QUESTION_ID, FIRST_QUESTION_ID + QUESTION_COUNT - 1);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String codeHash = codeBlobService.store("print(1)");
+        for (int offset = seeded.intValue(); offset < SUBMISSION_COUNT; offset += BATCH_SIZE) {
+            List<Object[]> submissions = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + BATCH_SIZE, SUBMISSION_COUNT); i++) {
+                // 문제별로 고르게 분배, 3번 중 1번은 통과
+                long questionId = FIRST_QUESTION_ID + (i % QUESTION_COUNT);
+                submissions.add(new Object[]{user.getUserKey(), questionId, codeHash, "PYTHON", i % 3 == 0, 1.0f, 10, 8, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO code_challenge_submission (user_id, question_id, code_hash, code_language, success, " +
+                    "memory_usage, running_time, code_size, submitted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", submissions);
+        }
+        // JDBC 로 직접 넣은 제출은 challenge_stats 에 반영되지 않으므로 재계산
+        if (seeded < SUBMISSION_COUNT) {
+            codeChallengeStatsService.rebuildStats();
+        }
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("문제별 개수 조회 반복 vs 통계 테이블 조회 비교")
+    public void compareChallengeMetaQueries() {
+        // 기존 방식 : 문제마다 통과 수, 전체 수, 유저 조회, 유저 제출 수를 각각 조회
+        long start = System.nanoTime();
+        List<CodeChallengeInfo> challengeInfoList = codeChallengeInfoRepository.findByDifficulty(DIFFICULTY);
+        Map<Long, Float> beforePassingRates = new HashMap<>();
+        Map<Long, long[]> beforeCounts = new HashMap<>();
+        for (CodeChallengeInfo challengeInfo : challengeInfoList) {
+            int challengePassCount = codeChallengeSubmissionRepository.countByCodeChallengeInfoAndSuccess(challengeInfo, true);
+            int totalSubmissionCount = codeChallengeSubmissionRepository.countByCodeChallengeInfo(challengeInfo);
+            User foundUser = userRepository.findById(user.getUserKey()).orElse(null);
+            codeChallengeSubmissionRepository.countByCodeChallengeInfoAndUser(challengeInfo, foundUser);
+            beforePassingRates.put(challengeInfo.getQuestionId(), totalSubmissionCount == 0 ? 0.0f :
+                    Math.round((challengePassCount / (float) totalSubmissionCount) * 1000) / 10.0f);
+            beforeCounts.put(challengeInfo.getQuestionId(), new long[]{totalSubmissionCount, challengePassCount});
+        }
+        long beforeMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        List<ChallengeMetaResponse> response = codeChallengeService.getChallengeMetaList(DIFFICULTY, user.getUserKey());
+        long afterMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 소요 시간은 실행 환경에 따라 달라지므로 기록만 하고, 문제별 개수와 통과율이 기존 방식과 같은지 확인
+        log.info("문제 {}개 목록 조회 소요 시간 - 문제별 조회 : {}ms, 통계 테이블 : {}ms", challengeInfoList.size(), beforeMs, afterMs);
+        assertEquals(challengeInfoList.size(), response.size());
+        for (ChallengeMetaResponse meta : response) {
+            CodeChallengeStats stats = codeChallengeStatsService.getStats(meta.getQuestionId());
+            long[] counts = beforeCounts.get(meta.getQuestionId());
+            assertEquals(counts[0], stats.getSubmissionCnt(), "통계 테이블의 제출 수가 기존 방식과 같아야 합니다.");
+            assertEquals(counts[1], stats.getPassCnt(), "통계 테이블의 통과 수가 기존 방식과 같아야 합니다.");
+            assertEquals(beforePassingRates.get(meta.getQuestionId()), meta.getPassingRate(),
+                    "통계 테이블의 통과율이 기존 방식과 같아야 합니다.");
+        }
+        assertTrue(response.stream().allMatch(meta -> meta.getPassedBefore() != null));
+    }
+
+    @Test
+    @DisplayName("비로그인 조회 시 passedBefore 는 null")
+    public void anonymousChallengeMeta() {
+        List<ChallengeMetaResponse> response = codeChallengeService.getChallengeMetaList(DIFFICULTY, null);
+        assertFalse(response.isEmpty());
+        assertTrue(response.stream().allMatch(meta -> meta.getPassedBefore() == null));
+    }
+}
@@ -0,0 +1,147 @@
+/* 비슷한 제출 코드가 많을 때 TEXT 컬럼 직접 저장과 해시 중복 제거 + 압축 저장(code_blob)의 저장 용량 비교, 원본 복원과 중복 제거 확인 및 조회 지연 시간 기록 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.service.CodeBlobService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest
+public class CodeBlobStorageTest {
+    private static final int SUBMISSION_COUNT = 5_000;
+    private static final int READ_COUNT = 1_000;
+
+    @Autowired
+    CodeBlobService codeBlobService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final List<String> hashes = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS code_inline_bench (id BIGINT PRIMARY KEY, code TEXT NOT NULL)");
+        jdbcTemplate.execute("TRUNCATE TABLE code_inline_bench");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS code_inline_bench");
+        for (String hash : hashes) {
+            jdbcTemplate.update("DELETE FROM code_blob WHERE hash = ?", hash);
+        }
+    }
+
+    @Test
+    @DisplayName("TEXT 직접 저장 vs 해시 중복 제거 + 압축 저장 용량 비교, 원본 복원 및 조회 시간 기록")
+    public void compareStorageAndReadLatency() {
+        List<String> codes = new ArrayList<>(SUBMISSION_COUNT);
+        for (int i = 0; i < SUBMISSION_COUNT; i++) {
+            codes.add(source(i));
+        }
+
+        // 기존 방식 : 제출마다 코드 전체를 TEXT 로 저장
+        List<Object[]> inlineRows = new ArrayList<>(SUBMISSION_COUNT);
+        long inlineBytes = 0;
+        for (int i = 0; i < SUBMISSION_COUNT; i++) {
+            inlineRows.add(new Object[]{i, codes.get(i)});
+            inlineBytes += codes.get(i).getBytes(StandardCharsets.UTF_8).length;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO code_inline_bench (id, code) VALUES (?, ?)", inlineRows);
+
+        // 개선 방식 : 같은 코드는 한번만, 압축하여 저장
+        Map<String, String> codeHashes = codeBlobService.storeAll(codes);
+        hashes.addAll(codeHashes.values());
+        Set<String> distinctHashes = new HashSet<>(codeHashes.values());
+        long blobBytes = 0;
+        long blobRows = 0;
+        for (String hash : distinctHashes) {
+            blobBytes += jdbcTemplate.queryForObject("SELECT LENGTH(data) FROM code_blob WHERE hash = ?", Long.class, hash);
+            blobRows += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM code_blob WHERE hash = ?", Long.class, hash);
+        }
+        int distinctCodes = new HashSet<>(codes).size();
+        assertEquals(distinctCodes, codeHashes.size());
+        assertEquals(distinctCodes, distinctHashes.size(), "서로 다른 코드는 서로 다른 해시로 저장되어야 합니다.");
+        assertEquals(distinctCodes, blobRows, "같은 코드는 code_blob 에 한 행만 저장되어야 합니다.");
+
+        // 같은 코드를 다시 저장해도 같은 해시를 돌려주고 행이 늘어나지 않아야 함
+        assertEquals(codeHashes, codeBlobService.storeAll(codes));
+        long blobRowsAfterRestore = 0;
+        for (String hash : distinctHashes) {
+            blobRowsAfterRestore += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM code_blob WHERE hash = ?", Long.class, hash);
+        }
+        assertEquals(blobRows, blobRowsAfterRestore);
+
+        Random random = new Random(17);
+        int[] ids = random.ints(READ_COUNT, 0, SUBMISSION_COUNT).toArray();
+        // 커넥션/캐시 예열
+        for (int i = 0; i < 100; i++) {
+            jdbcTemplate.queryForObject("SELECT code FROM code_inline_bench WHERE id = ?", String.class, ids[i]);
+            codeBlobService.load(codeHashes.get(codes.get(ids[i])));
+        }
+
+        long[] inlineNanos = new long[READ_COUNT];
+        for (int i = 0; i < READ_COUNT; i++) {
+            long start = System.nanoTime();
+            String code = jdbcTemplate.queryForObject("SELECT code FROM code_inline_bench WHERE id = ?", String.class, ids[i]);
+            inlineNanos[i] = System.nanoTime() - start;
+            assertEquals(codes.get(ids[i]), code);
+        }
+        long[] blobNanos = new long[READ_COUNT];
+        for (int i = 0; i < READ_COUNT; i++) {
+            long start = System.nanoTime();
+            String code = codeBlobService.load(codeHashes.get(codes.get(ids[i])));
+            blobNanos[i] = System.nanoTime() - start;
+            assertEquals(codes.get(ids[i]), code, "압축 해제한 코드가 원본과 같아야 합니다.");
+        }
+
+        log.info("제출 코드 {}건 저장 - TEXT : {}KB, code_blob : {}건 {}KB ({}%)",
+                SUBMISSION_COUNT, inlineBytes / 1024, codeHashes.size(), blobBytes / 1024, blobBytes * 100 / inlineBytes);
+        log.info("제출 코드 조회 - TEXT : p50 {}us p99 {}us, code_blob : p50 {}us p99 {}us",
+                percentile(inlineNanos, 50), percentile(inlineNanos, 99), percentile(blobNanos, 50), percentile(blobNanos, 99));
+        assertTrue(codeHashes.size() < SUBMISSION_COUNT, "같은 코드는 한번만 저장되어야 합니다.");
+        assertTrue(blobBytes * 2 < inlineBytes, "저장 용량이 절반 이하로 줄어야 합니다.");
+    }
+
+    // 같은 문제의 풀이를 흉내내어 변수명/상수만 조금씩 다른 코드 생성, 3번 중 1번은 앞 제출과 같은 코드
+    private String source(int i) {
+        int variant = i % 3 == 0 ? i / 3 : i;
+        StringBuilder builder = new StringBuilder("// code-blob-bench\nimport java.util.*;\n\npublic class Main {\n");
+        for (int line = 0; line < 40; line++) {
+            builder.append("    static int solve").append(line).append("(int[] values) {\n")
+                    .append("        int answer").append(variant % 7).append(" = ").append(line).append(";\n")
+                    .append("        for (int value : values) {\n")
+                    .append("            answer").append(variant % 7).append(" = Math.max(answer").append(variant % 7)
+                    .append(", value * ").append(variant % 13).append(");\n")
+                    .append("        }\n")
+                    .append("        return answer").append(variant % 7).append(";\n")
+                    .append("    }\n");
+        }
+        return builder.append("    // submission ").append(variant).append("\n}\n").toString();
+    }
+
+    private long percentile(long[] nanos, int percent) {
+        long[] sorted = Arrays.copyOf(nanos, nanos.length);
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)] / 1_000;
+    }
+}
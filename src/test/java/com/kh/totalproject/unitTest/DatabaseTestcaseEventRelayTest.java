@@ -0,0 +1,248 @@
+/* 여러 인스턴스 운영 시 구독이 없는 인스턴스가 받은 Flask 콜백이 sse_relay_event 를 거쳐 구독을 가진 인스턴스에서 전송되는지, 재시작 시 다른 인스턴스의 작업을 가져오지 않는지 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.constant.JudgeJobStatus;
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.entity.JudgeJob;
+import com.kh.totalproject.entity.SseJobOwner;
+import com.kh.totalproject.entity.SseRelayEvent;
+import com.kh.totalproject.repository.JudgeJobRepository;
+import com.kh.totalproject.repository.SseJobOwnerRepository;
+import com.kh.totalproject.repository.SseRelayEventRepository;
+import com.kh.totalproject.service.CodeChallengeService;
+import com.kh.totalproject.service.DatabaseTestcaseEventRelay;
+import com.kh.totalproject.service.JudgeJobTracker;
+import com.kh.totalproject.service.SseSubscriptionRegistry;
+import com.kh.totalproject.service.TestcaseEventRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(
+    locations = "classpath:application-test.properties",
+    properties = {
+        "code-challenge.sse.relay=database",
+        "code-challenge.sse.node-id=" + DatabaseTestcaseEventRelayTest.NODE_A,
+        // 테스트 중 스케줄러가 대신 조회/정리하지 않도록 주기를 길게 설정
+        "code-challenge.sse.relay-poll-ms=3600000",
+        "code-challenge.sse.reap-interval-ms=3600000"
+    }
+)
+@SpringBootTest
+public class DatabaseTestcaseEventRelayTest {
+    static final String NODE_A = "relay-test-node-a";
+    static final String NODE_B = "relay-test-node-b";
+    private static final String JOB_ID = "database-relay-test";
+    private static final String STALE_JOB_ID = "database-relay-test-stale";
+    private static final String ORPHAN_JOB_ID = "database-relay-test-orphan";
+    private static final Long USER_ID = 1L;
+    private static final int TESTCASE_COUNT = 3;
+
+    @Autowired
+    DatabaseTestcaseEventRelay nodeA;
+    @Autowired
+    CodeChallengeService codeChallengeService;
+    @Autowired
+    SseJobOwnerRepository sseJobOwnerRepository;
+    @Autowired
+    SseRelayEventRepository sseRelayEventRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    JudgeJobRepository judgeJobRepository;
+    @Autowired
+    SseSubscriptionRegistry subscriptionRegistry;
+    @Autowired
+    ObjectProvider<TestcaseEventRelay> testcaseEventRelayProvider;
+
+    // 같은 DB 를 사용하는 다른 인스턴스
+    DatabaseTestcaseEventRelay nodeB;
+
+    @BeforeEach
+    public void setUp() {
+        nodeB = new DatabaseTestcaseEventRelay(codeChallengeService, sseJobOwnerRepository, sseRelayEventRepository,
+                objectMapper, NODE_B, 100, 180_000L);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        for (String jobId : List.of(JOB_ID, STALE_JOB_ID, ORPHAN_JOB_ID)) {
+            codeChallengeService.removeSubscriptionAndSetEmitterComplete(jobId);
+            jdbcTemplate.update("DELETE FROM sse_relay_event WHERE job_id = ?", jobId);
+            jdbcTemplate.update("DELETE FROM sse_job_owner WHERE job_id = ?", jobId);
+            jdbcTemplate.update("DELETE FROM judge_job WHERE job_id = ?", jobId);
+        }
+    }
+
+    @Test
+    @DisplayName("구독이 없는 인스턴스가 받은 결과를 sse_relay_event 에 저장하고 구독을 가진 인스턴스가 순서대로 전송 후 삭제")
+    public void relaysCallbackToOwningNode() throws Exception {
+        nodeB.claim(JOB_ID, USER_ID);
+
+        // 인스턴스 A 에는 구독이 없으므로 B 앞으로 저장
+        for (int i = 0; i < TESTCASE_COUNT; i++) {
+            assertEquals(SendTestcaseResultStatus.SUCCESS, nodeA.deliver(testcaseResult(i)));
+        }
+        List<SseRelayEvent> pending = sseRelayEventRepository.findPendingByNodeId(NODE_B, PageRequest.of(0, 100));
+        assertEquals(TESTCASE_COUNT, pending.size());
+        for (int i = 0; i < TESTCASE_COUNT; i++) {
+            TestcaseResult relayed = objectMapper.readValue(pending.get(i).getPayload(), TestcaseResult.class);
+            assertEquals(JOB_ID, pending.get(i).getJobId());
+            assertEquals(i, relayed.getTestcaseIndex(), "도착 순서대로 조회되어야 합니다.");
+        }
+
+        // 다른 인스턴스 앞으로 저장된 결과는 조회하지 않음
+        nodeA.poll();
+        assertEquals(TESTCASE_COUNT, sseRelayEventRepository.findPendingByNodeId(NODE_B, PageRequest.of(0, 100)).size());
+
+        // 인스턴스 B 의 구독으로 전송
+        RecordingEmitter emitter = new RecordingEmitter(TESTCASE_COUNT);
+        codeChallengeService.addSubscription(JOB_ID, USER_ID, emitter);
+        nodeB.poll();
+
+        assertTrue(emitter.received.await(5, TimeUnit.SECONDS), "중계된 결과가 모두 전송되어야 합니다.");
+        log.info("중계 후 전송된 메시지 : {}", emitter.sent);
+        for (int i = 0; i < TESTCASE_COUNT; i++) {
+            assertTrue(emitter.sent.get(i).contains("id:" + i), "도착 순서대로 전송되어야 합니다.");
+        }
+        assertTrue(sseRelayEventRepository.findPendingByNodeId(NODE_B, PageRequest.of(0, 100)).isEmpty());
+        assertEquals(NODE_B, sseJobOwnerRepository.findById(JOB_ID).orElseThrow().getNodeId());
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 구독을 이 인스턴스로 옮기면 이후 결과는 이 인스턴스 앞으로 저장")
+    public void takeOverMovesOwnership() {
+        assertEquals(Optional.empty(), nodeA.takeOver(JOB_ID));
+
+        nodeB.claim(JOB_ID, USER_ID);
+        assertEquals(Optional.of(USER_ID), nodeA.takeOver(JOB_ID));
+        assertEquals(NODE_A, sseJobOwnerRepository.findById(JOB_ID).orElseThrow().getNodeId());
+        // 이미 이 인스턴스가 가진 작업은 다시 옮기지 않음
+        assertEquals(Optional.empty(), nodeA.takeOver(JOB_ID));
+
+        assertEquals(SendTestcaseResultStatus.SUCCESS, nodeB.deliver(testcaseResult(0)));
+        assertEquals(1, sseRelayEventRepository.findPendingByNodeId(NODE_A, PageRequest.of(0, 100)).size());
+        assertTrue(sseRelayEventRepository.findPendingByNodeId(NODE_B, PageRequest.of(0, 100)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("구독이 제거된 작업과 종료된 인스턴스가 남긴 기록 및 결과 정리")
+    public void cleanUpRemovesStaleRows() {
+        // 이 인스턴스에 기록되어 있지만 구독이 없는 작업은 콜백 시 CLIENT_NOT_FOUND 후 기록 삭제
+        nodeA.claim(JOB_ID, USER_ID);
+        assertEquals(SendTestcaseResultStatus.CLIENT_NOT_FOUND, nodeA.deliver(testcaseResult(0)));
+        assertTrue(sseJobOwnerRepository.findById(JOB_ID).isEmpty());
+
+        // 구독이 제거된 작업, 오래전에 종료된 인스턴스의 기록과 전달되지 못한 결과
+        nodeA.claim(JOB_ID, USER_ID);
+        LocalDateTime expired = LocalDateTime.now().minusHours(1);
+        sseJobOwnerRepository.save(SseJobOwner.builder()
+                .jobId(STALE_JOB_ID)
+                .nodeId("relay-test-node-gone")
+                .userId(USER_ID)
+                .claimedAt(expired)
+                .build());
+        sseRelayEventRepository.save(SseRelayEvent.builder()
+                .nodeId("relay-test-node-gone")
+                .jobId(STALE_JOB_ID)
+                .payload("{}")
+                .createdAt(expired)
+                .build());
+
+        nodeA.cleanUp();
+
+        assertTrue(sseJobOwnerRepository.findById(JOB_ID).isEmpty());
+        assertTrue(sseJobOwnerRepository.findById(STALE_JOB_ID).isEmpty());
+        assertTrue(sseRelayEventRepository.findPendingByNodeId("relay-test-node-gone", PageRequest.of(0, 100)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("재시작 시 다른 인스턴스가 구독을 가진 작업은 복구하지 않고, 기록이 없는 작업만 이 인스턴스로 복구")
+    public void restoreSkipsJobsOwnedByOtherNodes() {
+        saveInProgressJob(JOB_ID);
+        saveInProgressJob(ORPHAN_JOB_ID);
+        nodeB.claim(JOB_ID, USER_ID);
+
+        JudgeJobTracker tracker = new JudgeJobTracker(jdbcTemplate, judgeJobRepository, subscriptionRegistry,
+                testcaseEventRelayProvider, objectMapper, new SimpleMeterRegistry(), true, 16, 180_000L, 86_400_000L);
+        tracker.restoreInProgressJobs();
+
+        assertNull(subscriptionRegistry.get(JOB_ID), "다른 인스턴스의 작업은 복구하면 안됩니다.");
+        assertEquals(NODE_B, sseJobOwnerRepository.findById(JOB_ID).orElseThrow().getNodeId());
+        assertNotNull(subscriptionRegistry.get(ORPHAN_JOB_ID));
+        assertEquals(NODE_A, sseJobOwnerRepository.findById(ORPHAN_JOB_ID).orElseThrow().getNodeId());
+
+        // 이 인스턴스가 가진 작업은 다시 복구 가능, 다른 인스턴스는 가져가지 못함
+        subscriptionRegistry.remove(ORPHAN_JOB_ID);
+        assertTrue(tracker.restore(ORPHAN_JOB_ID));
+        assertFalse(nodeB.reclaim(ORPHAN_JOB_ID, USER_ID));
+    }
+
+    private void saveInProgressJob(String jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        judgeJobRepository.save(JudgeJob.builder()
+                .jobId(jobId)
+                .userId(USER_ID)
+                .status(JudgeJobStatus.EXECUTING)
+                .numOfTestcase(TESTCASE_COUNT)
+                .completedTestcases(0)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private TestcaseResult testcaseResult(int index) {
+        return TestcaseResult.builder()
+                .userId(USER_ID)
+                .jobId(JOB_ID)
+                .success(true)
+                .detail("통과")
+                .testcaseIndex(index)
+                .runningTime(10)
+                .memoryUsage(1.0f)
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch received;
+
+        private RecordingEmitter(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+            received.countDown();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/* 로컬 Flask 스텁 서버를 띄워 FlaskJudgeClient 의 비동기 요청, 오류 변환, 처리량, 지연/오류 주입 시 서킷 브레이커와 벌크헤드 동작을 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.constant.Language;
+import com.kh.totalproject.dto.request.SubmitCodeRequest;
+import com.kh.totalproject.exception.CustomHttpClientErrorException;
+import com.kh.totalproject.exception.CustomHttpServerErrorException;
+import com.kh.totalproject.exception.JudgeUnavailableException;
+import com.kh.totalproject.service.FlaskJudgeClient;
+import com.kh.totalproject.service.JudgeCircuitBreaker;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class FlaskJudgeClientTest {
+    private static final int REQUEST_COUNT = 200;
+    // 기존 방식에서 Flask 응답을 기다리며 점유되는 요청 스레드 수
+    private static final int BLOCKING_THREADS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger jobSequence = new AtomicInteger();
+    private volatile long latencyMs = 100;
+    private volatile int createStatus = 200;
+    // 설정되면 /job/create 응답을 열릴 때까지 붙잡아 두는 게이트
+    private volatile CountDownLatch createGate;
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private String flaskUrl;
+
+    @BeforeEach
+    public void startStubServer() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubExecutor = Executors.newCachedThreadPool();
+        stubServer.setExecutor(stubExecutor);
+        stubServer.createContext("/job/create", exchange -> {
+            awaitGate(createGate);
+            respond(exchange, createStatus, Map.of("jobId", "job-" + jobSequence.incrementAndGet()));
+        });
+        stubServer.createContext("/job/execute", exchange -> respond(exchange, 200, Map.of("numOfTestcase", 5)));
+        stubServer.createContext("/job/cancel", exchange -> respond(exchange, 200, Map.of("success", true)));
+        stubServer.createContext("/job/delete", exchange -> respond(exchange, 200, Map.of("success", true)));
+        stubServer.start();
+        flaskUrl = "http://127.0.0.1:" + stubServer.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void stopStubServer() {
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("create / execute / cancel / delete 요청 응답 변환")
+    public void jobRequests() throws Exception {
+        FlaskJudgeClient client = newClient(Duration.ofSeconds(5));
+
+        String jobId = client.createJob(submitRequest()).get();
+        assertTrue(jobId.startsWith("job-"));
+        assertEquals(5, client.executeJob(jobId, 1L).get());
+        assertDoesNotThrow(() -> client.cancelJob(jobId, 1L).get());
+        assertDoesNotThrow(() -> client.deleteJob(jobId, 1L).get());
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("4xx 응답은 CustomHttpClientErrorException, 응답 지연은 ResourceAccessException")
+    public void errorMapping() {
+        FlaskJudgeClient client = newClient(Duration.ofMillis(300));
+
+        createStatus = 422;
+        ExecutionException clientError = assertThrows(ExecutionException.class, () -> client.createJob(submitRequest()).get());
+        CustomHttpClientErrorException cause = assertInstanceOf(CustomHttpClientErrorException.class, clientError.getCause());
+        assertEquals(422, cause.getStatusCode().value());
+        assertTrue(cause.getRequestUrl().endsWith("/job/create"));
+
+        createStatus = 200;
+        latencyMs = 1_000;
+        ExecutionException timeout = assertThrows(ExecutionException.class, () -> client.createJob(submitRequest()).get());
+        assertInstanceOf(ResourceAccessException.class, timeout.getCause());
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("요청 스레드 블로킹 RestTemplate vs 비동기 클라이언트 지연 시간/처리량 기록")
+    public void compareBlockingAndAsync() throws Exception {
+        FlaskJudgeClient client = newClient(Duration.ofSeconds(10));
+        // 커넥션 생성 및 JIT 워밍업
+        client.createJob(submitRequest()).get();
+
+        // 기존 방식 : 요청 스레드마다 RestTemplate 호출이 끝날 때까지 대기
+        RestTemplate restTemplate = new RestTemplate();
+        ExecutorService requestThreads = Executors.newFixedThreadPool(BLOCKING_THREADS);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        long start = System.nanoTime();
+        List<Future<?>> blockingResults = new ArrayList<>();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            blockingResults.add(requestThreads.submit(() -> restTemplate.exchange(flaskUrl + "/job/create", HttpMethod.POST,
+                    new HttpEntity<>(submitRequest(), headers), Map.class)));
+        }
+        for (Future<?> result : blockingResults) {
+            result.get();
+        }
+        long blockingMs = (System.nanoTime() - start) / 1_000_000;
+        requestThreads.shutdown();
+
+        // 개선 방식 : 요청 스레드는 Future 만 반환하고 바로 다음 요청을 처리
+        start = System.nanoTime();
+        List<CompletableFuture<String>> asyncResults = new ArrayList<>();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            asyncResults.add(client.createJob(submitRequest()));
+        }
+        CompletableFuture.allOf(asyncResults.toArray(CompletableFuture[]::new)).get();
+        long asyncMs = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Flask 응답 지연 {}ms, 요청 {}건 - 블로킹({} 스레드) : {}ms ({} req/s), 비동기 : {}ms ({} req/s)",
+                latencyMs, REQUEST_COUNT, BLOCKING_THREADS,
+                blockingMs, REQUEST_COUNT * 1000L / Math.max(blockingMs, 1),
+                asyncMs, REQUEST_COUNT * 1000L / Math.max(asyncMs, 1));
+        assertTrue(asyncResults.stream().allMatch(future -> future.join().startsWith("job-")));
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("Flask 응답이 멈춰 있어도 요청 스레드는 바로 반환되고, 응답이 풀리면 동시 요청이 모두 완료")
+    public void concurrentRequestsDoNotBlockCaller() throws Exception {
+        FlaskJudgeClient client = newClient(Duration.ofSeconds(10));
+        client.createJob(submitRequest()).get();
+        CountDownLatch gate = new CountDownLatch(1);
+        createGate = gate;
+
+        // Flask 가 응답하지 않는 동안 요청 스레드가 REQUEST_COUNT 건을 모두 보내고 빠져나와야 함
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            results.add(client.createJob(submitRequest()));
+        }
+        assertEquals(1, gate.getCount());
+        assertTrue(results.stream().noneMatch(CompletableFuture::isDone), "응답 전에 완료된 요청이 없어야 합니다.");
+
+        gate.countDown();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        assertTrue(results.stream().allMatch(future -> future.join().startsWith("job-")));
+        assertEquals(REQUEST_COUNT, results.stream().map(CompletableFuture::join).distinct().count());
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("Flask 5xx 가 이어지면 서킷 브레이커가 열려 호출 없이 바로 거부, open-ms 이후 확인 요청 성공 시 복구")
+    public void circuitBreakerOpensAndRecovers() throws Exception {
+        JudgeCircuitBreaker circuitBreaker = new JudgeCircuitBreaker(new SimpleMeterRegistry(), true, 8, 10, 5, 50, 1_000, 500, 2);
+        FlaskJudgeClient client = newClient(circuitBreaker, Duration.ofSeconds(2));
+        latencyMs = 10;
+
+        createStatus = 500;
+        for (int i = 0; i < 5; i++) {
+            ExecutionException serverError = assertThrows(ExecutionException.class, () -> client.createJob(submitRequest()).get());
+            assertInstanceOf(CustomHttpServerErrorException.class, serverError.getCause());
+        }
+        assertEquals(JudgeCircuitBreaker.State.OPEN, circuitBreaker.state());
+
+        // 열린 동안은 스텁 서버를 호출하지 않고 바로 503
+        int requestsBefore = jobSequence.get();
+        long start = System.nanoTime();
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> client.createJob(submitRequest()).get());
+        long rejectMs = (System.nanoTime() - start) / 1_000_000;
+        JudgeUnavailableException unavailable = assertInstanceOf(JudgeUnavailableException.class, rejected.getCause());
+        assertEquals("OPEN", unavailable.getJudgeState());
+        assertTrue(unavailable.getRetryAfterSeconds() >= 1);
+        assertEquals(requestsBefore, jobSequence.get(), "서킷이 열린 동안 Flask 를 호출하지 않아야 합니다.");
+        log.info("서킷 OPEN 상태 거부 응답 시간 : {}ms", rejectMs);
+        assertTrue(rejectMs < latencyMs + 50, "서킷이 열린 동안은 Flask 응답을 기다리지 않아야 합니다.");
+
+        // open-ms 이후 확인 요청(half-open) 2건이 성공하면 닫힘
+        createStatus = 200;
+        Thread.sleep(600);
+        assertTrue(client.createJob(submitRequest()).get().startsWith("job-"));
+        assertEquals(JudgeCircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        assertTrue(client.createJob(submitRequest()).get().startsWith("job-"));
+        assertEquals(JudgeCircuitBreaker.State.CLOSED, circuitBreaker.state());
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("Flask 응답 지연 시 벌크헤드 초과 요청은 바로 거부되고, 느린 응답이 이어지면 서킷 브레이커가 열림")
+    public void bulkheadRejectsAndSlowCallsOpenCircuit() throws Exception {
+        JudgeCircuitBreaker circuitBreaker = new JudgeCircuitBreaker(new SimpleMeterRegistry(), true, 4, 10, 4, 50, 200, 10_000, 1);
+        FlaskJudgeClient client = newClient(circuitBreaker, Duration.ofSeconds(5));
+        latencyMs = 500;
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            results.add(client.createJob(submitRequest()));
+        }
+        long submitMs = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(4, circuitBreaker.inFlight());
+
+        int rejected = 0;
+        for (CompletableFuture<String> result : results) {
+            try {
+                assertTrue(result.get().startsWith("job-"));
+            } catch (ExecutionException e) {
+                assertInstanceOf(JudgeUnavailableException.class, e.getCause());
+                rejected++;
+            }
+        }
+        log.info("동시 요청 10건 중 벌크헤드 거부 {}건, 요청 제출 {}ms", rejected, submitMs);
+        assertEquals(6, rejected);
+        assertTrue(submitMs < latencyMs, "벌크헤드 초과 요청은 Flask 응답을 기다리지 않아야 합니다.");
+
+        // 성공했지만 slow-call-ms 를 넘긴 응답 4건이 실패로 집계되어 열림
+        assertEquals(JudgeCircuitBreaker.State.OPEN, circuitBreaker.state());
+        ExecutionException open = assertThrows(ExecutionException.class, () -> client.createJob(submitRequest()).get());
+        assertEquals("OPEN", assertInstanceOf(JudgeUnavailableException.class, open.getCause()).getJudgeState());
+        client.shutdown();
+    }
+
+    private FlaskJudgeClient newClient(Duration readTimeout) {
+        return new FlaskJudgeClient(flaskUrl, "test-api-key", "test-client-id", objectMapper,
+                Duration.ofSeconds(1), readTimeout, 4);
+    }
+
+    private FlaskJudgeClient newClient(JudgeCircuitBreaker circuitBreaker, Duration readTimeout) {
+        return new FlaskJudgeClient(flaskUrl, "test-api-key", "test-client-id", objectMapper, circuitBreaker,
+                Duration.ofSeconds(1), readTimeout, 4);
+    }
+
+    private SubmitCodeRequest submitRequest() {
+        SubmitCodeRequest request = new SubmitCodeRequest();
+        request.setCodeLanguage(Language.PYTHON);
+        request.setCode("cHJpbnQoMSk=");
+        request.setQuestionId(1L);
+        request.setUserId(1L);
+        return request;
+    }
+
+    private void awaitGate(CountDownLatch gate) {
+        if (gate == null) {
+            return;
+        }
+        try {
+            gate.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getRequestBody().readAllBytes();
+        byte[] response = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/* 채점 작업 상태를 테스트 케이스마다 저장하지 않고 모아서 저장하는지, 재시작 후 진행 중인 작업의 구독과 최근 결과가 복구되는지 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.constant.JudgeJobStatus;
+import com.kh.totalproject.entity.JudgeJob;
+import com.kh.totalproject.repository.JudgeJobRepository;
+import com.kh.totalproject.service.JudgeJobTracker;
+import com.kh.totalproject.service.SseSubscriptionRegistry;
+import com.kh.totalproject.service.TestcaseEventRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest
+public class JudgeJobRecoveryTest {
+    private static final String JOB_ID = "judge-job-recovery-test";
+    private static final int TESTCASE_COUNT = 50;
+    private static final int RECENT_RESULTS = 16;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    JudgeJobRepository judgeJobRepository;
+    @Autowired
+    SseSubscriptionRegistry subscriptionRegistry;
+    @Autowired
+    ObjectProvider<TestcaseEventRelay> testcaseEventRelayProvider;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @AfterEach
+    public void cleanUp() {
+        subscriptionRegistry.remove(JOB_ID);
+        jdbcTemplate.update("DELETE FROM judge_job WHERE job_id = ?", JOB_ID);
+    }
+
+    @Test
+    @DisplayName("테스트 케이스 진행 상태를 모아서 저장하고 재시작 후 구독과 최근 결과를 복구")
+    public void restoreInProgressJobAfterRestart() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JudgeJobTracker tracker = newTracker(meterRegistry);
+        tracker.created(JOB_ID, 1L, 1L);
+        tracker.executing(JOB_ID, TESTCASE_COUNT);
+        for (int i = 0; i < TESTCASE_COUNT; i++) {
+            tracker.recordTestcase(JOB_ID, String.valueOf(i), Map.of("success", true, "runningTime", i));
+        }
+        tracker.flush();
+
+        // 테스트 케이스 50건의 변경이 한 행으로 합쳐져 저장
+        double writes = meterRegistry.get("code_challenge.judge_job.writes").counter().count();
+        log.info("테스트 케이스 {}건 처리 후 judge_job 저장 {}건", TESTCASE_COUNT, (long) writes);
+        assertEquals(1.0, writes);
+        JudgeJob saved = judgeJobRepository.findById(JOB_ID).orElseThrow();
+        assertEquals(JudgeJobStatus.EXECUTING, saved.getStatus());
+        assertEquals(TESTCASE_COUNT, saved.getNumOfTestcase());
+        assertEquals(TESTCASE_COUNT, saved.getCompletedTestcases());
+
+        // 재시작 : 메모리 상태와 구독이 없는 새 추적기에서 기록으로 구독 복구
+        assertNull(subscriptionRegistry.get(JOB_ID));
+        JudgeJobTracker restarted = newTracker(new SimpleMeterRegistry());
+        restarted.restoreInProgressJobs();
+        assertNotNull(subscriptionRegistry.get(JOB_ID), "진행 중인 작업의 구독이 복구되어야 합니다.");
+        assertTrue(subscriptionRegistry.isDetached(JOB_ID), "브라우저가 재연결할 때까지 연결이 끊긴 상태로 대기해야 합니다.");
+
+        // 재연결 시 Last-Event-ID 이후의 최근 결과 재전송
+        List<SseSubscriptionRegistry.ReplayEvent> missed = subscriptionRegistry.reattach(JOB_ID, new SseEmitter(), 45, events -> {});
+        assertEquals(List.of("46", "47", "48", "49"), missed.stream().map(SseSubscriptionRegistry.ReplayEvent::id).toList());
+
+        // 복구 후 완료되면 종료 상태로 저장되고 더 이상 복구하지 않음
+        restarted.finish(JOB_ID, JudgeJobStatus.COMPLETED);
+        restarted.flush();
+        assertEquals(JudgeJobStatus.COMPLETED, judgeJobRepository.findById(JOB_ID).orElseThrow().getStatus());
+        assertEquals(0, restarted.trackedCount());
+        subscriptionRegistry.remove(JOB_ID);
+        assertFalse(restarted.restore(JOB_ID));
+    }
+
+    private JudgeJobTracker newTracker(SimpleMeterRegistry meterRegistry) {
+        return new JudgeJobTracker(jdbcTemplate, judgeJobRepository, subscriptionRegistry, testcaseEventRelayProvider,
+                objectMapper, meterRegistry, true, RECENT_RESULTS, 180_000L, 86_400_000L);
+    }
+}
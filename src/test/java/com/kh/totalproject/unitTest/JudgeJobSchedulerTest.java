@@ -0,0 +1,260 @@
+/* 채점 우선순위 대기열의 전달 순서(난이도/관리자/재시도, 일반 유저의 관리자 여부 판단), 동시 채점 수와 대기열 상한, 대기 순번 SSE 전송을 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.ChallengeDifficulty;
+import com.kh.totalproject.exception.BadRequestException;
+import com.kh.totalproject.exception.JudgeUnavailableException;
+import com.kh.totalproject.service.JudgeJobScheduler;
+import com.kh.totalproject.service.SseEventWriter;
+import com.kh.totalproject.service.SseSubscriptionRegistry;
+import com.kh.totalproject.util.CustomUserDetails;
+import com.kh.totalproject.util.SecurityUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class JudgeJobSchedulerTest {
+    private SimpleMeterRegistry meterRegistry;
+    private SseEventWriter sseEventWriter;
+    private SseSubscriptionRegistry subscriptionRegistry;
+    // Flask 에 전달된 순서와 응답을 완료할 future
+    private final List<String> dispatched = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, CompletableFuture<Integer>> responses = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sseEventWriter = new SseEventWriter(meterRegistry, 16, 1);
+        subscriptionRegistry = new SseSubscriptionRegistry(meterRegistry, sseEventWriter, 100, 10_000, 30_000, 180_000, 64, 15_000);
+    }
+
+    @Test
+    @DisplayName("동시 채점 수가 찬 동안 대기, 관리자 > 쉬운 문제 > 어려운 문제 순으로 전달")
+    public void dispatchesByPriority() throws Exception {
+        JudgeJobScheduler scheduler = newScheduler(this::recordingDispatcher, 10, 1, 1);
+        enqueue(scheduler, "running", ChallengeDifficulty.PRACTICE, false);
+        CompletableFuture<Integer> expert = enqueue(scheduler, "expert", ChallengeDifficulty.EXPERT, false);
+        enqueue(scheduler, "practice", ChallengeDifficulty.PRACTICE, false);
+        enqueue(scheduler, "admin", ChallengeDifficulty.BASIC, true);
+        assertEquals(List.of("running"), dispatched);
+        assertEquals(3, scheduler.waitingCount());
+
+        // 채점 중인 작업의 구독이 제거될 때마다 다음 작업 전달
+        finish("running");
+        finish("admin");
+        finish("practice");
+        assertEquals(List.of("running", "admin", "practice", "expert"), dispatched);
+        assertEquals(7, expert.get(1, TimeUnit.SECONDS));
+        assertEquals(4, meterRegistry.get("code_challenge.job_queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 503 예외, 대기 중 취소 시 Flask 에 전달하지 않음")
+    public void rejectsWhenFullAndCancelsWaiting() {
+        JudgeJobScheduler scheduler = newScheduler(this::recordingDispatcher, 2, 1, 1);
+        enqueue(scheduler, "running", ChallengeDifficulty.PRACTICE, false);
+        CompletableFuture<Integer> first = enqueue(scheduler, "waiting-1", ChallengeDifficulty.PRACTICE, false);
+        enqueue(scheduler, "waiting-2", ChallengeDifficulty.PRACTICE, false);
+        CompletableFuture<Integer> rejected = enqueue(scheduler, "waiting-3", ChallengeDifficulty.PRACTICE, false);
+
+        ExecutionException full = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(JudgeUnavailableException.class, full.getCause());
+        assertTrue(((JudgeUnavailableException) full.getCause()).getRetryAfterSeconds() >= 1);
+        assertSame(first, scheduler.enqueue("waiting-1", 1L, false), "중복 실행 요청은 같은 결과를 기다려야 합니다.");
+
+        assertTrue(scheduler.cancel("waiting-1"));
+        assertTrue(first.isCompletedExceptionally());
+        finish("running");
+        assertEquals(List.of("running", "waiting-2"), dispatched);
+    }
+
+    @Test
+    @DisplayName("Flask 연결 실패 시 앞당겨 다시 대기 후 전달")
+    public void retriesTransientFailure() throws Exception {
+        List<String> attempts = Collections.synchronizedList(new ArrayList<>());
+        JudgeJobScheduler scheduler = newScheduler((jobId, userId) -> {
+            attempts.add(jobId);
+            if (attempts.size() == 1) {
+                return CompletableFuture.failedFuture(new ResourceAccessException("connection refused"));
+            }
+            return CompletableFuture.completedFuture(3);
+        }, 10, 1, 1);
+
+        assertEquals(3, enqueue(scheduler, "flaky", ChallengeDifficulty.PRACTICE, false).get(1, TimeUnit.SECONDS));
+        assertEquals(List.of("flaky", "flaky"), attempts);
+        assertEquals(1, meterRegistry.get("code_challenge.job_queue.retries").counter().count());
+    }
+
+    @Test
+    @DisplayName("재시도 작업의 대기 시간 초과는 처음 대기 시각이 아닌 다시 대기한 시각부터 계산")
+    public void retryWaitsFromRequeueTime() throws Exception {
+        CompletableFuture<Integer> firstAttempt = new CompletableFuture<>();
+        responses.put("admin", new CompletableFuture<>());
+        List<String> attempts = Collections.synchronizedList(new ArrayList<>());
+        JudgeJobScheduler scheduler = newScheduler((jobId, userId) -> {
+            attempts.add(jobId);
+            if (jobId.equals("flaky")) {
+                return attempts.size() == 1 ? firstAttempt : CompletableFuture.completedFuture(3);
+            }
+            return responses.get(jobId);
+        }, 10, 1, 1, 0, 500);
+
+        CompletableFuture<Integer> flaky = enqueue(scheduler, "flaky", ChallengeDifficulty.PRACTICE, false);
+        // Flask 응답을 max-wait-ms 보다 오래 기다린 뒤 연결 실패, 그 사이 우선순위가 높은 관리자 작업이 대기
+        Thread.sleep(700);
+        enqueue(scheduler, "admin", ChallengeDifficulty.PRACTICE, true);
+        firstAttempt.completeExceptionally(new ResourceAccessException("connection reset"));
+        assertEquals(List.of("flaky", "admin"), attempts);
+
+        scheduler.publishPositions();
+        assertFalse(flaky.isDone(), "다시 대기한 재시도 작업이 처음 대기 시각 기준으로 만료되면 안됩니다.");
+
+        finish("admin");
+        assertEquals(3, flaky.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of("flaky", "admin", "flaky"), attempts);
+    }
+
+    @Test
+    @DisplayName("대기 중인 클라이언트에 바뀐 대기 순번만 queue 이벤트로 전송")
+    public void publishesQueuePositions() throws Exception {
+        JudgeJobScheduler scheduler = newScheduler(this::recordingDispatcher, 10, 1, 1);
+        RecordingEmitter first = subscribe("waiting-1");
+        RecordingEmitter second = subscribe("waiting-2");
+        enqueue(scheduler, "running", ChallengeDifficulty.PRACTICE, false);
+        enqueue(scheduler, "waiting-1", ChallengeDifficulty.PRACTICE, false);
+        enqueue(scheduler, "waiting-2", ChallengeDifficulty.PRACTICE, false);
+
+        scheduler.publishPositions();
+        scheduler.publishPositions();
+        finish("running");
+        scheduler.publishPositions();
+
+        waitUntil(() -> first.sent.size() >= 2 && second.sent.size() >= 2);
+        log.info("대기 순번 이벤트 : {}, {}", first.sent, second.sent);
+        assertEquals(2, first.sent.size(), "순번 1 전송 후 채점 시작(0) 전송");
+        assertTrue(first.sent.get(0).contains("position=1"));
+        assertTrue(first.sent.get(1).contains("position=0"));
+        assertEquals(2, second.sent.size(), "순번이 바뀐 경우에만 전송");
+        assertTrue(second.sent.get(0).contains("position=2"));
+        assertTrue(second.sent.get(1).contains("position=1"));
+    }
+
+    @Test
+    @DisplayName("관리자가 아닌 유저의 execute 요청도 예외 없이 일반 우선순위로 전달")
+    public void nonAdminExecuteIsDispatched() throws Exception {
+        JudgeJobScheduler scheduler = newScheduler(this::recordingDispatcher, 10, 1, 1);
+        try {
+            // CodeChallengeController.executeJob 과 같이 요청한 유저의 권한으로 관리자 여부 판단
+            authenticate("USER");
+            assertFalse(SecurityUtil.hasAdminRole());
+            assertThrows(BadRequestException.class, SecurityUtil::isAdminUser, "관리자 전용 검사는 예외를 던지므로 사용하면 안됩니다.");
+            enqueue(scheduler, "running", ChallengeDifficulty.PRACTICE, SecurityUtil.hasAdminRole());
+            CompletableFuture<Integer> user = enqueue(scheduler, "user", ChallengeDifficulty.PRACTICE, SecurityUtil.hasAdminRole());
+
+            authenticate("ADMIN");
+            assertTrue(SecurityUtil.hasAdminRole());
+            enqueue(scheduler, "admin", ChallengeDifficulty.PRACTICE, SecurityUtil.hasAdminRole());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        assertFalse(SecurityUtil.hasAdminRole(), "인증 정보가 없으면 관리자가 아닌 것으로 처리해야 합니다.");
+
+        finish("running");
+        waitUntil(() -> dispatched.size() == 2);
+        finish("admin");
+        waitUntil(() -> dispatched.size() == 3);
+        assertEquals(List.of("running", "admin", "user"), dispatched);
+        assertEquals(7, user.get(5, TimeUnit.SECONDS));
+    }
+
+    private void authenticate(String role) {
+        CustomUserDetails userDetails = new CustomUserDetails("scheduler-test", "scheduler-test@gmail.com", "scheduler-test",
+                1L, null, List.of(new SimpleGrantedAuthority(role)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private JudgeJobScheduler newScheduler(BiFunction<String, Long, CompletableFuture<Integer>> dispatcher,
+                                           int capacity, int maxConcurrent, int maxRetries) {
+        return newScheduler(dispatcher, capacity, maxConcurrent, maxRetries, 10_000, 25_000);
+    }
+
+    private JudgeJobScheduler newScheduler(BiFunction<String, Long, CompletableFuture<Integer>> dispatcher,
+                                           int capacity, int maxConcurrent, int maxRetries, long retryAdvanceMs, long maxWaitMs) {
+        Map<ChallengeDifficulty, Long> delays = new EnumMap<>(ChallengeDifficulty.class);
+        delays.put(ChallengeDifficulty.PRACTICE, 0L);
+        delays.put(ChallengeDifficulty.BASIC, 1_000L);
+        delays.put(ChallengeDifficulty.INTERMEDIATE, 2_000L);
+        delays.put(ChallengeDifficulty.EXPERT, 3_000L);
+        JudgeJobScheduler scheduler = new JudgeJobScheduler(dispatcher, subscriptionRegistry, sseEventWriter, meterRegistry,
+                delays, 5_000, retryAdvanceMs, capacity, maxConcurrent, maxRetries, maxWaitMs, 180_000);
+        scheduler.start();
+        return scheduler;
+    }
+
+    private CompletableFuture<Integer> recordingDispatcher(String jobId, Long userId) {
+        dispatched.add(jobId);
+        return responses.computeIfAbsent(jobId, id -> CompletableFuture.completedFuture(7));
+    }
+
+    private CompletableFuture<Integer> enqueue(JudgeJobScheduler scheduler, String jobId, ChallengeDifficulty difficulty, boolean admin) {
+        scheduler.describe(jobId, difficulty);
+        if (subscriptionRegistry.get(jobId) == null) {
+            subscriptionRegistry.register(jobId, 1L, new SseEmitter());
+        }
+        return scheduler.enqueue(jobId, 1L, admin);
+    }
+
+    // 채점 완료로 구독 제거
+    private void finish(String jobId) {
+        subscriptionRegistry.remove(jobId);
+    }
+
+    private RecordingEmitter subscribe(String jobId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        subscriptionRegistry.register(jobId, 1L, emitter);
+        return emitter;
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sent.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+    }
+}
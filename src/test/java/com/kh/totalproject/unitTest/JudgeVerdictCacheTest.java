@@ -0,0 +1,123 @@
+/* 같은 코드 재제출 시 채점 결과 캐시 적중/재전송, 문제 제한 변경과 무효화 처리, 적중률 지표를 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.Language;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.service.JudgeVerdictCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class JudgeVerdictCacheTest {
+    private static final long QUESTION_ID = 1L;
+    private static final Long USER_ID = 10L;
+    private static final String CODE = Base64.getEncoder().encodeToString("print(1)".getBytes(StandardCharsets.UTF_8));
+
+    private SimpleMeterRegistry meterRegistry;
+    private JudgeVerdictCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new JudgeVerdictCache(meterRegistry, true, 100, 100, 60_000, 180_000);
+    }
+
+    @Test
+    @DisplayName("완료된 채점 결과를 저장하고 같은 코드 재제출 시 새 jobId 로 재전송")
+    public void replaysCompletedVerdict() {
+        JudgeVerdictCache.Key key = JudgeVerdictCache.key(QUESTION_ID, Language.PYTHON, CODE, 256, 1000);
+        assertNull(cache.lookup(key, USER_ID));
+
+        judge("job-1", 3);
+        cache.complete(complete("job-1"), key);
+
+        String jobId = cache.lookup(JudgeVerdictCache.key(QUESTION_ID, Language.PYTHON, CODE, 256, 1000), USER_ID);
+        assertNotNull(jobId);
+        assertTrue(JudgeVerdictCache.isReplayJob(jobId));
+        assertNull(cache.takeReplay(jobId, 99L), "다른 유저는 재전송 작업을 실행할 수 없어야 합니다.");
+
+        List<TestcaseResult> results = cache.takeReplay(jobId, USER_ID);
+        assertNotNull(results);
+        assertEquals(4, results.size());
+        assertEquals("complete", results.get(3).getDetail());
+        assertNull(cache.takeReplay(jobId, USER_ID), "재전송 작업은 한번만 실행되어야 합니다.");
+
+        assertEquals(1, meterRegistry.get("code_challenge.verdict_cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("code_challenge.verdict_cache.requests").tag("result", "miss").counter().count());
+        assertEquals(0.5, meterRegistry.get("code_challenge.verdict_cache.hit_ratio").gauge().value());
+        assertEquals(1, meterRegistry.get("code_challenge.verdict_cache.saved_judge_time").timer().count());
+    }
+
+    @Test
+    @DisplayName("제한 변경, 언어 변경, 무효화 후에는 적중하지 않음")
+    public void missesAfterLimitChangeOrInvalidate() {
+        JudgeVerdictCache.Key key = JudgeVerdictCache.key(QUESTION_ID, Language.PYTHON, CODE, 256, 1000);
+        judge("job-1", 2);
+        cache.complete(complete("job-1"), key);
+
+        assertNull(cache.lookup(JudgeVerdictCache.key(QUESTION_ID, Language.PYTHON, CODE, 256, 500), USER_ID));
+        assertNull(cache.lookup(JudgeVerdictCache.key(QUESTION_ID, Language.JAVA, CODE, 256, 1000), USER_ID));
+        assertNotNull(cache.lookup(key, USER_ID));
+
+        // 무효화 전에 시작한 채점 결과도 저장하지 않음
+        judge("job-2", 2);
+        cache.invalidate(QUESTION_ID);
+        cache.complete(complete("job-2"), key);
+        assertNull(cache.lookup(key, USER_ID));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("중단된 작업, 재전송 작업, fail-fast 작업의 결과는 저장하지 않음")
+    public void ignoresDiscardedAndReplayedJobs() {
+        JudgeVerdictCache.Key key = JudgeVerdictCache.key(QUESTION_ID, Language.PYTHON, CODE, 256, 1000);
+        judge("job-1", 2);
+        cache.discard("job-1");
+        cache.complete(complete("job-1"), key);
+        assertEquals(0, cache.size());
+
+        judge(JudgeVerdictCache.REPLAY_JOB_PREFIX + "job-2", 2);
+        cache.complete(complete(JudgeVerdictCache.REPLAY_JOB_PREFIX + "job-2"), key);
+        assertEquals(0, cache.size());
+
+        cache.exclude("job-3");
+        judge("job-3", 1);
+        cache.complete(complete("job-3"), key);
+        assertEquals(0, cache.size());
+    }
+
+    private void judge(String jobId, int testcases) {
+        for (int i = 0; i < testcases; i++) {
+            cache.record(TestcaseResult.builder()
+                    .jobId(jobId)
+                    .userId(USER_ID)
+                    .questionId(QUESTION_ID)
+                    .success(true)
+                    .testcaseIndex(i)
+                    .runningTime(10)
+                    .memoryUsage(1024.0f)
+                    .build());
+        }
+    }
+
+    private TestcaseResult complete(String jobId) {
+        return TestcaseResult.builder()
+                .jobId(jobId)
+                .userId(USER_ID)
+                .questionId(QUESTION_ID)
+                .success(true)
+                .detail("complete")
+                .code(CODE)
+                .codeLanguage(Language.PYTHON)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+/* JwtFilter 에서 매 요청마다 호출되는 JwtUtil 인증 경로의 처리량 비교 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.config.JwtConfig;
+import com.kh.totalproject.constant.Role;
+import com.kh.totalproject.entity.User;
+import com.kh.totalproject.repository.UserRepository;
+import com.kh.totalproject.util.CustomUserDetails;
+import com.kh.totalproject.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest
+public class JwtUtilBenchmarkTest {
+    private static final int WARM_UP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Autowired
+    JwtUtil jwtUtil;
+    @Autowired
+    JwtConfig jwtConfig;
+    @Autowired
+    UserRepository userRepository;
+
+    private User user;
+    private String accessToken;
+    // 공유 JwtConfig 빈의 원래 설정 (다른 테스트에 영향을 주지 않도록 테스트마다 복구)
+    private boolean statelessAuthentication;
+
+    @BeforeEach
+    public void setUp() {
+        statelessAuthentication = jwtConfig.isStatelessAuthentication();
+        user = userRepository.findByUserId("jwtbench")
+                .orElseGet(() -> {
+                    User newUser = new User();
+                    newUser.setUserId("jwtbench");
+                    newUser.setPassword("jwtbench1234!");
+                    newUser.setEmail("jwtbench@gmail.com");
+                    newUser.setNickname("jwtbench");
+                    newUser.setRole(Role.USER);
+                    return userRepository.save(newUser);
+                });
+        accessToken = jwtUtil.generateTokenFromUser(user).getAccessToken();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.setField(jwtConfig, "statelessAuthentication", statelessAuthentication);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("stateless 모드는 DB 조회 없이 claim 으로 인증 객체 생성")
+    public void statelessAuthentication() {
+        ReflectionTestUtils.setField(jwtConfig, "statelessAuthentication", true);
+        Authentication authentication = jwtUtil.getAuthentication(accessToken);
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+
+        assertEquals(user.getUserKey(), userDetails.getUserKey());
+        assertEquals(user.getNickname(), userDetails.getNickname());
+        assertNull(userDetails.getPassword(), "stateless 모드는 비밀번호를 담지 않아야 합니다.");
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("USER")));
+    }
+
+    @Test
+    @DisplayName("tokenVersion 이 올라가면 이전 토큰은 거부")
+    public void revokedTokenVersion() {
+        ReflectionTestUtils.setField(jwtConfig, "statelessAuthentication", true);
+        user.increaseTokenVersion();
+        user = userRepository.save(user);
+        jwtUtil.updateTokenVersion(user);
+
+        assertThrows(Exception.class, () -> jwtUtil.getAuthentication(accessToken));
+        String newToken = jwtUtil.generateTokenFromUser(user).getAccessToken();
+        assertNotNull(jwtUtil.getAuthentication(newToken));
+    }
+
+    @Test
+    @DisplayName("DB 조회 모드와 stateless 모드 처리량 비교")
+    public void compareAuthenticationModes() {
+        double database = measure(false);
+        double stateless = measure(true);
+        // 실행 환경에 따라 달라지는 처리량은 비교 결과만 기록
+        log.info("getAuthentication 처리량 - database : {} ops/s, stateless : {} ops/s", (long) database, (long) stateless);
+        assertTrue(database > 0 && stateless > 0);
+    }
+
+    @Test
+    @DisplayName("요청마다 키/파서 생성 후 두번 파싱 vs 캐시된 파서와 요청 범위 claim 재사용")
+    public void compareParserReuse() {
+        ReflectionTestUtils.setField(jwtConfig, "statelessAuthentication", true);
+
+        // 기존 방식 : validateToken, getAuthentication 에서 매번 키와 파서를 새로 만들어 두번 검증
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (int j = 0; j < 2; j++) {
+                Jwts.parser().verifyWith(Keys.hmacShaKeyFor(jwtConfig.getSecretKey().getBytes())).build()
+                        .parseSignedClaims(accessToken);
+            }
+        }
+        double before = ITERATIONS / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+        // 개선 방식 : 요청마다 JwtFilter 와 동일하게 validateToken + getAuthentication 호출
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            jwtUtil.validateToken(accessToken);
+            jwtUtil.getAuthentication(accessToken);
+        }
+        RequestContextHolder.resetRequestAttributes();
+        double after = ITERATIONS / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+        log.info("토큰 처리량 - before : {} tokens/s, after : {} tokens/s", (long) before, (long) after);
+        assertTrue(before > 0 && after > 0);
+    }
+
+    private double measure(boolean stateless) {
+        ReflectionTestUtils.setField(jwtConfig, "statelessAuthentication", stateless);
+        for (int i = 0; i < WARM_UP; i++) {
+            jwtUtil.getAuthentication(accessToken);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            jwtUtil.getAuthentication(accessToken);
+        }
+        long elapsed = System.nanoTime() - start;
+        return ITERATIONS / (elapsed / 1_000_000_000.0);
+    }
+}
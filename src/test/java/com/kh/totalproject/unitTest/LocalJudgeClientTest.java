@@ -0,0 +1,292 @@
+/* 내장 채점기가 Java 제출 코드를 테스트 케이스별 결과(통과, 오답, 시간 초과, 컴파일 에러)와 complete 결과로 채점하고, 중단 시 프로세스를 종료하며, 동시 실행해도 순차 실행과 같은 순서/결과를 전달하고(채점 시간은 기록만) fail-fast 시 처음 실패에서 멈추는지 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.Language;
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.dto.request.SubmitCodeRequest;
+import com.kh.totalproject.entity.CodeChallengeInfo;
+import com.kh.totalproject.exception.CustomHttpClientErrorException;
+import com.kh.totalproject.service.LocalJudgeClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class LocalJudgeClientTest {
+    private static final long QUESTION_ID = 1L;
+    // 뒤 번호일수록 빨리 끝나는 테스트 케이스 (입력 값만큼 대기 후 출력)
+    private static final long SLEEP_QUESTION_ID = 2L;
+    private static final int SLEEP_TESTCASES = 8;
+    private static final long USER_ID = 1L;
+    private static final String SUM_CODE = """
+            import java.util.Scanner;
+
+            public class Solution {
+                public static void main(String[] args) {
+                    Scanner scanner = new Scanner(System.in);
+                    System.out.println(scanner.nextInt() + scanner.nextInt());
+                }
+            }
+            """;
+    private static final String SLEEP_CODE = """
+            import java.util.Scanner;
+
+            public class Main {
+                public static void main(String[] args) throws Exception {
+                    int millis = new Scanner(System.in).nextInt();
+                    Thread.sleep(millis);
+                    System.out.println(millis);
+                }
+            }
+            """;
+
+    @TempDir
+    Path testcaseDir;
+
+    private final List<TestcaseResult> results = new CopyOnWriteArrayList<>();
+    private CountDownLatch finished;
+    private LocalJudgeClient judgeClient;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path dir = Files.createDirectories(testcaseDir.resolve(String.valueOf(QUESTION_ID)));
+        Files.writeString(dir.resolve("1.in"), "1 2\n");
+        Files.writeString(dir.resolve("1.out"), "3\n");
+        Files.writeString(dir.resolve("2.in"), "10 20\n");
+        Files.writeString(dir.resolve("2.out"), "30  \n\n");
+        Files.writeString(dir.resolve("3.in"), "-5 5\n");
+        Files.writeString(dir.resolve("3.out"), "0\n");
+
+        Path sleepDir = Files.createDirectories(testcaseDir.resolve(String.valueOf(SLEEP_QUESTION_ID)));
+        for (int i = 0; i < SLEEP_TESTCASES; i++) {
+            int millis = (SLEEP_TESTCASES - i) * 80;
+            Files.writeString(sleepDir.resolve(i + ".in"), millis + "\n");
+            Files.writeString(sleepDir.resolve(i + ".out"), millis + "\n");
+        }
+
+        finished = new CountDownLatch(1);
+        judgeClient = newClient(true);
+    }
+
+    private LocalJudgeClient newClient(boolean parallelTestcases) {
+        return newClient(parallelTestcases, new SimpleMeterRegistry());
+    }
+
+    private LocalJudgeClient newClient(boolean parallelTestcases, SimpleMeterRegistry meterRegistry) {
+        return new LocalJudgeClient(
+                questionId -> questionId == QUESTION_ID || questionId == SLEEP_QUESTION_ID ?
+                        Optional.of(challengeInfo(questionId)) : Optional.empty(),
+                result -> {
+                    results.add(result);
+                    if (result.getDetail() != null && (result.getDetail().contains("complete") || result.getDetail().contains("중단"))) {
+                        finished.countDown();
+                    }
+                    return SendTestcaseResultStatus.SUCCESS;
+                },
+                meterRegistry, testcaseDir, 2, parallelTestcases, 4, null, 2_000L, 180_000L);
+    }
+
+    private static CodeChallengeInfo challengeInfo(Long questionId) {
+        CodeChallengeInfo challengeInfo = new CodeChallengeInfo();
+        challengeInfo.setQuestionId(questionId);
+        challengeInfo.setMemoryLimit(64);
+        challengeInfo.setRunningTimeLimit(1000);
+        return challengeInfo;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        judgeClient.shutdown();
+    }
+
+    @Test
+    @DisplayName("정답 코드는 모든 테스트 케이스를 통과하고 complete 결과에 최대 실행 시간과 코드 정보를 전달")
+    public void judgesAcceptedSubmission() throws Exception {
+        long start = System.nanoTime();
+        List<TestcaseResult> judged = judge(SUM_CODE);
+        log.info("테스트 케이스 3개 채점 시간 : {}ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        assertEquals(4, judged.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, judged.get(i).getTestcaseIndex());
+            assertTrue(judged.get(i).getSuccess(), "테스트 케이스 " + i + " 통과");
+            assertEquals("통과", judged.get(i).getDetail());
+        }
+        TestcaseResult complete = judged.get(3);
+        assertEquals("complete", complete.getDetail());
+        assertTrue(complete.getSuccess());
+        assertEquals(encode(SUM_CODE), complete.getCode());
+        assertEquals(Language.JAVA, complete.getCodeLanguage());
+        assertEquals(SUM_CODE.getBytes(StandardCharsets.UTF_8).length, complete.getCodeSize());
+        assertEquals(0, judgeClient.jobCount());
+    }
+
+    @Test
+    @DisplayName("오답, 시간 초과, 컴파일 에러를 테스트 케이스 결과로 전달")
+    public void judgesFailedSubmissions() throws Exception {
+        List<TestcaseResult> wrong = judge(SUM_CODE.replace("scanner.nextInt() + scanner.nextInt()", "scanner.nextInt() * 0 + 3"));
+        assertEquals(List.of(true, false, false, false), wrong.stream().map(TestcaseResult::getSuccess).toList());
+        assertEquals("오답", wrong.get(1).getDetail());
+
+        results.clear();
+        finished = new CountDownLatch(1);
+        List<TestcaseResult> timeout = judge("public class Main { public static void main(String[] args) { while (true) { } } }");
+        assertEquals("시간 초과", timeout.get(0).getDetail());
+        assertNull(timeout.get(0).getError(), "시간 초과는 구독을 종료시키는 에러가 아니어야 합니다.");
+        assertFalse(timeout.get(timeout.size() - 1).getSuccess());
+
+        results.clear();
+        finished = new CountDownLatch(1);
+        List<TestcaseResult> compileError = judge("public class Main { public static void main(String[] args) { int x = ; } }");
+        assertEquals(2, compileError.size());
+        assertTrue(compileError.get(0).getError().startsWith("컴파일 에러"));
+        assertEquals("complete", compileError.get(1).getDetail());
+        assertFalse(compileError.get(1).getSuccess());
+    }
+
+    @Test
+    @DisplayName("실행 중인 작업을 중단하면 프로세스를 종료하고 중단 결과를 한번만 전달")
+    public void cancelsRunningJob() throws Exception {
+        String jobId = judgeClient.createJob(request(
+                "public class Main { public static void main(String[] args) throws Exception { Thread.sleep(60_000); } }")).join();
+        judgeClient.executeJob(jobId, USER_ID).join();
+        Thread.sleep(500);
+
+        long start = System.nanoTime();
+        judgeClient.cancelJob(jobId, USER_ID).join();
+        assertTrue(finished.await(10, TimeUnit.SECONDS), "중단 결과가 전달되어야 합니다.");
+        log.info("중단 요청 후 중단 결과 전달까지 : {}ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).getSuccess());
+        assertTrue(results.get(0).getDetail().contains("중단"));
+    }
+
+    @Test
+    @DisplayName("테스트 케이스를 동시에 실행해도 순차 실행과 같은 결과를 testcaseIndex 순서대로 전달하고 채점 시간 기록")
+    public void parallelTestcasesKeepOrder() throws Exception {
+        SimpleMeterRegistry sequentialRegistry = new SimpleMeterRegistry();
+        LocalJudgeClient sequentialClient = newClient(false, sequentialRegistry);
+        List<TestcaseResult> sequential;
+        long sequentialMs;
+        try {
+            long start = System.nanoTime();
+            sequential = judge(sequentialClient, request(SLEEP_CODE, SLEEP_QUESTION_ID));
+            sequentialMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            sequentialClient.shutdown();
+        }
+
+        results.clear();
+        finished = new CountDownLatch(1);
+        judgeClient.shutdown();
+        SimpleMeterRegistry parallelRegistry = new SimpleMeterRegistry();
+        judgeClient = newClient(true, parallelRegistry);
+        long start = System.nanoTime();
+        List<TestcaseResult> parallel = judge(judgeClient, request(SLEEP_CODE, SLEEP_QUESTION_ID));
+        long parallelMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.info("테스트 케이스 {}개 채점 시간 - 순차 실행 : {}ms (verdict_latency {}ms), 동시 실행 : {}ms (verdict_latency {}ms)",
+                SLEEP_TESTCASES, sequentialMs, (long) verdictLatencyMs(sequentialRegistry), parallelMs, (long) verdictLatencyMs(parallelRegistry));
+        assertEquals(SLEEP_TESTCASES + 1, parallel.size());
+        for (int i = 0; i < SLEEP_TESTCASES; i++) {
+            assertEquals(i, parallel.get(i).getTestcaseIndex(), "뒤 번호가 먼저 끝나도 번호 순서대로 전달되어야 합니다.");
+            assertEquals(sequential.get(i).getSuccess(), parallel.get(i).getSuccess());
+            assertTrue(parallel.get(i).getSuccess());
+        }
+        assertEquals("complete", parallel.get(SLEEP_TESTCASES).getDetail());
+        assertTrue(parallel.get(SLEEP_TESTCASES).getSuccess());
+    }
+
+    @Test
+    @DisplayName("fail-fast 요청 시 처음 실패한 테스트 케이스까지만 전달하고 나머지는 실행하지 않음")
+    public void failFastStopsAtFirstFailure() throws Exception {
+        // 2번 테스트 케이스(입력 480)만 오답
+        SubmitCodeRequest request = request(SLEEP_CODE.replace("System.out.println(millis);",
+                "System.out.println(millis == 480 ? -1 : millis);"), SLEEP_QUESTION_ID);
+        request.setFailFast(true);
+        long start = System.nanoTime();
+        List<TestcaseResult> judged = judge(judgeClient, request);
+        log.info("fail-fast 채점 시간 : {}ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        assertEquals(List.of(0, 1, 2), judged.subList(0, 3).stream().map(TestcaseResult::getTestcaseIndex).toList());
+        assertEquals(List.of(true, true, false), judged.subList(0, 3).stream().map(TestcaseResult::getSuccess).toList());
+        assertEquals(4, judged.size(), "실패한 테스트 케이스 이후의 결과는 전달되지 않아야 합니다.");
+        assertEquals("complete", judged.get(3).getDetail());
+        assertFalse(judged.get(3).getSuccess());
+    }
+
+    @Test
+    @DisplayName("Java 가 아닌 제출, 테스트 케이스가 없는 문제, 다른 유저의 작업 요청은 Flask 4xx 응답과 같이 실패")
+    public void rejectsInvalidRequests() {
+        SubmitCodeRequest python = request("print(1)");
+        python.setCodeLanguage(Language.PYTHON);
+        assertStatus(400, () -> judgeClient.createJob(python).join());
+
+        SubmitCodeRequest unknownQuestion = request(SUM_CODE);
+        unknownQuestion.setQuestionId(99L);
+        assertStatus(404, () -> judgeClient.createJob(unknownQuestion).join());
+
+        String jobId = judgeClient.createJob(request(SUM_CODE)).join();
+        assertStatus(404, () -> judgeClient.executeJob(jobId, 2L).join());
+        judgeClient.deleteJob(jobId, USER_ID).join();
+        assertEquals(0, judgeClient.jobCount());
+    }
+
+    private List<TestcaseResult> judge(String code) throws InterruptedException {
+        return judge(judgeClient, request(code));
+    }
+
+    private List<TestcaseResult> judge(LocalJudgeClient client, SubmitCodeRequest request) throws InterruptedException {
+        String jobId = client.createJob(request).join();
+        client.executeJob(jobId, USER_ID).join();
+        assertTrue(finished.await(30, TimeUnit.SECONDS), "채점이 완료되어야 합니다.");
+        return List.copyOf(results);
+    }
+
+    private static double verdictLatencyMs(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("code_challenge.local_judge.verdict_latency").timer().totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    private static SubmitCodeRequest request(String code) {
+        return request(code, QUESTION_ID);
+    }
+
+    private static SubmitCodeRequest request(String code, long questionId) {
+        SubmitCodeRequest request = new SubmitCodeRequest();
+        request.setCodeLanguage(Language.JAVA);
+        request.setCode(encode(code));
+        request.setQuestionId(questionId);
+        request.setUserId(USER_ID);
+        return request;
+    }
+
+    private static String encode(String code) {
+        return Base64.getEncoder().encodeToString(code.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertStatus(int status, Runnable request) {
+        CompletionException ex = assertThrows(CompletionException.class, request::run);
+        CustomHttpClientErrorException cause = assertInstanceOf(CustomHttpClientErrorException.class, ex.getCause());
+        assertEquals(status, cause.getStatusCode().value());
+    }
+}
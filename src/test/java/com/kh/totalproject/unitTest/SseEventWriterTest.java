@@ -0,0 +1,135 @@
+/* SSE 전송 대기열의 전송 순서, 대기열 초과/연결 끊김 처리와 느린 클라이언트가 콜백 처리를 막지 않는지 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.service.SseEventWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class SseEventWriterTest {
+
+    @Test
+    @DisplayName("대기열에 넣은 순서대로 전송하고, 남은 메시지를 모두 보낸 뒤 종료")
+    public void ordersEventsAndCompletesAfterPending() throws Exception {
+        SseEventWriter writer = new SseEventWriter(new SimpleMeterRegistry(), 16, 2);
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0), null);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(SendTestcaseResultStatus.SUCCESS, writer.send(emitter, event(i), status -> fail()));
+        }
+        writer.complete(emitter);
+
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(10, emitter.sent.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(emitter.sent.get(i).contains("id:" + i), "전송 순서가 유지되어야 합니다.");
+        }
+        assertEquals(0, writer.pendingCount());
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("멈춘 클라이언트가 있어도 즉시 반환, 대기열 초과 시 GONE 후 남은 메시지 전송 뒤 종료")
+    public void stalledClientDoesNotBlockCallback() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SseEventWriter writer = new SseEventWriter(meterRegistry, 4, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(release, null);
+        CompletableFuture<SendTestcaseResultStatus> failure = new CompletableFuture<>();
+
+        // 첫 메시지 전송 중 멈춘 상태에서 대기열 4개를 채움
+        writer.send(stalled, event(0), failure::complete);
+        assertTrue(stalled.entered.await(5, TimeUnit.SECONDS));
+        long start = System.nanoTime();
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(SendTestcaseResultStatus.SUCCESS, writer.send(stalled, event(i), failure::complete));
+        }
+        assertEquals(SendTestcaseResultStatus.GONE, writer.send(stalled, event(5), failure::complete));
+        log.info("멈춘 클라이언트에 메시지 6건 대기열 추가 : {}ms", (System.nanoTime() - start) / 1_000_000);
+
+        // 전송 스레드가 아직 첫 메시지에서 멈춰 있는 동안 모두 반환됨
+        assertEquals(1, release.getCount());
+        assertTrue(stalled.sent.isEmpty(), "전송 완료를 기다리지 않고 반환해야 합니다.");
+        assertEquals(SendTestcaseResultStatus.GONE, failure.getNow(null));
+        assertEquals(1, meterRegistry.get("code_challenge.sse.queue.overflows").counter().count());
+
+        // 다른 emitter 는 전송 스레드가 남아 있으므로 바로 전송됨
+        RecordingEmitter healthy = new RecordingEmitter(new CountDownLatch(0), null);
+        writer.send(healthy, event(0), status -> fail());
+        writer.complete(healthy);
+        assertTrue(healthy.completed.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(5, stalled.sent.size());
+        assertEquals(0, writer.pendingCount());
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("전송 중 연결 끊김은 콜백으로 GONE 전달")
+    public void disconnectReportsGone() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SseEventWriter writer = new SseEventWriter(meterRegistry, 16, 1);
+        RecordingEmitter disconnected = new RecordingEmitter(new CountDownLatch(0), new IOException("Broken pipe"));
+        CompletableFuture<SendTestcaseResultStatus> failure = new CompletableFuture<>();
+
+        assertEquals(SendTestcaseResultStatus.SUCCESS, writer.send(disconnected, event(0), failure::complete));
+        assertEquals(SendTestcaseResultStatus.GONE, failure.get(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("code_challenge.sse.send.failures").tag("reason", "disconnected").counter().count());
+        writer.shutdown();
+    }
+
+    private SseEmitter.SseEventBuilder event(int id) {
+        return SseEmitter.event().id(String.valueOf(id)).data("testcase " + id);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private final IOException failure;
+
+        private RecordingEmitter(CountDownLatch release, IOException failure) {
+            this.release = release;
+            this.failure = failure;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            sent.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
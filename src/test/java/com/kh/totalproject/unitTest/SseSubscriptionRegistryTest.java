@@ -0,0 +1,181 @@
+/* SSE 구독 저장소의 상한/만료 처리, 재연결 시 이벤트 재전송 순서와 submit 후 이탈 10만회 반복 시 남는 구독/유저 기록과 상한을 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.SendTestcaseResultStatus;
+import com.kh.totalproject.service.SseEventWriter;
+import com.kh.totalproject.service.SseSubscriptionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class SseSubscriptionRegistryTest {
+    private static final int CYCLES = 100_000;
+    private static final int USERS = 1_000;
+
+    @Test
+    @DisplayName("유저별/전체 상한 초과 시 가장 오래된 구독 제거")
+    public void caps() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SseSubscriptionRegistry registry = new SseSubscriptionRegistry(meterRegistry, new SseEventWriter(meterRegistry, 64, 1), 2, 3, 60_000, 60_000, 64, 15_000);
+
+        registry.register("job-1", 1L, new SseEmitter());
+        registry.register("job-2", 1L, new SseEmitter());
+        registry.register("job-3", 1L, new SseEmitter());
+        assertNull(registry.get("job-1"), "유저별 상한을 넘으면 가장 오래된 구독이 제거되어야 합니다.");
+        assertNotNull(registry.get("job-3"));
+
+        registry.register("job-4", 2L, new SseEmitter());
+        registry.register("job-5", 3L, new SseEmitter());
+        assertEquals(3, registry.size());
+        assertNull(registry.get("job-2"), "전체 상한을 넘으면 가장 오래된 구독이 제거되어야 합니다.");
+        assertEquals(2, meterRegistry.get("code_challenge.sse.evictions").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    @DisplayName("구독하지 않은 작업은 pending-ttl 이후 제거, 구독한 작업은 max-age 까지 유지")
+    public void reapPendingSubscriptions() throws InterruptedException {
+        SseSubscriptionRegistry registry = newRegistry(5, 100, 10, 60_000, 64, 15_000);
+
+        registry.register("pending", 1L, new SseEmitter());
+        registry.register("subscribed", 1L, new SseEmitter());
+        registry.markSubscribed("subscribed");
+        Thread.sleep(20);
+        registry.reap();
+
+        assertNull(registry.get("pending"));
+        assertNotNull(registry.get("subscribed"));
+        assertEquals(1, registry.evictionCount());
+        assertTrue(registry.oldestAge().toMillis() >= 20);
+    }
+
+    @Test
+    @DisplayName("재연결 시 Last-Event-ID 이후 이벤트만 재전송, 버퍼 크기 초과 시 오래된 이벤트부터 삭제")
+    public void replayAfterReconnect() {
+        SseSubscriptionRegistry registry = newRegistry(5, 100, 60_000, 60_000, 3, 15_000);
+        SseEmitter first = new SseEmitter();
+        registry.register("job", 1L, first);
+        assertTrue(registry.markSubscribed("job"));
+        assertFalse(registry.markSubscribed("job"), "두번째 구독은 재연결로 처리되어야 합니다.");
+
+        for (int i = 0; i < 5; i++) {
+            registry.recordEvent("job", String.valueOf(i), "testcase " + i);
+        }
+        assertTrue(registry.detach("job", first), "재연결 대기 시간 이내여야 합니다.");
+        assertTrue(registry.isDetached("job"));
+
+        SseEmitter second = new SseEmitter();
+        List<SseSubscriptionRegistry.ReplayEvent> missed = registry.reattach("job", second, 2, events -> {});
+        assertEquals(List.of("3", "4"), missed.stream().map(SseSubscriptionRegistry.ReplayEvent::id).toList());
+        assertEquals(3, registry.reattach("job", second, null, events -> {}).size(), "버퍼 크기만큼만 보관해야 합니다.");
+        assertFalse(registry.isDetached("job"));
+        assertSame(second, registry.get("job"));
+
+        // 교체된 이전 emitter 의 종료 콜백은 새 구독에 영향 없음
+        registry.removeIfCurrent("job", first);
+        assertNotNull(registry.get("job"));
+        registry.remove("job");
+        assertNull(registry.reattach("job", new SseEmitter(), null, events -> {}), "작업 완료 시 버퍼도 해제되어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("재연결 중 도착한 이벤트는 재전송 이벤트를 새 emitter 로 넘긴 뒤에 전송")
+    public void publishWaitsForReplay() throws InterruptedException {
+        SseSubscriptionRegistry registry = newRegistry(5, 100, 60_000, 60_000, 64, 15_000);
+        SseEmitter first = new SseEmitter();
+        SseEmitter second = new SseEmitter();
+        registry.register("job", 1L, first);
+        registry.markSubscribed("job");
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+        assertEquals(SendTestcaseResultStatus.SUCCESS, registry.publish("job", "0", "testcase 0", emitter -> {
+            sent.add("0");
+            return SendTestcaseResultStatus.SUCCESS;
+        }));
+        registry.detach("job", first);
+        assertEquals(SendTestcaseResultStatus.GONE, registry.publish("job", "1", "testcase 1", emitter -> fail()));
+
+        // 재전송 이벤트를 넘기는 도중 도착한 콜백은 교체가 끝날 때까지 대기 후 새 emitter 로 전송
+        Thread publisher = new Thread(() -> registry.publish("job", "2", "testcase 2", emitter -> {
+            assertSame(second, emitter);
+            sent.add("2");
+            return SendTestcaseResultStatus.SUCCESS;
+        }));
+        registry.reattach("job", second, 0, events -> {
+            publisher.start();
+            try {
+                publisher.join(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertTrue(publisher.isAlive(), "재연결이 끝날 때까지 전송을 기다려야 합니다.");
+            events.forEach(event -> sent.add(event.id()));
+        });
+        publisher.join(5_000);
+
+        assertEquals(List.of("0", "1", "2"), sent);
+    }
+
+    @Test
+    @DisplayName("submit 후 구독하지 않고 이탈 10만회 반복해도 구독/유저 기록이 남지 않음")
+    public void submitAndAbandonCycles() {
+        SseSubscriptionRegistry registry = newRegistry(5, 10_000, 0, 180_000, 64, 15_000);
+
+        runCycles(registry, 0, CYCLES, 10_000, 5);
+
+        log.info("submit/이탈 {}회 - 남은 구독 : {}건, 남은 유저 : {}명, 제거 : {}건",
+                CYCLES, registry.size(), registry.userCount(), (long) registry.evictionCount());
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.userCount(), "구독이 모두 제거된 유저의 기록도 제거되어야 합니다.");
+        assertEquals(CYCLES, (long) registry.evictionCount());
+    }
+
+    @Test
+    @DisplayName("구독하지 않은 작업이 만료 전에 10만회 쌓여도 유저별/전체 상한 이내로 유지")
+    public void submitCyclesStayWithinCaps() {
+        int maxTotal = 2_000;
+        SseSubscriptionRegistry registry = newRegistry(5, maxTotal, 60_000, 180_000, 64, 15_000);
+
+        runCycles(registry, 0, CYCLES, maxTotal, 5);
+
+        assertEquals(maxTotal, registry.size());
+        assertTrue(registry.userCount() <= USERS);
+        assertEquals(CYCLES - maxTotal, (long) registry.evictionCount());
+        for (int i = 0; i < CYCLES; i++) {
+            registry.remove("job-" + i);
+        }
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.userCount());
+    }
+
+    private SseSubscriptionRegistry newRegistry(int maxPerUser, int maxTotal, long pendingTtlMs, long maxAgeMs,
+                                                int replayBufferSize, long reconnectGraceMs) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new SseSubscriptionRegistry(meterRegistry, new SseEventWriter(meterRegistry, 64, 1),
+                maxPerUser, maxTotal, pendingTtlMs, maxAgeMs, replayBufferSize, reconnectGraceMs);
+    }
+
+    // 매 등록 후 유저별/전체 구독 수가 상한 이내인지 확인
+    private void runCycles(SseSubscriptionRegistry registry, int from, int to, int maxTotal, int maxPerUser) {
+        for (int i = from; i < to; i++) {
+            long userId = i % USERS;
+            registry.register("job-" + i, userId, new SseEmitter(SseSubscriptionRegistry.EMITTER_TIMEOUT_MS));
+            assertTrue(registry.userSubscriptionCount(userId) <= maxPerUser);
+            // 10초 주기 reaper 를 1,000건마다 실행하는 것으로 대체
+            if (i % 1_000 == 999) {
+                assertTrue(registry.size() <= maxTotal);
+                registry.reap();
+            }
+        }
+        registry.reap();
+    }
+}
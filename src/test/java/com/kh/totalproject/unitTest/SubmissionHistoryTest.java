@@ -0,0 +1,213 @@
+/* 제출 이력 커서 페이지의 hasNext/nextCursor 경계, 페이지 크기 상한, 커서 이후 중복 없는 조회와 다른 유저 제출 코드 조회 시 404 를 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.Role;
+import com.kh.totalproject.controller.CodeChallengeController;
+import com.kh.totalproject.dto.response.SubmissionHistoryResponse;
+import com.kh.totalproject.dto.response.SubmissionSummaryResponse;
+import com.kh.totalproject.entity.User;
+import com.kh.totalproject.repository.UserRepository;
+import com.kh.totalproject.service.CodeBlobService;
+import com.kh.totalproject.util.CustomUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest
+public class SubmissionHistoryTest {
+    private static final long QUESTION_ID = 910_001L;
+    private static final long OTHER_QUESTION_ID = 910_002L;
+    // 페이지 크기 상한(100)을 넘는 제출 수
+    private static final int QUESTION_SUBMISSIONS = 120;
+    private static final int OTHER_QUESTION_SUBMISSIONS = 3;
+
+    @Autowired
+    CodeChallengeController codeChallengeController;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    CodeBlobService codeBlobService;
+
+    private User owner;
+    private User other;
+    private List<Long> ownerQuestionIds;
+    private Long otherSubmissionId;
+
+    @BeforeEach
+    public void seedSubmissions() {
+        owner = user("historyowner");
+        other = user("historyother");
+        jdbcTemplate.update("INSERT IGNORE INTO code_challenge_info (question_id, title, description, cond, category, difficulty) " +
+                "VALUES (?, '제출 이력 문제', '설명', '조건', '구현', 'PRACTICE'), (?, '제출 이력 문제 2', '설명', '조건', '구현', 'PRACTICE')",
+                QUESTION_ID, OTHER_QUESTION_ID);
+        removeSubmissions();
+
+        String codeHash = codeBlobService.store("print('history')");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> submissions = new ArrayList<>();
+        for (int i = 0; i < QUESTION_SUBMISSIONS; i++) {
+            submissions.add(new Object[]{owner.getUserKey(), QUESTION_ID, codeHash, i % 2 == 0, now});
+        }
+        for (int i = 0; i < OTHER_QUESTION_SUBMISSIONS; i++) {
+            submissions.add(new Object[]{owner.getUserKey(), OTHER_QUESTION_ID, codeHash, true, now});
+        }
+        submissions.add(new Object[]{other.getUserKey(), QUESTION_ID, codeHash, true, now});
+        jdbcTemplate.batchUpdate("INSERT INTO code_challenge_submission (user_id, question_id, code_hash, code_language, success, " +
+                "memory_usage, running_time, code_size, submitted_at) VALUES (?, ?, ?, 'PYTHON', ?, 1.0, 10, 16, ?)", submissions);
+
+        ownerQuestionIds = jdbcTemplate.queryForList("SELECT submission_id FROM code_challenge_submission " +
+                "WHERE user_id = ? AND question_id = ? ORDER BY submission_id DESC", Long.class, owner.getUserKey(), QUESTION_ID);
+        otherSubmissionId = jdbcTemplate.queryForObject("SELECT submission_id FROM code_challenge_submission WHERE user_id = ?",
+                Long.class, other.getUserKey());
+        authenticate(owner);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        SecurityContextHolder.clearContext();
+        removeSubmissions();
+    }
+
+    @Test
+    @DisplayName("커서를 따라가면 이미 받은 제출 없이 최신순으로 모두 조회되고, 마지막 페이지에서 hasNext=false, nextCursor=null")
+    public void followsCursorToLastPage() {
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        SubmissionHistoryResponse page;
+        do {
+            page = questionHistory(cursor, 50);
+            pages++;
+            for (SubmissionSummaryResponse summary : page.getSubmissions()) {
+                assertEquals(QUESTION_ID, summary.getQuestionId());
+                if (cursor != null) {
+                    assertTrue(summary.getSubmissionId() < cursor, "커서 이전(이미 받은) 제출은 다시 오면 안됩니다.");
+                }
+                seen.add(summary.getSubmissionId());
+            }
+            if (page.getHasNext()) {
+                assertEquals(seen.get(seen.size() - 1), page.getNextCursor(), "nextCursor 는 페이지의 마지막 제출 id 여야 합니다.");
+            }
+            cursor = page.getNextCursor();
+        } while (page.getHasNext());
+
+        assertEquals(3, pages);
+        assertEquals(20, page.getSubmissions().size());
+        assertNull(page.getNextCursor());
+        assertEquals(ownerQuestionIds, seen, "다른 유저나 다른 문제의 제출 없이 최신순으로 모두 조회되어야 합니다.");
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+    }
+
+    @Test
+    @DisplayName("남은 제출 수가 페이지 크기와 같으면 hasNext=false, 하나 더 많으면 hasNext=true")
+    public void pageBoundary() {
+        // 마지막 20건이 남도록 커서 지정
+        Long cursor = ownerQuestionIds.get(QUESTION_SUBMISSIONS - 21);
+
+        SubmissionHistoryResponse exact = questionHistory(cursor, 20);
+        assertEquals(20, exact.getSubmissions().size());
+        assertFalse(exact.getHasNext());
+        assertNull(exact.getNextCursor());
+
+        SubmissionHistoryResponse oneMore = questionHistory(cursor, 19);
+        assertEquals(19, oneMore.getSubmissions().size());
+        assertTrue(oneMore.getHasNext());
+        assertEquals(ownerQuestionIds.get(QUESTION_SUBMISSIONS - 2), oneMore.getNextCursor());
+
+        SubmissionHistoryResponse last = questionHistory(oneMore.getNextCursor(), 19);
+        assertEquals(List.of(ownerQuestionIds.get(QUESTION_SUBMISSIONS - 1)),
+                last.getSubmissions().stream().map(SubmissionSummaryResponse::getSubmissionId).toList());
+        assertFalse(last.getHasNext());
+    }
+
+    @Test
+    @DisplayName("size 는 최대 100 으로 제한되고, 전체 제출 이력은 본인 제출만 포함")
+    public void capsPageSize() {
+        SubmissionHistoryResponse capped = codeChallengeController.getAllSubmissionHistory(null, 1_000).getBody();
+        assertNotNull(capped);
+        assertEquals(100, capped.getSubmissions().size());
+        assertTrue(capped.getHasNext());
+
+        SubmissionHistoryResponse rest = codeChallengeController.getAllSubmissionHistory(capped.getNextCursor(), 1_000).getBody();
+        assertNotNull(rest);
+        assertEquals(QUESTION_SUBMISSIONS + OTHER_QUESTION_SUBMISSIONS - 100, rest.getSubmissions().size());
+        assertFalse(rest.getHasNext());
+        Set<Long> ids = new HashSet<>();
+        capped.getSubmissions().forEach(summary -> ids.add(summary.getSubmissionId()));
+        rest.getSubmissions().forEach(summary -> ids.add(summary.getSubmissionId()));
+        assertEquals(QUESTION_SUBMISSIONS + OTHER_QUESTION_SUBMISSIONS, ids.size());
+        assertFalse(ids.contains(otherSubmissionId), "다른 유저의 제출은 포함되면 안됩니다.");
+
+        assertEquals(1, codeChallengeController.getAllSubmissionHistory(null, 0).getBody().getSubmissions().size(),
+                "size 가 1 보다 작으면 1건을 반환해야 합니다.");
+    }
+
+    @Test
+    @DisplayName("본인 제출 코드는 조회되고, 다른 유저의 제출이나 없는 제출은 404")
+    public void submissionCodeOwnership() {
+        ResponseEntity<Object> own = codeChallengeController.getSubmissionCode(ownerQuestionIds.get(0));
+        assertEquals(200, own.getStatusCode().value());
+        assertEquals("print('history')", ((Map<?, ?>) own.getBody()).get("code"));
+
+        assertEquals(404, codeChallengeController.getSubmissionCode(otherSubmissionId).getStatusCode().value());
+        assertEquals(404, codeChallengeController.getSubmissionCode(Long.MAX_VALUE).getStatusCode().value());
+
+        authenticate(other);
+        assertEquals(200, codeChallengeController.getSubmissionCode(otherSubmissionId).getStatusCode().value());
+        assertEquals(404, codeChallengeController.getSubmissionCode(ownerQuestionIds.get(0)).getStatusCode().value());
+    }
+
+    private SubmissionHistoryResponse questionHistory(Long cursor, int size) {
+        ResponseEntity<Object> response = codeChallengeController.getSubmissionHistory(QUESTION_ID, cursor, size);
+        assertEquals(200, response.getStatusCode().value());
+        return (SubmissionHistoryResponse) response.getBody();
+    }
+
+    private User user(String userId) {
+        return userRepository.findByUserId(userId)
+                .orElseGet(() -> {
+                    User newUser = new User();
+                    newUser.setUserId(userId);
+                    newUser.setPassword(userId + "1234!");
+                    newUser.setEmail(userId + "@gmail.com");
+                    newUser.setNickname(userId);
+                    newUser.setRole(Role.USER);
+                    return userRepository.save(newUser);
+                });
+    }
+
+    private void authenticate(User user) {
+        CustomUserDetails userDetails = new CustomUserDetails(user.getUserId(), user.getEmail(), user.getNickname(),
+                user.getUserKey(), null, List.of(new SimpleGrantedAuthority(user.getRole().toString())));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private void removeSubmissions() {
+        jdbcTemplate.update("DELETE FROM code_challenge_submission WHERE user_id IN (?, ?)", owner.getUserKey(), other.getUserKey());
+    }
+}
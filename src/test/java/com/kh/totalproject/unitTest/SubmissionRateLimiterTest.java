@@ -0,0 +1,164 @@
+/* 유저 1,000명이 동시에 제출할 때 유저별 토큰 버킷/동시 작업 수 제한이 모든 유저에게 같은 허용량을 주는지, 구독 제거 시 동시 작업 수가 반환되는지 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.ChallengeDifficulty;
+import com.kh.totalproject.service.SseEventWriter;
+import com.kh.totalproject.service.SseSubscriptionRegistry;
+import com.kh.totalproject.service.SubmissionRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class SubmissionRateLimiterTest {
+    private static final int USER_COUNT = 1_000;
+    private static final int ATTEMPTS_PER_USER = 20;
+    private static final int THREADS = 32;
+    // 테스트 중 토큰이 다시 채워지지 않도록 분당 1개
+    private static final int BURST = 5;
+    private static final int MAX_CONCURRENT = 3;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SseSubscriptionRegistry subscriptionRegistry;
+    private SubmissionRateLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        subscriptionRegistry = new SseSubscriptionRegistry(meterRegistry, new SseEventWriter(meterRegistry, 16, 1),
+                100, 100_000, 30_000, 180_000, 64, 15_000);
+        Map<ChallengeDifficulty, SubmissionRateLimiter.Limits> limits = new EnumMap<>(ChallengeDifficulty.class);
+        for (ChallengeDifficulty difficulty : ChallengeDifficulty.values()) {
+            limits.put(difficulty, new SubmissionRateLimiter.Limits(1, BURST, MAX_CONCURRENT));
+        }
+        limiter = new SubmissionRateLimiter(limits, meterRegistry, subscriptionRegistry, 2_000);
+        limiter.start();
+    }
+
+    @Test
+    @DisplayName("유저 1,000명 동시 제출 시 모든 유저가 같은 수만큼 허용됨")
+    public void fairAcrossConcurrentUsers() throws InterruptedException {
+        // 동시 작업 수 상한까지만 허용
+        AtomicIntegerArray firstRound = submitConcurrently(false);
+        assertAllEqual(firstRound, MAX_CONCURRENT);
+        assertEquals((double) USER_COUNT * (ATTEMPTS_PER_USER - MAX_CONCURRENT),
+                meterRegistry.get("code_challenge.rate_limit.rejections").tag("reason", "concurrency").counter().count());
+
+        // 작업 완료 후에는 남은 토큰(burst - 사용한 수)만큼만 추가 허용
+        for (int user = 0; user < USER_COUNT; user++) {
+            for (int job = 0; job < MAX_CONCURRENT; job++) {
+                limiter.release(jobId(user, job));
+            }
+            assertEquals(0, limiter.inFlight((long) user));
+        }
+        AtomicIntegerArray secondRound = submitConcurrently(true);
+        assertAllEqual(secondRound, BURST - MAX_CONCURRENT);
+
+        SubmissionRateLimiter.Admission rejected = limiter.tryAcquire(0L, ChallengeDifficulty.PRACTICE);
+        assertFalse(rejected.admitted());
+        assertTrue(rejected.retryAfterSeconds() > 0 && rejected.retryAfterSeconds() <= 60,
+                "Retry-After 는 다음 토큰까지 남은 시간이어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("SSE 구독 제거 시 동시 작업 수 반환, 작업 생성 실패 시 즉시 반환")
+    public void releasesOnSubscriptionRemoval() {
+        assertTrue(limiter.tryAcquire(1L, ChallengeDifficulty.EXPERT).admitted());
+        limiter.bind("job-1", 1L);
+        subscriptionRegistry.register("job-1", 1L, new SseEmitter());
+        assertEquals(1, limiter.inFlight(1L));
+
+        subscriptionRegistry.remove("job-1");
+        assertEquals(0, limiter.inFlight(1L));
+
+        assertTrue(limiter.tryAcquire(1L, ChallengeDifficulty.EXPERT).admitted());
+        limiter.cancel(1L);
+        assertEquals(0, limiter.inFlight(1L));
+    }
+
+    // 모든 유저의 제출 요청을 섞어 여러 스레드에서 동시에 실행, 유저별 허용 수 반환
+    private AtomicIntegerArray submitConcurrently(boolean releaseImmediately) throws InterruptedException {
+        List<Integer> requests = new ArrayList<>(USER_COUNT * ATTEMPTS_PER_USER);
+        for (int attempt = 0; attempt < ATTEMPTS_PER_USER; attempt++) {
+            for (int user = 0; user < USER_COUNT; user++) {
+                requests.add(user);
+            }
+        }
+        Collections.shuffle(requests);
+
+        AtomicIntegerArray admitted = new AtomicIntegerArray(USER_COUNT);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int thread = 0; thread < THREADS; thread++) {
+            List<Integer> slice = requests.subList(thread * requests.size() / THREADS, (thread + 1) * requests.size() / THREADS);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int user : slice) {
+                        long begin = System.nanoTime();
+                        SubmissionRateLimiter.Admission admission = limiter.tryAcquire((long) user, ChallengeDifficulty.PRACTICE);
+                        latencies.add(System.nanoTime() - begin);
+                        if (admission.admitted()) {
+                            int job = admitted.getAndIncrement(user);
+                            if (releaseImmediately) {
+                                limiter.cancel((long) user);
+                            } else {
+                                limiter.bind(jobId(user, job), (long) user);
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        long elapsedMs = (System.nanoTime() - begin) / 1_000_000;
+        executor.shutdown();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        log.info("제출 제한 판단 {}건 ({}스레드) : {}ms, p50 {}ns, p99 {}ns", sorted.length, THREADS, elapsedMs,
+                sorted[sorted.length / 2], sorted[sorted.length * 99 / 100]);
+        return admitted;
+    }
+
+    private void assertAllEqual(AtomicIntegerArray admitted, int expected) {
+        int[] counts = new int[USER_COUNT];
+        for (int user = 0; user < USER_COUNT; user++) {
+            counts[user] = admitted.get(user);
+        }
+        int min = Arrays.stream(counts).min().orElse(0);
+        int max = Arrays.stream(counts).max().orElse(0);
+        log.info("유저별 허용 수 : 최소 {}, 최대 {}", min, max);
+        assertEquals(expected, min, "모든 유저가 같은 수만큼 허용되어야 합니다.");
+        assertEquals(expected, max, "한 유저가 다른 유저의 허용량을 가져가면 안 됩니다.");
+    }
+
+    private String jobId(int user, int job) {
+        return "job-" + user + "-" + job;
+    }
+}
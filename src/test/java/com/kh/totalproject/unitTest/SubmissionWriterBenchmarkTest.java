@@ -0,0 +1,190 @@
+/* 채점 완료 제출을 건별로 조회 후 저장할 때와 write-behind 일괄 저장기로 초당 5천건 저장할 때의 처리량 비교, 같은 jobId 중복 저장 방지 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.ChallengeDifficulty;
+import com.kh.totalproject.constant.Language;
+import com.kh.totalproject.constant.Role;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.entity.CodeChallengeInfo;
+import com.kh.totalproject.entity.CodeChallengeSubmission;
+import com.kh.totalproject.entity.User;
+import com.kh.totalproject.repository.CodeChallengeInfoRepository;
+import com.kh.totalproject.repository.CodeChallengeSubmissionRepository;
+import com.kh.totalproject.repository.UserRepository;
+import com.kh.totalproject.service.CodeBlobService;
+import com.kh.totalproject.service.CodeChallengeStatsService;
+import com.kh.totalproject.service.CodeChallengeSubmissionWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest
+public class SubmissionWriterBenchmarkTest {
+    private static final long QUESTION_ID = 900_101L;
+    private static final int BASELINE_COUNT = 2_000;
+    private static final int TARGET_PER_SECOND = 5_000;
+    private static final int WRITE_BEHIND_COUNT = 20_000;
+    // 10ms 마다 50건 (초당 5천건)
+    private static final int TICK_MS = 10;
+
+    @Autowired
+    CodeChallengeSubmissionWriter codeChallengeSubmissionWriter;
+    @Autowired
+    CodeChallengeStatsService codeChallengeStatsService;
+    @Autowired
+    CodeBlobService codeBlobService;
+    @Autowired
+    CodeChallengeSubmissionRepository codeChallengeSubmissionRepository;
+    @Autowired
+    CodeChallengeInfoRepository codeChallengeInfoRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = userRepository.findByUserId("submissionbench")
+                .orElseGet(() -> {
+                    User newUser = new User();
+                    newUser.setUserId("submissionbench");
+                    newUser.setPassword("submissionbench1234!");
+                    newUser.setEmail("submissionbench@gmail.com");
+                    newUser.setNickname("submissionbench");
+                    newUser.setRole(Role.USER);
+                    return userRepository.save(newUser);
+                });
+        jdbcTemplate.update("INSERT IGNORE INTO code_challenge_info (question_id, title, description, cond, category, difficulty) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", QUESTION_ID, "벤치마크 문제", "벤치마크 설명", "벤치마크 조건", "구현", ChallengeDifficulty.EASY.name());
+        cleanUp();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM code_challenge_submission WHERE question_id = ?", QUESTION_ID);
+        jdbcTemplate.update("DELETE FROM challenge_stats WHERE question_id = ?", QUESTION_ID);
+    }
+
+    @Test
+    @DisplayName("건별 조회 후 저장 vs write-behind 일괄 저장 (초당 5천건)")
+    public void compareSubmissionThroughput() throws InterruptedException {
+        // 기존 방식 : 완료 콜백마다 유저/문제 조회 후 INSERT 1건, 통계 갱신
+        long start = System.nanoTime();
+        for (int i = 0; i < BASELINE_COUNT; i++) {
+            TestcaseResult result = result(i);
+            transactionTemplate.executeWithoutResult(status -> {
+                User foundUser = userRepository.findById(result.getUserId()).orElse(null);
+                CodeChallengeInfo challengeInfo = codeChallengeInfoRepository.findById(result.getQuestionId()).orElse(null);
+                CodeChallengeSubmission submission = CodeChallengeSubmission.builder()
+                        .user(foundUser)
+                        .codeChallengeInfo(challengeInfo)
+                        .codeHash(codeBlobService.store(result.getCode()))
+                        .codeLanguage(result.getCodeLanguage())
+                        .success(result.getSuccess())
+                        .memoryUsage(result.getMemoryUsage())
+                        .runningTime(result.getRunningTime())
+                        .codeSize(result.getCodeSize())
+                        .submittedAt(result.getCreatedAt())
+                        .build();
+                codeChallengeStatsService.recordSubmissions(List.of(submission));
+                codeChallengeSubmissionRepository.save(submission);
+            });
+        }
+        long baselineMs = (System.nanoTime() - start) / 1_000_000;
+        long baselinePerSecond = BASELINE_COUNT * 1000L / Math.max(baselineMs, 1);
+        cleanUp();
+
+        // 개선 방식 : 초당 5천건 속도로 대기열에 넣고 모두 저장될 때까지의 시간 측정
+        start = System.nanoTime();
+        long submitNanos = 0;
+        int perTick = TARGET_PER_SECOND * TICK_MS / 1000;
+        for (int i = 0; i < WRITE_BEHIND_COUNT; i += perTick) {
+            long tickStart = System.nanoTime();
+            for (int j = i; j < Math.min(i + perTick, WRITE_BEHIND_COUNT); j++) {
+                codeChallengeSubmissionWriter.submit(result(j));
+            }
+            submitNanos += System.nanoTime() - tickStart;
+            long sleepMs = TICK_MS - (System.nanoTime() - tickStart) / 1_000_000;
+            if (sleepMs > 0) {
+                Thread.sleep(sleepMs);
+            }
+        }
+        long saved = waitUntilSaved(WRITE_BEHIND_COUNT, 30_000);
+        long writeBehindMs = (System.nanoTime() - start) / 1_000_000;
+        long writeBehindPerSecond = WRITE_BEHIND_COUNT * 1000L / Math.max(writeBehindMs, 1);
+
+        log.info("제출 저장 - 건별 : {}건 {}ms ({}/s), write-behind : {}건 {}ms ({}/s, 콜백당 대기열 추가 {}us)",
+                BASELINE_COUNT, baselineMs, baselinePerSecond, WRITE_BEHIND_COUNT, writeBehindMs, writeBehindPerSecond,
+                submitNanos / WRITE_BEHIND_COUNT / 1_000);
+        // 처리량은 실행 환경에 따라 달라지므로 기록만 하고, 대기열에 넣은 제출이 모두 한번씩 저장되었는지 확인
+        assertEquals(WRITE_BEHIND_COUNT, saved, "대기열에 넣은 제출이 모두 저장되어야 합니다.");
+        assertEquals(WRITE_BEHIND_COUNT, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT job_id) FROM code_challenge_submission WHERE question_id = ?", Long.class, QUESTION_ID),
+                "제출마다 한번씩만 저장되어야 합니다.");
+        assertEquals(WRITE_BEHIND_COUNT, codeChallengeStatsService.getStats(QUESTION_ID).getSubmissionCnt());
+        assertEquals(1, codeChallengeStatsService.getStats(QUESTION_ID).getSolverCnt());
+    }
+
+    @Test
+    @DisplayName("재시도로 같은 jobId 의 complete 콜백이 다시 와도 제출과 통계는 한번만 저장")
+    public void ignoresDuplicateJobIds() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            codeChallengeSubmissionWriter.submit(result(1));
+        }
+        waitUntilSaved(1, 5_000);
+        codeChallengeSubmissionWriter.submit(result(1));
+        codeChallengeSubmissionWriter.submit(result(2));
+        long saved = waitUntilSaved(2, 5_000);
+
+        assertEquals(2, saved);
+        assertEquals(2, codeChallengeStatsService.getStats(QUESTION_ID).getSubmissionCnt());
+    }
+
+    private long waitUntilSaved(int expected, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        long saved = 0;
+        while (System.currentTimeMillis() < deadline) {
+            saved = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM code_challenge_submission WHERE question_id = ?",
+                    Long.class, QUESTION_ID);
+            if (saved >= expected && codeChallengeSubmissionWriter.pendingCount() == 0) {
+                break;
+            }
+            Thread.sleep(20);
+        }
+        return saved;
+    }
+
+    private TestcaseResult result(int i) {
+        return TestcaseResult.builder()
+                .jobId("submission-bench-" + i)
+                .userId(user.getUserKey())
+                .questionId(QUESTION_ID)
+                .success(i % 3 == 0)
+                .detail("complete")
+                .code("cHJpbnQoMSk=")
+                .codeLanguage(Language.PYTHON)
+                .memoryUsage(1024.0f)
+                .runningTime(10 + i % 50)
+                .codeSize(8)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+/* relay=database 로 여러 인스턴스 운영 시 한 인스턴스에서 요청한 채점 결과 캐시 무효화가 다른 인스턴스의 캐시에도 반영되는지 확인하는 테스트 */
+package com.kh.totalproject.unitTest;
+
+import com.kh.totalproject.constant.Language;
+import com.kh.totalproject.dto.flask.callback.TestcaseResult;
+import com.kh.totalproject.repository.VerdictCacheInvalidationRepository;
+import com.kh.totalproject.service.JudgeVerdictCache;
+import com.kh.totalproject.service.VerdictCacheInvalidationRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SpringBootTest
+public class VerdictCacheInvalidationRelayTest {
+    private static final long QUESTION_ID = 900_001L;
+    private static final long OTHER_QUESTION_ID = 900_002L;
+    private static final Long USER_ID = 10L;
+    private static final String CODE = Base64.getEncoder().encodeToString("print(1)".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    VerdictCacheInvalidationRepository invalidationRepository;
+
+    private long startId;
+
+    @BeforeEach
+    public void setUp() {
+        startId = invalidationRepository.findMaxId();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        invalidationRepository.deleteAll(invalidationRepository.findAfter(startId, PageRequest.of(0, 1_000)));
+    }
+
+    @Test
+    @DisplayName("한 인스턴스의 무효화 요청을 다른 인스턴스가 폴링하여 같은 문제의 캐시만 비움")
+    public void propagatesInvalidation() {
+        JudgeVerdictCache firstCache = newCache();
+        JudgeVerdictCache secondCache = newCache();
+        VerdictCacheInvalidationRelay first = newRelay(firstCache, "database");
+        VerdictCacheInvalidationRelay second = newRelay(secondCache, "database");
+
+        store(firstCache, QUESTION_ID, "job-1");
+        store(secondCache, QUESTION_ID, "job-2");
+        store(secondCache, OTHER_QUESTION_ID, "job-3");
+
+        first.invalidate(QUESTION_ID);
+        assertNull(firstCache.lookup(key(QUESTION_ID), USER_ID), "요청을 받은 인스턴스의 캐시는 바로 비워져야 합니다.");
+        assertNotNull(secondCache.lookup(key(QUESTION_ID), USER_ID), "폴링 전에는 다른 인스턴스의 캐시가 남아 있습니다.");
+
+        second.poll();
+        assertNull(secondCache.lookup(key(QUESTION_ID), USER_ID), "폴링 후 다른 인스턴스의 캐시도 비워져야 합니다.");
+        assertNotNull(secondCache.lookup(key(OTHER_QUESTION_ID), USER_ID), "다른 문제의 캐시는 남아 있어야 합니다.");
+
+        // 이미 반영한 요청은 다시 적용하지 않음
+        store(secondCache, QUESTION_ID, "job-4");
+        second.poll();
+        assertNotNull(secondCache.lookup(key(QUESTION_ID), USER_ID));
+    }
+
+    @Test
+    @DisplayName("단일 인스턴스(relay=local) 운영 시 무효화 요청을 기록하지 않음")
+    public void localRelayDoesNotRecord() {
+        JudgeVerdictCache cache = newCache();
+        VerdictCacheInvalidationRelay relay = newRelay(cache, "local");
+        store(cache, QUESTION_ID, "job-1");
+
+        relay.invalidate(QUESTION_ID);
+        assertNull(cache.lookup(key(QUESTION_ID), USER_ID));
+        assertEquals(startId, invalidationRepository.findMaxId());
+    }
+
+    private JudgeVerdictCache newCache() {
+        return new JudgeVerdictCache(new SimpleMeterRegistry(), true, 100, 100, 60_000, 180_000);
+    }
+
+    private VerdictCacheInvalidationRelay newRelay(JudgeVerdictCache cache, String relay) {
+        return new VerdictCacheInvalidationRelay(cache, invalidationRepository, relay, 60_000);
+    }
+
+    private JudgeVerdictCache.Key key(long questionId) {
+        return JudgeVerdictCache.key(questionId, Language.PYTHON, CODE, 256, 1000);
+    }
+
+    private void store(JudgeVerdictCache cache, long questionId, String jobId) {
+        cache.record(TestcaseResult.builder()
+                .jobId(jobId)
+                .userId(USER_ID)
+                .questionId(questionId)
+                .success(true)
+                .testcaseIndex(0)
+                .runningTime(10)
+                .memoryUsage(1024.0f)
+                .build());
+        cache.complete(TestcaseResult.builder()
+                .jobId(jobId)
+                .userId(USER_ID)
+                .questionId(questionId)
+                .success(true)
+                .detail("complete")
+                .code(CODE)
+                .codeLanguage(Language.PYTHON)
+                .build(), key(questionId));
+    }
+}
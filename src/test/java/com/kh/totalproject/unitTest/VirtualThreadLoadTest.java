@@ -0,0 +1,169 @@
+/* 플랫폼 스레드 / 가상 스레드 실행 모드별 동시 요청 처리량 측정 테스트
+ * 기본 모드로 한번, -PvirtualThreads (Java 21, spring.threads.virtual.enabled=true) 로 한번 실행하여
+ * 두 실행 결과의 로그(처리량, 최대 지연)를 비교 */
+package com.kh.totalproject.unitTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.totalproject.constant.Role;
+import com.kh.totalproject.entity.User;
+import com.kh.totalproject.repository.UserRepository;
+import com.kh.totalproject.service.FlaskJudgeClient;
+import com.kh.totalproject.util.JwtUtil;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {
+            // 플랫폼 스레드 모드에서 요청 스레드 부족 현상이 드러나도록 Tomcat 스레드 수를 제한 (가상 스레드 모드에서는 무시됨)
+            "server.tomcat.threads.max=20",
+            // 한 유저로 동시 제출하므로 유저별 제출 제한에 걸리지 않도록 상한을 요청 수보다 크게 설정
+            "code-challenge.rate-limit.practice.per-minute=100000",
+            "code-challenge.rate-limit.practice.burst=100000",
+            "code-challenge.rate-limit.practice.max-concurrent=100000",
+            "code-challenge.rate-limit.basic.per-minute=100000",
+            "code-challenge.rate-limit.basic.burst=100000",
+            "code-challenge.rate-limit.basic.max-concurrent=100000",
+            "code-challenge.rate-limit.intermediate.per-minute=100000",
+            "code-challenge.rate-limit.intermediate.burst=100000",
+            "code-challenge.rate-limit.intermediate.max-concurrent=100000",
+            "code-challenge.rate-limit.expert.per-minute=100000",
+            "code-challenge.rate-limit.expert.burst=100000",
+            "code-challenge.rate-limit.expert.max-concurrent=100000"
+        })
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class VirtualThreadLoadTest {
+    private static final int CONCURRENT_REQUESTS = 300;
+    private static final long FLASK_LATENCY_MS = 200;
+
+    @LocalServerPort
+    int port;
+    @Value("${spring.threads.virtual.enabled:false}")
+    boolean virtualThreads;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JwtUtil jwtUtil;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private String accessToken;
+
+    // Flask 채점 서버 대신 고정 지연 후 jobId 를 반환하는 로컬 스텁 서버를 사용
+    @TestConfiguration
+    static class StubFlaskConfig {
+        @Bean
+        @Primary
+        public FlaskJudgeClient stubFlaskJudgeClient(ObjectMapper objectMapper) throws IOException {
+            HttpServer stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            stubServer.setExecutor(Executors.newCachedThreadPool());
+            stubServer.createContext("/job/create", exchange -> {
+                try {
+                    Thread.sleep(FLASK_LATENCY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getRequestBody().readAllBytes();
+                byte[] response = ("{\"jobId\":\"load-" + System.nanoTime() + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(response);
+                }
+            });
+            stubServer.start();
+            return new FlaskJudgeClient("http://127.0.0.1:" + stubServer.getAddress().getPort(), "test-api-key",
+                    "test-client-id", objectMapper, Duration.ofSeconds(5), Duration.ofSeconds(30), 4);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        User user = userRepository.findByUserId("loadtest")
+                .orElseGet(() -> {
+                    User newUser = new User();
+                    newUser.setUserId("loadtest");
+                    newUser.setPassword("loadtest1234!");
+                    newUser.setEmail("loadtest@gmail.com");
+                    newUser.setNickname("loadtest");
+                    newUser.setRole(Role.USER);
+                    return userRepository.save(newUser);
+                });
+        accessToken = jwtUtil.generateTokenFromUser(user).getAccessToken();
+    }
+
+    @Test
+    @DisplayName("/community/list/all 동시 요청 처리량")
+    public void communityListLoad() {
+        runLoad("/community/list/all", () -> HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/community/list/all?boardType=CODING&page=1&size=10"))
+                .GET()
+                .build());
+    }
+
+    @Test
+    @DisplayName("/api/code-challenge/submit 동시 요청 처리량")
+    public void codeChallengeSubmitLoad() {
+        // print(1) 을 Base64 인코딩한 코드
+        String body = "{\"codeLanguage\":\"PYTHON\",\"code\":\"cHJpbnQoMSk=\",\"questionId\":1}";
+        runLoad("/api/code-challenge/submit", () -> HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/code-challenge/submit"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + accessToken)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private void runLoad(String path, Supplier<HttpRequest> requestSupplier) {
+        // 워밍업
+        httpClient.sendAsync(requestSupplier.get(), HttpResponse.BodyHandlers.discarding()).join();
+
+        List<CompletableFuture<Long>> latencies = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            long requestStart = System.nanoTime();
+            latencies.add(httpClient.sendAsync(requestSupplier.get(), HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        assertEquals(200, response.statusCode(), path + " 응답 코드");
+                        return (System.nanoTime() - requestStart) / 1_000_000;
+                    }));
+        }
+        CompletableFuture.allOf(latencies.toArray(CompletableFuture[]::new)).join();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long maxLatencyMs = latencies.stream().mapToLong(CompletableFuture::join).max().orElse(0);
+
+        log.info("[{}] {} 동시 요청 {}건 - 전체 {}ms, 처리량 {} req/s, 최대 지연 {}ms",
+                virtualThreads ? "virtual" : "platform", path, CONCURRENT_REQUESTS,
+                elapsedMs, CONCURRENT_REQUESTS * 1000L / Math.max(elapsedMs, 1), maxLatencyMs);
+        assertEquals(CONCURRENT_REQUESTS, latencies.size());
+    }
+}